@@ -0,0 +1,113 @@
+package com.smartcane.point;
+
+import com.smartcane.point.entity.LedgerArchive;
+import com.smartcane.point.service.LedgerArchiveService;
+import com.smartcane.point.service.WalletService;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MySQL 8에 Flyway 전체 적용 후 원장 보관 1회
+ * - H2 테스트는 Flyway를 끄므로 파티셔닝/REORGANIZE 같은 MySQL 전용 DDL은 여기서만 실행됨
+ * - retention-months=0: 이번 달 이전 파티션은 모두 보관 대상
+ */
+@Tag("integration")
+@Testcontainers
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "point.outbox.relay.enabled=false",
+        "point.ledger.archive.partitioned=true",
+        "point.ledger.archive.retention-months=0",
+        "point.ledger.archive.premake-months=3",
+        "point.ledger.archive.dir=build/ledger-archive-it"
+})
+class MySqlMigrationIntegrationTest {
+
+    private static final long USER_ID = 96_001L;
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("smartcane_point");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired Flyway flyway;
+    @Autowired LedgerArchiveService archiveService;
+    @Autowired WalletService walletService;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    void migratesToLatestAndArchivesClosedPartition() {
+        // 스크립트 전부 적용 (V0..최신), 실패/보류 없음
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion())
+                .isEqualTo(flyway.info().all()[flyway.info().all().length - 1].getVersion());
+        assertThat(partitions()).startsWith("p_legacy").endsWith("pmax");
+
+        walletService.charge(USER_ID, 1_000, "it-c1", null);
+        walletService.charge(USER_ID, 200, "it-c2", null);
+        backdate("it-c1", Instant.parse("2026-01-15T00:00:00Z"));   // p_legacy
+
+        List<LedgerArchive> archived = archiveService.archive();
+        assertThat(archived).extracting(LedgerArchive::getRangeName).contains("p_legacy");
+        assertThat(archived).filteredOn(a -> a.getRangeName().equals("p_legacy"))
+                .extracting(LedgerArchive::getRowCount).containsExactly(1L);
+
+        // 닫힌 파티션은 DROP, pmax 앞에 premake-months 뒤까지 REORGANIZE로 분할
+        String current = "p" + MONTH.format(YearMonth.now(ZONE));
+        String premade = "p" + MONTH.format(YearMonth.now(ZONE).plusMonths(3));
+        assertThat(partitions()).doesNotContain("p_legacy").contains(current, premade).endsWith("pmax");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT request_id FROM point_ledger WHERE user_id = ?", String.class, USER_ID))
+                .containsExactly("it-c2");
+
+        // 재실행은 할 일 없음
+        assertThat(archiveService.archive()).isEmpty();
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'point_ledger' ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class);
+    }
+
+    private void backdate(String requestId, Instant createdAt) {
+        new TransactionTemplate(txManager).executeWithoutResult(s -> em.createQuery(
+                        "update PointLedger l set l.createdAt = :t where l.userId = :u and l.requestId = :r")
+                .setParameter("t", createdAt)
+                .setParameter("u", USER_ID)
+                .setParameter("r", requestId)
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,74 @@
+package com.smartcane.point.jmh;
+
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.service.PaymentService;
+import com.smartcane.point.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 결제/부분 취소 (PaymentService)
+ * - pay: 매 호출 새 주문 1포인트 결제
+ * - cancel: 스레드별로 미리 결제해 둔 큰 주문에서 1포인트씩 부분 취소 (같은 주문 동시 취소는 피함)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class PaymentBenchmark {
+
+    private static final long CANCELABLE_POINTS = 1_000_000_000L;
+
+    @State(Scope.Thread)
+    public static class OrderState {
+        PaymentService paymentService;
+        long userId;
+        String prefix;
+        String cancelOrderId;
+        long seq;
+
+        @Setup(Level.Trial)
+        public void setUp(SpringContextState ctx) {
+            paymentService = ctx.bean(PaymentService.class);
+            userId = ctx.nextUserId();
+            prefix = "jmh-" + Thread.currentThread().threadId() + "-" + System.nanoTime() + "-";
+            ctx.bean(WalletService.class).charge(userId, SpringContextState.SEED_BALANCE, prefix + "seed", null);
+
+            cancelOrderId = prefix + "cancelable";
+            paymentService.payWithPoints(userId, new CreatePaymentRequest(
+                    CANCELABLE_POINTS, CANCELABLE_POINTS, 0, cancelOrderId, cancelOrderId));
+        }
+
+        String next() {
+            return prefix + (seq++);
+        }
+    }
+
+    @Benchmark
+    public PaymentResponse pay(OrderState s) {
+        String orderId = s.next();
+        return s.paymentService.payWithPoints(s.userId, new CreatePaymentRequest(1, 1, 0, orderId, orderId));
+    }
+
+    @Benchmark
+    public PaymentResponse cancel(OrderState s) {
+        return s.paymentService.cancel(s.userId,
+                new CancelPaymentRequest(s.cancelOrderId, 1, s.next(), "JMH", null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartcane.point.jmh;
+
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.web.RequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 요청 진입부: requestId 결정 + 요청 DTO + [API] 로그 포맷 (Spring 컨텍스트 없음)
+ * - legacy: UUID.randomUUID()(SecureRandom) + 요청 record 복사 + 매 요청 로그 메시지 포맷
+ * - context: RequestContext(RequestIds, ThreadLocalRandom) + record 재사용 + 1% 표본 로그
+ * - B/op는 -prof gc의 gc.alloc.rate.norm (./gradlew jmh -Pjmh.include=RequestContextBenchmark)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RequestContextBenchmark {
+
+    private static final String PAY_LOG =
+            "[API] payments.pay userId={}, orderId={}, total={}, point={}, cash={}, requestId={}";
+    private static final CreatePaymentRequest REQ = new CreatePaymentRequest(1000, 1000, 0, "order-1", null);
+    private static final long USER_ID = 1L;
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        String requestId = REQ.requestId() != null && !REQ.requestId().isBlank()
+                ? REQ.requestId() : UUID.randomUUID().toString();
+        CreatePaymentRequest fixed = new CreatePaymentRequest(REQ.totalAmount(), REQ.pointAmount(),
+                REQ.cashAmount(), REQ.orderId(), requestId);
+        bh.consume(MessageFormatter.arrayFormat(PAY_LOG, new Object[]{USER_ID, fixed.orderId(), fixed.totalAmount(),
+                fixed.pointAmount(), fixed.cashAmount(), requestId}).getMessage());
+        bh.consume(fixed);
+    }
+
+    @Benchmark
+    public void context(Blackhole bh) {
+        RequestContext ctx = new RequestContext(null, ThreadLocalRandom.current().nextDouble() < 0.01);
+        String requestId = ctx.requestId(REQ.requestId());
+        if (ctx.logged()) {
+            bh.consume(MessageFormatter.arrayFormat(PAY_LOG, new Object[]{USER_ID, REQ.orderId(), REQ.totalAmount(),
+                    REQ.pointAmount(), REQ.cashAmount(), requestId}).getMessage());
+        }
+        bh.consume(requestId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.smartcane.point.jmh;
+
+import com.smartcane.point.PointserviceApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 벤치마크 공용 상태: fork마다 애플리케이션 컨텍스트 1개 (웹 서버 없이, jmh 프로파일 = H2)
+ * - scenario=contended   : 모든 스레드가 같은 사용자(지갑 1개)에 쓰기
+ * - scenario=uncontended : 스레드마다 다른 사용자
+ */
+@State(Scope.Benchmark)
+public class SpringContextState {
+
+    static final long CONTENDED_USER = 1L;
+    static final long UNCONTENDED_USER_BASE = 1_000_000L;
+    static final long SEED_BALANCE = 1_000_000_000_000L;
+
+    @Param({"contended", "uncontended"})
+    public String scenario;
+
+    ConfigurableApplicationContext context;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(PointserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("jmh")
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** 벤치마크 스레드가 쓸 사용자 id */
+    long nextUserId() {
+        int t = threads.getAndIncrement();
+        return "contended".equals(scenario) ? CONTENDED_USER : UNCONTENDED_USER_BASE + t;
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartcane.point.jmh;
+
+import com.smartcane.point.service.WalletMutationResult;
+import com.smartcane.point.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지갑 충전/차감/환불 (WalletService → write-mode 기본값 engine)
+ * - Throughput: ops/s, SampleTime: p50/p99 지연, -prof gc: 할당률
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class WalletBenchmark {
+
+    @State(Scope.Thread)
+    public static class UserState {
+        WalletService walletService;
+        long userId;
+        String prefix;
+        long seq;
+
+        @Setup(Level.Trial)
+        public void setUp(SpringContextState ctx) {
+            walletService = ctx.bean(WalletService.class);
+            userId = ctx.nextUserId();
+            prefix = "jmh-" + Thread.currentThread().threadId() + "-" + System.nanoTime() + "-";
+            walletService.charge(userId, SpringContextState.SEED_BALANCE, prefix + "seed", null);
+        }
+
+        String nextRequestId() {
+            return prefix + (seq++);
+        }
+    }
+
+    @Benchmark
+    public WalletMutationResult charge(UserState u) {
+        return u.walletService.charge(u.userId, 1, u.nextRequestId(), null);
+    }
+
+    @Benchmark
+    public WalletMutationResult debit(UserState u) {
+        return u.walletService.debit(u.userId, 1, u.nextRequestId(), null);
+    }
+
+    @Benchmark
+    public WalletMutationResult refund(UserState u) {
+        return u.walletService.refund(u.userId, 1, u.nextRequestId(), null, "jmh");
+    }
+}
@@ -0,0 +1,107 @@
+package com.smartcane.point.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 기동 시 Flyway 실행 전략
+ * - point.flyway.repair=true(기본): repair() 후 migrate() (V1처럼 로컬에 없는 이력을 삭제 상태로 정리)
+ * - point.flyway.checksum-cache=true: 빌드 때 만든 db/migration.checksums(버전|체크섬)와
+ *   flyway_schema_history의 적용 이력이 같으면 Flyway를 건너뜀 → 스크립트 스캔/검증/잠금 없이 SELECT 한 번
+ *   다르면(새 마이그레이션, 체크섬 불일치, 실패 이력) migrate() → validateOnMigrate로 검증 후 적용
+ * - repair는 켰을 때만 (fast-start 프로필은 끔): 체크섬 불일치를 조용히 덮지 않고 기동 실패로 드러냄
+ */
+@Slf4j
+@org.springframework.context.annotation.Configuration
+public class FlywayStartupConfig {
+
+    static final String CHECKSUMS = "db/migration.checksums";
+
+    @Bean
+    public FlywayMigrationStrategy flywayStartupStrategy(@Value("${point.flyway.repair:true}") boolean repair,
+                                                         @Value("${point.flyway.checksum-cache:false}") boolean checksumCache) {
+        return flyway -> {
+            if (repair) {
+                flyway.repair();
+            } else if (checksumCache && upToDate(flyway.getConfiguration())) {
+                log.info("[FLYWAY] schema history matches {} - migrate skipped", CHECKSUMS);
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+
+    /** 적용 이력(성공, 삭제 표시 제외, baseline 이하 생략)이 체크섬 캐시와 정확히 같은지 */
+    static boolean upToDate(Configuration conf) {
+        Map<MigrationVersion, Integer> cached = cachedChecksums(conf.getClassLoader());
+        if (cached == null) return false;
+
+        String table = conf.getDefaultSchema() != null ? conf.getDefaultSchema() + "." + conf.getTable() : conf.getTable();
+        Map<MigrationVersion, Integer> applied = new HashMap<>();
+        MigrationVersion baseline = MigrationVersion.EMPTY;
+        try (Connection c = conf.getDataSource().getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum, type, success FROM " + table
+                     + " WHERE version IS NOT NULL ORDER BY installed_rank")) {
+            while (rs.next()) {
+                MigrationVersion v = MigrationVersion.fromVersion(rs.getString(1));
+                String type = rs.getString(3);
+                if ("DELETE".equals(type)) {
+                    applied.remove(v);
+                } else if (type != null && type.contains("BASELINE")) {
+                    baseline = v;
+                } else if (!rs.getBoolean(4)) {
+                    return false;   // 실패한 마이그레이션 → Flyway가 판단
+                } else {
+                    applied.put(v, (Integer) rs.getObject(2));
+                }
+            }
+        } catch (SQLException e) {
+            log.info("[FLYWAY] schema history not readable, running migrate - {}", e.toString());
+            return false;
+        }
+        MigrationVersion floor = baseline;
+        cached.keySet().removeIf(v -> v.compareTo(floor) <= 0);
+        applied.keySet().removeIf(v -> v.compareTo(floor) <= 0);
+        if (!cached.keySet().equals(applied.keySet())) return false;
+        for (Map.Entry<MigrationVersion, Integer> e : cached.entrySet()) {
+            if (!Objects.equals(e.getValue(), applied.get(e.getKey()))) return false;
+        }
+        return true;
+    }
+
+    /** build.gradle migrationChecksums가 만든 "버전|CRC32" 목록 (없으면 null → 항상 migrate) */
+    static Map<MigrationVersion, Integer> cachedChecksums(ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(CHECKSUMS)) {
+            if (in == null) return null;
+            Map<MigrationVersion, Integer> checksums = new HashMap<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (line.isBlank()) continue;
+                int bar = line.indexOf('|');
+                checksums.put(MigrationVersion.fromVersion(line.substring(0, bar)), Integer.parseInt(line.substring(bar + 1)));
+            }
+            return checksums;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[FLYWAY] {} unreadable, running migrate - {}", CHECKSUMS, e.toString());
+            return null;
+        }
+    }
+}
@@ -7,11 +7,19 @@ import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import com.smartcane.point.web.IdempotencyFilter;
+import com.smartcane.point.web.RequestContext;
 import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
 import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+
 @OpenAPIDefinition(
         info = @Info(
                 title = "Point Service API",
@@ -31,6 +39,28 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // RequestContext는 argument resolver가 헤더(X-Idempotency-Key)에서 만드는 값 → 요청 파라미터로 노출하지 않음
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(RequestContext.class);
+    }
+
+    /** RequestContext를 받는 API에 그 입력인 X-Idempotency-Key 헤더를 문서화 (숨긴 파라미터 대신) */
+    @Bean
+    public OperationCustomizer idempotencyKeyHeader() {
+        return (operation, handlerMethod) -> {
+            boolean usesContext = Arrays.stream(handlerMethod.getMethodParameters())
+                    .anyMatch(p -> p.getParameterType() == RequestContext.class);
+            if (usesContext) {
+                operation.addParametersItem(new HeaderParameter()
+                        .name(IdempotencyFilter.HEADER)
+                        .required(false)
+                        .description("멱등키 (body.requestId가 없을 때 사용, 둘 다 없으면 서버 발급)")
+                        .schema(new StringSchema()));
+            }
+            return operation;
+        };
+    }
+
     /**
      * 전역 커스터마이저 예시:
      * - 스키마/태그/외부 문서 등 추가 커스터마이즈 가능
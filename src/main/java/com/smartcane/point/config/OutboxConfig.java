@@ -0,0 +1,33 @@
+package com.smartcane.point.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcane.point.service.FileOutboxSink;
+import com.smartcane.point.service.InMemoryOutboxSink;
+import com.smartcane.point.service.LoggingOutboxSink;
+import com.smartcane.point.service.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 아웃박스 싱크 구성
+ * - point.outbox.sink: log | in-memory | file (브로커 연동은 OutboxSink 빈을 직접 등록)
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    OutboxSink outboxSink(@Value("${point.outbox.sink:log}") String mode,
+                          @Value("${point.outbox.file.path:outbox/events.ndjson}") String path,
+                          ObjectMapper objectMapper) {
+        return switch (mode.toLowerCase()) {
+            case "in-memory" -> new InMemoryOutboxSink();
+            case "file" -> new FileOutboxSink(Path.of(path), objectMapper);
+            default -> new LoggingOutboxSink();
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.smartcane.point.config;
+
+import com.smartcane.point.service.PgClient;
+import com.smartcane.point.service.StubPgClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 카드 PG 클라이언트 구성
+ * - 실제 PG 연동 빈이 없으면 StubPgClient (point.pg.stub.*)
+ */
+@Configuration
+public class PgConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(PgClient.class)
+    PgClient pgClient(@Value("${point.pg.stub.latency:PT0.05S}") Duration latency,
+                      @Value("${point.pg.stub.decline-prefix:pg-decline-}") String declinePrefix) {
+        return new StubPgClient(latency, declinePrefix);
+    }
+}
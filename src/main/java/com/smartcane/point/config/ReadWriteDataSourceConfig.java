@@ -0,0 +1,77 @@
+package com.smartcane.point.config;
+
+import com.smartcane.point.service.ReplicaReads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * primary/replica 라우팅 DataSource (point.datasource.replica.url 이 있을 때만, 없으면 Boot 기본 단일 풀)
+ * - ReplicaReads.read()가 연 읽기 전용 트랜잭션만 replica 풀, 나머지(쓰기, Flyway, 표시 없는 조회)는 primary 풀
+ * - LazyConnectionDataSourceProxy: 트랜잭션 시작 시점이 아니라 첫 SQL에서 커넥션을 받음
+ *   → 읽기 전용 여부가 정해진 뒤 라우팅되고, SQL 없이 끝나는 트랜잭션은 커넥션을 빌리지 않음
+ * - 풀 설정: spring.datasource.hikari.* (primary), point.datasource.replica.hikari.* (replica)
+ */
+@Configuration
+@ConditionalOnExpression("!'${point.datasource.replica.url:}'.isBlank()")
+public class ReadWriteDataSourceConfig {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName(PRIMARY);
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("point.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                       @Value("${point.datasource.replica.url}") String url,
+                                       @Value("${point.datasource.replica.username:}") String username,
+                                       @Value("${point.datasource.replica.password:}") String password) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isBlank() ? properties.determineUsername() : username)
+                .password(username.isBlank() ? properties.determinePassword() : password)
+                .build();
+        ds.setPoolName(REPLICA);
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    static final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ReplicaReads.routed() ? REPLICA : PRIMARY;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.smartcane.point.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 작업(@Scheduled) 활성화
+ * - 멱등 응답 배치 저장/TTL 정리 등
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -95,6 +95,7 @@ public class SecurityConfig {
                                 "/swagger-ui.html",
                                 "/docs", "/docs/**",
                                 "/actuator/health",
+                                "/actuator/prometheus",   // 메트릭 스크랩 (외부 노출은 ALB에서 차단)
                                 "/api/**",
                                 "/points/**"// 공개하려는 엔드포인트면 유지
                         ).permitAll()
@@ -0,0 +1,39 @@
+package com.smartcane.point.config;
+
+import com.smartcane.point.service.InMemoryWalletInvalidationBus;
+import com.smartcane.point.service.WalletBalanceCache;
+import com.smartcane.point.service.WalletInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 지갑 잔액 캐시 구성
+ * - point.wallet.cache.max-size: 0 이면 사실상 비활성
+ * - point.wallet.cache.invalidation: none | in-memory (다른 구현은 WalletInvalidationBus 빈 등록)
+ * - 메트릭: cache.gets{result=hit|miss}, cache.evictions, cache.size (cache=wallet.balance)
+ */
+@Configuration
+public class WalletCacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(WalletInvalidationBus.class)
+    WalletInvalidationBus walletInvalidationBus(@Value("${point.wallet.cache.invalidation:none}") String mode) {
+        return "in-memory".equalsIgnoreCase(mode) ? new InMemoryWalletInvalidationBus() : WalletInvalidationBus.NOOP;
+    }
+
+    @Bean
+    WalletBalanceCache walletBalanceCache(WalletInvalidationBus bus,
+                                          MeterRegistry registry,
+                                          @Value("${point.wallet.cache.max-size:100000}") long maxSize,
+                                          @Value("${point.wallet.cache.expire-after-write:PT1M}") Duration ttl) {
+        WalletBalanceCache cache = new WalletBalanceCache(maxSize, ttl, bus);
+        CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "wallet.balance");
+        return cache;
+    }
+}
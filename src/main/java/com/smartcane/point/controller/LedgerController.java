@@ -0,0 +1,51 @@
+package com.smartcane.point.controller;
+
+import com.smartcane.point.dto.LedgerPageResponse;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.service.LedgerHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/points")
+@RequiredArgsConstructor
+@Tag(name = "Ledger", description = "포인트 원장 이력 API")
+public class LedgerController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final LedgerHistoryService ledgerHistoryService;
+
+    @Operation(
+            summary = "원장 이력 조회(최신순)",
+            description = "키셋 페이지네이션: 응답의 nextCursor를 다음 요청의 cursor로 전달"
+    )
+    @GetMapping(value = "/{userId}/ledger", produces = MediaType.APPLICATION_JSON_VALUE)
+    public LedgerPageResponse page(@PathVariable Long userId,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) throw new BusinessException("INVALID_PAGE_SIZE");
+        return ledgerHistoryService.page(userId, cursor, size);
+    }
+
+    @Operation(
+            summary = "원장 이력 내보내기(NDJSON 스트리밍)",
+            description = "Accept: application/x-ndjson. 전체 이력을 최신순으로 한 줄씩 전송 (cursor 지정 시 그 이후부터)"
+    )
+    @GetMapping(value = "/{userId}/ledger", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(@PathVariable Long userId,
+                       @RequestParam(required = false) String cursor,
+                       HttpServletResponse response) throws IOException {
+        log.info("[API] ledger.export userId={}", userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ledgerHistoryService.export(userId, cursor, response.getOutputStream());
+    }
+}
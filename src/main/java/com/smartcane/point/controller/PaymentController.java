@@ -1,9 +1,18 @@
 package com.smartcane.point.controller;
 
+import com.smartcane.point.dto.AuthorizePaymentRequest;
+import com.smartcane.point.dto.BatchPaymentRequest;
+import com.smartcane.point.dto.BatchPaymentResponse;
 import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CapturePaymentRequest;
 import com.smartcane.point.dto.CreatePaymentRequest;
 import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.dto.ReservationResponse;
+import com.smartcane.point.dto.VoidPaymentRequest;
+import com.smartcane.point.service.MixedPaymentService;
 import com.smartcane.point.service.PaymentService;
+import com.smartcane.point.service.ReservationService;
+import com.smartcane.point.web.RequestContext;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,8 +21,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.UUID;
-
 @Slf4j
 @RestController
 @RequestMapping("/api/points")
@@ -22,6 +29,8 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final ReservationService reservationService;
+    private final MixedPaymentService mixedPaymentService;
 
     @Operation(
             summary = "포인트 결제",
@@ -31,24 +40,32 @@ public class PaymentController {
     @PostMapping("/{userId}/payments/pay")
     public PaymentResponse pay(@PathVariable Long userId,
                                @RequestBody @Valid CreatePaymentRequest req,
-                               @RequestHeader(value = "X-Idempotency-Key", required = false) String idem) {
+                               RequestContext ctx) {
+
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.pay userId={}, orderId={}, total={}, point={}, cash={}, requestId={}",
+                    userId, req.orderId(), req.totalAmount(), req.pointAmount(), req.cashAmount(), requestId);
+        }
 
-        String requestId = (req.requestId() != null && !req.requestId().isBlank())
-                ? req.requestId()
-                : (idem != null && !idem.isBlank() ? idem : UUID.randomUUID().toString());
+        return paymentService.payWithPoints(userId, req, requestId);
+    }
 
-        CreatePaymentRequest fixed = new CreatePaymentRequest(
-                req.totalAmount(),
-                req.pointAmount(),
-                req.cashAmount(),
-                req.orderId(),
-                requestId
-        );
+    @Operation(
+            summary = "일괄 포인트 결제",
+            description = "한 사용자의 여러 주문을 한 번에 결제 (주문 조회/지갑 반영 1회), 주문별 결과를 요청 순서대로"
+    )
+    @PostMapping("/{userId}/payments/batch")
+    public BatchPaymentResponse payBatch(@PathVariable Long userId,
+                                         @RequestBody @Valid BatchPaymentRequest req,
+                                         RequestContext ctx) {
 
-        log.info("[API] payments.pay userId={}, orderId={}, total={}, point={}, cash={}, requestId={}",
-                userId, fixed.orderId(), fixed.totalAmount(), fixed.pointAmount(), fixed.cashAmount(), requestId);
+        if (ctx.logged()) {
+            log.info("[API] payments.batch userId={}, orders={}, idempotencyKey={}",
+                    userId, req.orders() == null ? 0 : req.orders().size(), ctx.idempotencyKey());
+        }
 
-        return paymentService.payWithPoints(userId, fixed);
+        return paymentService.payBatch(userId, req.orders(), ctx.idempotencyKey());
     }
 
     @Operation(
@@ -59,23 +76,78 @@ public class PaymentController {
     @PostMapping("/{userId}/payments/cancel")
     public PaymentResponse cancel(@PathVariable Long userId,
                                   @RequestBody @Valid CancelPaymentRequest req,
-                                  @RequestHeader(value = "X-Idempotency-Key", required = false) String idem) {
+                                  RequestContext ctx) {
+
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.cancel userId={}, orderId={}, cancelAmount={}, reasonCode={}, requestId={}",
+                    userId, req.orderId(), req.cancelAmount(), req.reasonCode(), requestId);
+        }
 
-        String requestId = (req.requestId() != null && !req.requestId().isBlank())
-                ? req.requestId()
-                : (idem != null && !idem.isBlank() ? idem : UUID.randomUUID().toString());
+        return paymentService.cancel(userId, req, requestId);
+    }
+
+    @Operation(
+            summary = "포인트 예약(승인)",
+            description = "가용 잔액에서 포인트를 묶어 둠, holdSeconds 안에 확정/취소하지 않으면 만료 해제"
+    )
+    @PostMapping("/{userId}/payments/authorize")
+    public ReservationResponse authorize(@PathVariable Long userId,
+                                         @RequestBody @Valid AuthorizePaymentRequest req,
+                                         RequestContext ctx) {
+
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.authorize userId={}, orderId={}, total={}, point={}, holdSeconds={}, requestId={}",
+                    userId, req.orderId(), req.totalAmount(), req.pointAmount(), req.holdSeconds(), requestId);
+        }
 
-        CancelPaymentRequest fixed = new CancelPaymentRequest(
-                req.orderId(),
-                req.cancelAmount(),
-                requestId,
-                req.reasonCode(),
-                req.reasonMessage()
-        );
+        return reservationService.authorize(userId, req, requestId);
+    }
+
+    @Operation(summary = "예약 확정", description = "승인된 예약을 결제 확정 (지갑 재차감 없음)")
+    @PostMapping("/{userId}/payments/capture")
+    public ReservationResponse capture(@PathVariable Long userId,
+                                       @RequestBody @Valid CapturePaymentRequest req,
+                                       RequestContext ctx) {
+
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.capture userId={}, orderId={}, requestId={}", userId, req.orderId(), requestId);
+        }
+
+        return reservationService.capture(userId, req, requestId);
+    }
+
+    @Operation(summary = "예약 취소", description = "묶인 포인트를 가용 잔액으로 되돌림")
+    @PostMapping("/{userId}/payments/void")
+    public ReservationResponse voidHold(@PathVariable Long userId,
+                                        @RequestBody @Valid VoidPaymentRequest req,
+                                        RequestContext ctx) {
+
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.void userId={}, orderId={}, requestId={}", userId, req.orderId(), requestId);
+        }
+
+        return reservationService.voidHold(userId, req, requestId);
+    }
+
+    @Operation(
+            summary = "포인트+카드 혼합결제",
+            description = "포인트 예약 → PG 승인(트랜잭션 밖) → 확정, PG 거절/타임아웃 시 포인트 예약 해제"
+    )
+    @PostMapping("/{userId}/payments/mixed")
+    public PaymentResponse mixed(@PathVariable Long userId,
+                                 @RequestBody @Valid CreatePaymentRequest req,
+                                 RequestContext ctx) {
 
-        log.info("[API] payments.cancel userId={}, orderId={}, cancelAmount={}, reasonCode={}, requestId={}",
-                userId, fixed.orderId(), fixed.cancelAmount(), fixed.reasonCode(), requestId);
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] payments.mixed userId={}, orderId={}, total={}, point={}, cash={}, requestId={}",
+                    userId, req.orderId(), req.totalAmount(), req.pointAmount(), req.cashAmount(), requestId);
+        }
 
-        return paymentService.cancel(userId, fixed);
+        return mixedPaymentService.pay(userId, req, requestId);
     }
 }
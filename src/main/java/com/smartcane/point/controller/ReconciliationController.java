@@ -0,0 +1,37 @@
+package com.smartcane.point.controller;
+
+import com.smartcane.point.dto.ReconciliationReport;
+import com.smartcane.point.service.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/points/reconciliation")
+@RequiredArgsConstructor
+@Tag(name = "Reconciliation", description = "지갑-원장 대사 API")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @Operation(
+            summary = "대사 실행 시작/재개",
+            description = "중단된 실행이 있으면 남은 구간부터 이어서 진행, 백그라운드로 실행하고 현황을 바로 반환"
+    )
+    @PostMapping("/runs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReconciliationReport start(@RequestParam(required = false) Integer parallelism) {
+        log.info("[API] reconciliation.start parallelism={}", parallelism);
+        return reconciliationService.start(parallelism);
+    }
+
+    @Operation(summary = "대사 실행 현황/불일치 리포트")
+    @GetMapping("/runs/{runId}")
+    public ReconciliationReport report(@PathVariable Long runId) {
+        return reconciliationService.report(runId);
+    }
+}
@@ -1,17 +1,36 @@
 package com.smartcane.point.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartcane.point.dto.BalanceAtResponse;
+import com.smartcane.point.dto.BulkChargeEntry;
+import com.smartcane.point.dto.BulkChargeProgress;
 import com.smartcane.point.dto.ChargeRequest;
 import com.smartcane.point.dto.WalletResponse;
+import com.smartcane.point.dto.WalletShardsResponse;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.service.WalletMutationResult;
 import com.smartcane.point.service.WalletService;
+import com.smartcane.point.service.WalletShardService;
+import com.smartcane.point.service.WalletSnapshotService;
+import com.smartcane.point.web.RequestContext;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @RestController
@@ -20,7 +39,12 @@ import java.util.UUID;
 @Tag(name = "Wallet", description = "포인트 지갑 API")
 public class WalletController {
 
+    private static final int MAX_BULK_CHUNK = 5000;
+
     private final WalletService walletService;
+    private final WalletSnapshotService snapshotService;
+    private final WalletShardService shardService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "지갑 잔액 조회")
     @GetMapping("/{userId}/wallet")
@@ -28,6 +52,31 @@ public class WalletController {
         return walletService.get(userId);
     }
 
+    @Operation(
+            summary = "시점 잔액 조회",
+            description = "at(ISO-8601) 시점의 잔액: 최신 스냅샷 + 이후 원장으로 계산 (이력 길이와 무관한 비용)"
+    )
+    @GetMapping("/{userId}/wallet/balance-at")
+    public BalanceAtResponse balanceAt(@PathVariable Long userId, @RequestParam Instant at) {
+        return snapshotService.balanceAt(userId, at);
+    }
+
+    @Operation(summary = "지갑 샤드 조회", description = "샤딩된 핫 지갑의 지갑 행/샤드별 잔액")
+    @GetMapping("/{userId}/wallet/shards")
+    public WalletShardsResponse shards(@PathVariable Long userId) {
+        return shardService.describe(userId);
+    }
+
+    @Operation(
+            summary = "지갑 샤드 수 변경(운영)",
+            description = "count개 샤드로 잔액을 나눠 동시 쓰기를 분산 (0이면 해제). 다른 노드는 refresh-ms 안에 반영"
+    )
+    @PutMapping("/{userId}/wallet/shards")
+    public WalletShardsResponse reshard(@PathVariable Long userId, @RequestParam int count) {
+        log.info("[API] wallet.reshard userId={}, count={}", userId, count);
+        return shardService.reshard(userId, count);
+    }
+
     @Operation(
             summary = "포인트 충전",
             description = "멱등 지원: X-Idempotency-Key 또는 body.requestId 사용"
@@ -36,16 +85,16 @@ public class WalletController {
     @PostMapping("/{userId}/wallet/charge")
     public WalletResponse charge(@PathVariable Long userId,
                                  @RequestBody @Valid ChargeRequest req,
-                                 @RequestHeader(value = "X-Idempotency-Key", required = false) String idem) {
+                                 RequestContext ctx) {
 
-        String requestId = (req.requestId() != null && !req.requestId().isBlank())
-                ? req.requestId()
-                : (idem != null && !idem.isBlank() ? idem : UUID.randomUUID().toString());
+        String requestId = ctx.requestId(req.requestId());
+        if (ctx.logged()) {
+            log.info("[API] wallet.charge userId={}, amount={}, orderId={}, requestId={}",
+                    userId, req.amount(), req.orderId(), requestId);
+        }
 
-        log.info("[API] wallet.charge userId={}, amount={}, orderId={}, requestId={}",
-                userId, req.amount(), req.orderId(), requestId);
-
-        return walletService.charge(userId, req.amount(), requestId, req.orderId());
+        WalletMutationResult r = walletService.charge(userId, req.amount(), requestId, req.orderId());
+        return new WalletResponse(userId, r.balance());
     }
 
     @Operation(summary = "지갑 생성(존재 시 그대로 반환)", description = "idempotent")
@@ -55,4 +104,51 @@ public class WalletController {
         // 내부 호출 보호: 내부 토큰/게이트웨이/mTLS 중 택1 (아래 보안 섹션 참고)
         return walletService.createIfAbsent(userId);
     }
+
+    @Operation(
+            summary = "포인트 대량 충전(캠페인 지급)",
+            description = "본문: {userId, amount, requestId} 항목의 NDJSON 스트림 또는 JSON 배열. "
+                    + "항목별 requestId로 멱등 처리, chunkSize 단위 트랜잭션. 응답: 청크마다 진행 상황 NDJSON 한 줄"
+    )
+    @PostMapping(value = "/wallet/bulk-charge",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkCharge(@RequestParam(defaultValue = "500") int chunkSize,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        if (chunkSize < 1 || chunkSize > MAX_BULK_CHUNK) throw new BusinessException("INVALID_CHUNK_SIZE");
+
+        log.info("[API] wallet.bulk-charge chunkSize={}", chunkSize);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(BulkChargeProgress.class);
+        AtomicReference<BulkChargeProgress> last = new AtomicReference<>(BulkChargeProgress.empty());
+
+        // 본문을 통째로 올리지 않고 항목 단위로 읽어 청크마다 반영/응답
+        try (MappingIterator<BulkChargeEntry> entries =
+                     objectMapper.readerFor(BulkChargeEntry.class).readValues(request.getInputStream())) {
+            BulkChargeProgress done = walletService.bulkCharge(entries, chunkSize, p -> {
+                last.set(p);
+                writeLine(out, writer, p);
+            });
+            writeLine(out, writer, done);
+        } catch (RuntimeException e) {
+            // 응답이 이미 시작됨 → 상태코드 대신 마지막 줄로 중단 사유 전달
+            if (e instanceof UncheckedIOException) throw e;
+            String code = e instanceof BusinessException be ? be.getMessage() : "INVALID_ENTRY";
+            log.warn("[API] wallet.bulk-charge aborted processed={}, code={}", last.get().processed(), code, e);
+            writeLine(out, writer, last.get().aborted(code));
+        }
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, BulkChargeProgress p) {
+        try {
+            out.write(writer.writeValueAsBytes(p));   // writeValue(out)은 스트림을 닫으므로 사용하지 않음
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package com.smartcane.point.dto;
+
+// 포인트 예약(승인): holdSeconds 생략 시 point.reservation.hold-ttl
+public record AuthorizePaymentRequest(
+        long totalAmount, long pointAmount,
+        String orderId, String requestId, Long holdSeconds
+) {}
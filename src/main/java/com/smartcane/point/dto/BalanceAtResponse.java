@@ -0,0 +1,6 @@
+package com.smartcane.point.dto;
+
+import java.time.Instant;
+
+// 시점 잔액: snapshotAsOf(없으면 null) 스냅샷 + 이후 deltaEntries건 원장
+public record BalanceAtResponse(Long userId, Instant at, long balance, Instant snapshotAsOf, long deltaEntries) {}
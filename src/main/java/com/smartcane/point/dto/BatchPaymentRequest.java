@@ -0,0 +1,6 @@
+package com.smartcane.point.dto;
+
+import java.util.List;
+
+/** 한 사용자의 여러 주문 일괄 포인트 결제 (주문별 requestId가 없으면 X-Idempotency-Key:orderId) */
+public record BatchPaymentRequest(List<CreatePaymentRequest> orders) {}
@@ -0,0 +1,26 @@
+package com.smartcane.point.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 일괄 결제 결과 (요청 순서와 같은 순서)
+ * - 주문별로 status(CAPTURED/CANCELED) 또는 실패 code 중 하나
+ * - walletBalance: 일괄 처리 후 잔액
+ */
+public record BatchPaymentResponse(long walletBalance, List<Result> results) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(String orderId, String status, long totalAmount, long pointAmount, long cashAmount,
+                         String code) {
+
+        public static Result of(PaymentResponse r) {
+            return new Result(r.orderId(), r.status(), r.totalAmount(), r.pointAmount(), r.cashAmount(), null);
+        }
+
+        public static Result failed(String orderId, String code) {
+            return new Result(orderId, null, 0, 0, 0, code);
+        }
+    }
+}
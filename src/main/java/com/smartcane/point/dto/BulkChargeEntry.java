@@ -0,0 +1,4 @@
+package com.smartcane.point.dto;
+
+// 대량 충전 항목 (requestId: 항목별 멱등키, 필수)
+public record BulkChargeEntry(Long userId, long amount, String requestId) {}
@@ -0,0 +1,32 @@
+package com.smartcane.point.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 대량 충전 진행 상황 (청크마다 한 줄, 마지막 줄은 done=true)
+ * - 누적 카운터 + 해당 청크에서 실패한 항목
+ * - error: 입력 파싱 실패 등으로 중단된 경우의 에러코드 (이미 반영된 청크는 유지됨)
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BulkChargeProgress(
+        long processed, long applied, long replayed, long failed,
+        List<Failure> failures, boolean done, String error
+) {
+    public BulkChargeProgress(long processed, long applied, long replayed, long failed,
+                              List<Failure> failures, boolean done) {
+        this(processed, applied, replayed, failed, failures, done, null);
+    }
+
+    public static BulkChargeProgress empty() {
+        return new BulkChargeProgress(0, 0, 0, 0, List.of(), false);
+    }
+
+    /** 마지막 진행 상황에 중단 사유를 붙인 종료 줄 */
+    public BulkChargeProgress aborted(String code) {
+        return new BulkChargeProgress(processed, applied, replayed, failed, List.of(), true, code);
+    }
+
+    public record Failure(Long userId, String requestId, String code) {}
+}
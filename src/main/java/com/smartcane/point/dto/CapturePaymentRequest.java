@@ -0,0 +1,4 @@
+package com.smartcane.point.dto;
+
+// 예약 확정
+public record CapturePaymentRequest(String orderId, String requestId) {}
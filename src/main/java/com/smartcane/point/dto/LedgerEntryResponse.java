@@ -0,0 +1,12 @@
+package com.smartcane.point.dto;
+
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+
+import java.time.Instant;
+
+// 원장 이력 한 줄 (JPQL 생성자 프로젝션: 엔티티를 영속성 컨텍스트에 올리지 않음)
+public record LedgerEntryResponse(
+        long id, LedgerType type, long amount, String orderId, String requestId,
+        LedgerStatus status, String memo, Instant createdAt
+) {}
@@ -0,0 +1,6 @@
+package com.smartcane.point.dto;
+
+import java.util.List;
+
+// nextCursor: 다음 페이지 요청 시 cursor로 전달 (마지막 페이지면 null)
+public record LedgerPageResponse(List<LedgerEntryResponse> items, String nextCursor) {}
@@ -0,0 +1,13 @@
+package com.smartcane.point.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// 대사 실행 현황 + 불일치 목록(최대 mismatchLimit건)
+public record ReconciliationReport(
+        long runId, String status, long minUserId, long maxUserId, int chunkUsers,
+        long chunksDone, long chunksTotal, long walletsChecked, long mismatchCount,
+        List<Mismatch> mismatches, Instant startedAt, Instant finishedAt
+) {
+    public record Mismatch(long userId, long walletBalance, long ledgerBalance, long diff) {}
+}
@@ -0,0 +1,8 @@
+package com.smartcane.point.dto;
+
+import java.time.Instant;
+
+public record ReservationResponse(
+        String orderId, String status, String holdStatus,
+        long pointAmount, Instant expiresAt, long walletBalance
+) {}
@@ -0,0 +1,4 @@
+package com.smartcane.point.dto;
+
+// 예약 취소(해제)
+public record VoidPaymentRequest(String orderId, String requestId, String reasonMessage) {}
@@ -0,0 +1,7 @@
+package com.smartcane.point.dto;
+
+import java.util.List;
+
+// shardCount 0: 일반 지갑. balance = 지갑 행 + 샤드 합계, shardBalances는 샤드 번호 순
+public record WalletShardsResponse(Long userId, int shardCount, long balance, long walletRowBalance,
+                                   List<Long> shardBalances) {}
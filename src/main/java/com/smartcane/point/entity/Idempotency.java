@@ -5,10 +5,13 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity @Table(name="idempotency",
-        uniqueConstraints = @UniqueConstraint(name="uk_idem", columnNames={"requestKey","endpoint","userId"}))
+        uniqueConstraints = @UniqueConstraint(name="uk_idem", columnNames={"requestKey","endpoint","userId"}),
+        indexes = @Index(name="idx_idem_created", columnList="createdAt"))
 @Getter @Builder @AllArgsConstructor @NoArgsConstructor
 public class Idempotency {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 비동기 배치 저장을 위해 pooled 시퀀스 사용 (MySQL은 idempotency_seq 테이블)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_seq")
+    @SequenceGenerator(name = "idempotency_seq", sequenceName = "idempotency_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable=false, length=120)
@@ -26,6 +29,7 @@ public class Idempotency {
     @Column(columnDefinition="TEXT")
     private String responseBody;
 
+    @Builder.Default
     @Column(nullable=false, updatable=false)
     private Instant createdAt = Instant.now();
 }
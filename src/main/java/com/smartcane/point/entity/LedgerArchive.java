@@ -0,0 +1,46 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 보관된 원장 구간: [rangeStart, rangeEnd) 원장을 point_ledger에서 지우고 fileName 파일로 옮김
+ * - 기록 시점에 파일 행 수/금액 합이 DB 집계와 같고 sha256이 일치함을 확인한 뒤 저장
+ * - 보관 구간은 항상 오래된 순서로 이어짐 → max(rangeEnd) 이전 원장은 파일에만 있음
+ */
+@Entity @Table(name="ledger_archive",
+        uniqueConstraints = @UniqueConstraint(name="uk_ledger_archive_range", columnNames="rangeName"),
+        indexes = @Index(name="idx_ledger_archive_end", columnList="rangeEnd"))
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class LedgerArchive {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false, length=32)
+    private String rangeName;          // 파티션 이름 (p202610 ...)
+
+    private Instant rangeStart;        // null: 하한 없음 (첫 파티션)
+
+    @Column(nullable=false)
+    private Instant rangeEnd;
+
+    @Column(nullable=false, length=255)
+    private String fileName;           // point.ledger.archive.dir 기준 상대 경로
+
+    @Column(nullable=false)
+    private long rowCount;
+
+    @Column(nullable=false)
+    private long amountSum;
+
+    @Column(nullable=false)
+    private long bytes;
+
+    @Column(nullable=false, length=64)
+    private String sha256;
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,23 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 사용자별 마지막 전달 seq (릴레이가 전달 행 삭제와 같은 트랜잭션에서 갱신)
+ * - 다음 배치에서 lastSeq + 1 보다 큰 seq는 빈 구간이 채워지거나 gap-timeout이 지날 때까지 보류
+ */
+@Entity @Table(name="outbox_cursor")
+@Getter @Setter @Builder @AllArgsConstructor @NoArgsConstructor
+public class OutboxCursor {
+    @Id
+    private Long userId;
+
+    @Column(nullable=false)
+    private long lastSeq;
+
+    @Builder.Default
+    @Column(nullable=false)
+    private Instant updatedAt = Instant.now();
+}
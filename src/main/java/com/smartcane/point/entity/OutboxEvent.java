@@ -0,0 +1,41 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 트랜잭션 아웃박스: 결제/원장 변경과 같은 트랜잭션에서 기록, OutboxRelay가 전달 후 삭제
+ * - seq: 같은 트랜잭션에서 커밋된 point_wallet.version → 사용자별 순서/중복 판별 키 (seq, id)
+ */
+@Entity @Table(name="outbox_event",
+        indexes = @Index(name="idx_outbox_user_seq", columnList="userId,seq"))
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class OutboxEvent {
+    // 원장과 같은 배치로 insert 되도록 pooled 시퀀스 (MySQL은 outbox_seq 테이블)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false)
+    private long seq;
+
+    @Column(nullable=false, length=20)
+    private String aggregateType;   // WALLET/PAYMENT
+
+    @Column(nullable=false, length=100)
+    private String aggregateId;     // userId / orderId
+
+    @Column(nullable=false, length=40)
+    private String eventType;       // LEDGER_APPENDED/PAYMENT_*
+
+    @Column(nullable=false, columnDefinition="TEXT")
+    private String payload;         // JSON
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,23 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 아웃박스 릴레이 리스 (이름당 1행)
+ * - owner가 expiresAt 전까지 전달 권한을 가짐, 연장/탈취는 조건부 UPDATE 한 문장 (OutboxLeaseRepository.acquire)
+ */
+@Entity @Table(name="outbox_lease")
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class OutboxLease {
+    @Id
+    @Column(length=40)
+    private String name;
+
+    @Column(nullable=false, length=100)
+    private String owner;
+
+    @Column(nullable=false)
+    private Instant expiresAt;
+}
@@ -36,6 +36,9 @@ public class Payment {
     @Column(length=100)
     private String lastRequestId;      // 마지막 처리의 requestId 기록(추적)
 
+    @Column(length=100)
+    private String pgTransactionId;    // 혼합결제 카드 승인 번호 (PG 취소/대사 키)
+
     @Column(nullable=false, updatable=false)
     private Instant createdAt = Instant.now();
     @Column(nullable=false)
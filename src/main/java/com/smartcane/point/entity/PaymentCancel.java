@@ -32,6 +32,7 @@ public class PaymentCancel {
     @Column(length=255)
     private String reasonMessage;     // 상세 메시지(사용자/운영자 입력)
 
+    @Builder.Default
     @Column(nullable=false, updatable=false)
     private Instant createdAt = Instant.now();
 }
\ No newline at end of file
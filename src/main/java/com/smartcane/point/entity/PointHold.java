@@ -0,0 +1,56 @@
+package com.smartcane.point.entity;
+
+import com.smartcane.point.entity.enums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 포인트 예약(홀드): 승인 시 지갑 잔액에서 빠진 금액을 별도 행으로 보관
+ * - 지갑 balance는 가용 잔액, 사용자 총 보유 = balance + ACTIVE 홀드 합
+ * - 확정(capture)은 이 행의 상태만 바꾸므로 지갑 행을 잠그지 않음
+ * - expiryBucket: expiresAt을 버킷 단위로 자른 값 → 만료 스위퍼가 (status, expiryBucket) 인덱스 범위만 읽음
+ */
+@Entity @Table(name="point_hold",
+        indexes = {
+                @Index(name="uk_hold_payment", columnList="paymentId", unique=true),
+                @Index(name="idx_hold_status_bucket", columnList="status,expiryBucket")
+        })
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class PointHold {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long paymentId;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false, length=100)
+    private String orderId;
+
+    @Column(nullable=false)
+    private long amount;               // 묶인 포인트 (양수)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable=false, length=20)
+    private HoldStatus status;         // ACTIVE→CAPTURED/RELEASED/EXPIRED
+
+    @Column(nullable=false)
+    private long walletVersion;        // 승인 시 커밋된 지갑 버전 (감사용, 확정 이벤트 seq는 확정 시점 버전)
+
+    @Column(nullable=false)
+    private Instant expiresAt;
+
+    @Column(nullable=false)
+    private long expiryBucket;         // expiresAt epochSecond / bucket-seconds
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant createdAt = Instant.now();
+
+    @Builder.Default
+    @Column(nullable=false)
+    private Instant updatedAt = Instant.now();
+}
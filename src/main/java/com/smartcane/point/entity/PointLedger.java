@@ -7,10 +7,13 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity @Table(name="point_ledger",
-        indexes = {@Index(name="idx_user_created", columnList="userId,createdAt")})
+        indexes = {@Index(name="idx_user_created", columnList="userId,createdAt"),
+                   @Index(name="idx_ledger_user_request", columnList="userId,requestId")})
 @Getter @Builder @AllArgsConstructor @NoArgsConstructor
 public class PointLedger {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled 시퀀스(MySQL은 point_ledger_seq 테이블로 에뮬레이션) → insert 전에 id 확정, JDBC 배치 가능
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_ledger_seq")
+    @SequenceGenerator(name = "point_ledger_seq", sequenceName = "point_ledger_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable=false)
@@ -36,6 +39,7 @@ public class PointLedger {
     @Column(length=255)
     private String memo;            // 사유/메모
 
+    @Builder.Default
     @Column(nullable=false, updatable=false)
     private Instant createdAt = Instant.now();
 }
@@ -0,0 +1,51 @@
+package com.smartcane.point.entity;
+
+import com.smartcane.point.entity.enums.LotStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 적립 단위(lot): 적립 원장 1건마다 1행 (환불/예약 해제는 되살린 소진 조각마다), 유효기간(expiresAt)을 가짐
+ * - 차감은 사용자의 OPEN lot을 (expiresAt, id) 순으로 소진 → idx_lot_user_open 앞부분만 읽음
+ * - 만료 엔진은 idx_lot_status_expires (OPEN, expiresAt <= now) 범위만 읽음 (원장 전체 스캔 없음)
+ * - 불변식: 사용자 OPEN lot의 remaining 합 = point_wallet.balance (샤딩 지갑 제외)
+ */
+@Entity @Table(name="point_lot",
+        indexes = {
+                @Index(name="idx_lot_user_open", columnList="userId,status,expiresAt,id"),
+                @Index(name="idx_lot_status_expires", columnList="status,expiresAt")
+        })
+@Getter @Setter @Builder @AllArgsConstructor @NoArgsConstructor
+public class PointLot {
+    // 원장과 같은 pooled 시퀀스 방식 → 그룹 커밋에서 원장과 함께 JDBC 배치 insert
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_lot_seq")
+    @SequenceGenerator(name = "point_lot_seq", sequenceName = "point_lot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    private Long ledgerId;             // 적립/환불/해제 원장 (이관된 기존 잔액, 샤딩 해제 보정은 null)
+
+    @Column(nullable=false)
+    private long amount;               // 적립 금액
+
+    @Column(nullable=false)
+    private long remaining;            // 남은 금액
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable=false, length=20)
+    private LotStatus status;
+
+    @Column(nullable=false)
+    private Instant expiresAt;
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant createdAt = Instant.now();
+
+    @Builder.Default
+    @Column(nullable=false)
+    private Instant updatedAt = Instant.now();
+}
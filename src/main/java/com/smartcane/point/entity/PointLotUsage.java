@@ -0,0 +1,38 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 주문 차감(DEBIT/HOLD)이 소진한 lot 조각: (userId, orderId)별로 어느 만료일의 포인트를 얼마 썼는지
+ * - 같은 주문의 환불(REFUND)/예약 해제(RELEASE)는 새 유효기간이 아니라 이 조각의 expiresAt으로 lot을 되살림
+ *   → 승인/취소나 결제/환불을 반복해도 유효기간이 늘어나지 않음
+ */
+@Entity @Table(name="point_lot_usage",
+        indexes = @Index(name="idx_lot_usage_user_order", columnList="userId,orderId"))
+@Getter @Setter @Builder @AllArgsConstructor @NoArgsConstructor
+public class PointLotUsage {
+    // lot과 같은 pooled 시퀀스 방식 (차감 원장과 함께 배치 insert)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_lot_usage_seq")
+    @SequenceGenerator(name = "point_lot_usage_seq", sequenceName = "point_lot_usage_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false, length=100)
+    private String orderId;
+
+    @Column(nullable=false)
+    private Long lotId;                // 소진된 lot
+
+    @Column(nullable=false)
+    private Instant expiresAt;         // 소진된 lot의 만료 (되살릴 때 그대로 사용)
+
+    @Column(nullable=false)
+    private long amount;               // 소진 금액
+
+    @Column(nullable=false)
+    private long restored;             // 환불/해제로 되살린 금액 (<= amount)
+}
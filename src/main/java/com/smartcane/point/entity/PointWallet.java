@@ -19,6 +19,9 @@ public class PointWallet {
     @Version
     private long version;              // 낙관적 락
 
+    @Column(nullable=false)
+    private int shardCount;            // 0: 일반 지갑, K>0: 잔액을 point_wallet_shard K개 행에 나눠 보관
+
     @Column(nullable=false, updatable=false)
     private Instant createdAt = Instant.now();
 
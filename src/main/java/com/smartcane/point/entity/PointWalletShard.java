@@ -0,0 +1,39 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 샤딩된 지갑의 부분 잔액 (userId, shardNo)
+ * - 요청 경로는 조건부 UPDATE(balance + delta >= 0, active)로만 변경, version은 변경마다 +1
+ *   → 지갑 총 버전 = point_wallet.version + SUM(version) 이 커밋마다 증가 (캐시/아웃박스 seq)
+ * - 여러 행을 옮기는 작업(리밸런스/분할 차감)은 지갑 행 → 샤드 번호 순으로 잠금
+ */
+@Entity @Table(name="point_wallet_shard",
+        uniqueConstraints = @UniqueConstraint(name="uk_wallet_shard_user_no", columnNames={"userId","shardNo"}))
+@Getter @Setter @Builder @AllArgsConstructor @NoArgsConstructor
+public class PointWalletShard {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false)
+    private int shardNo;
+
+    @Column(nullable=false)
+    private long balance;
+
+    @Column(nullable=false)
+    private long version;
+
+    @Builder.Default
+    @Column(nullable=false)
+    private boolean active = true;     // shardNo < 지갑 shardCount (reshard가 잠근 채 갱신, 요청 경로는 지갑 행 대신 이 값을 봄)
+
+    @Builder.Default
+    @Column(nullable=false)
+    private Instant updatedAt = Instant.now();
+}
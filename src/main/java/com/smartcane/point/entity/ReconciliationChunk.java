@@ -0,0 +1,30 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/** 대사 체크포인트: 완료된 userId 구간 [chunkStart, chunkStart + chunkUsers) 와 집계 */
+@Entity @Table(name="reconciliation_chunk",
+        uniqueConstraints = @UniqueConstraint(name="uk_recon_chunk", columnNames={"runId","chunkStart"}))
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class ReconciliationChunk {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long runId;
+
+    @Column(nullable=false)
+    private long chunkStart;
+
+    @Column(nullable=false)
+    private long wallets;              // 검사한 지갑 수
+
+    @Column(nullable=false)
+    private long mismatches;
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant completedAt = Instant.now();
+}
@@ -0,0 +1,30 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/** 대사 불일치: point_wallet.balance ≠ 부호를 반영한 point_ledger 합 */
+@Entity @Table(name="reconciliation_mismatch",
+        indexes = @Index(name="idx_recon_mismatch_run", columnList="runId,userId"))
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class ReconciliationMismatch {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long runId;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false)
+    private long walletBalance;
+
+    @Column(nullable=false)
+    private long ledgerBalance;        // SUM(sign(type) * amount), SUCCESS 원장만
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant detectedAt = Instant.now();
+}
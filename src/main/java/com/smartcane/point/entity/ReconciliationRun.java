@@ -0,0 +1,39 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 지갑-원장 대사 실행 1회
+ * - [minUserId, maxUserId]를 chunkUsers 폭의 구간으로 나눠 검사, 구간 완료는 ReconciliationChunk로 체크포인트
+ * - RUNNING으로 남은 실행은 다음 시작 때 완료되지 않은 구간부터 이어서 진행
+ */
+@Entity @Table(name="reconciliation_run",
+        indexes = @Index(name="idx_recon_run_status", columnList="status"))
+@Getter @Setter @Builder @AllArgsConstructor @NoArgsConstructor
+public class ReconciliationRun {
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false, length=20)
+    private String status;             // RUNNING/COMPLETED
+
+    @Column(nullable=false)
+    private long minUserId;
+
+    @Column(nullable=false)
+    private long maxUserId;
+
+    @Column(nullable=false)
+    private int chunkUsers;            // 구간 폭 (재개 시에도 같은 경계 사용)
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant startedAt = Instant.now();
+
+    private Instant finishedAt;
+}
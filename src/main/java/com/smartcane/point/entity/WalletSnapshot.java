@@ -0,0 +1,37 @@
+package com.smartcane.point.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * 잔액 스냅샷: asOf 시각까지(created_at <= asOf) SUCCESS 원장의 부호 반영 합
+ * - 지갑 행이 아니라 원장에서 계산 → 지갑 잠금 없이 만들고, 원장은 추가만 되므로 이후에도 값이 변하지 않음
+ * - asOf = 생성 시각 - settle-lag: 아직 커밋되지 않은 원장이 asOf 이전 created_at으로 나중에 보이는 일이 없도록
+ * - 시점 잔액 = asOf <= T 인 최신 스냅샷 + (asOf, T] 구간 원장 합
+ */
+@Entity @Table(name="wallet_snapshot",
+        uniqueConstraints = @UniqueConstraint(name="uk_snapshot_user_asof", columnNames={"userId","asOf"}))
+@Getter @Builder @AllArgsConstructor @NoArgsConstructor
+public class WalletSnapshot {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private Long userId;
+
+    @Column(nullable=false)
+    private long balance;
+
+    private Long lastLedgerId;         // 포함된 원장 중 최대 id (감사 추적용)
+
+    @Column(nullable=false)
+    private long entries;              // 직전 스냅샷 이후 반영한 원장 수
+
+    @Column(nullable=false)
+    private Instant asOf;
+
+    @Builder.Default
+    @Column(nullable=false, updatable=false)
+    private Instant createdAt = Instant.now();
+}
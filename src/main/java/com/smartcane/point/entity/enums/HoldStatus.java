@@ -0,0 +1,8 @@
+package com.smartcane.point.entity.enums;
+
+public enum HoldStatus {
+    ACTIVE,      // 가용 잔액에서 묶여 있음 (확정/해제 대기)
+    CAPTURED,    // 결제 확정
+    RELEASED,    // 취소(void)로 해제
+    EXPIRED      // 만료 스위퍼가 해제
+}
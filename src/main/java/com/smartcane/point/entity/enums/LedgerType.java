@@ -1,4 +1,17 @@
 package com.smartcane.point.entity.enums;
 
 
-public enum LedgerType { CHARGE, DEBIT, REFUND, CANCEL }         // 원장 구분
+public enum LedgerType {                                          // 원장 구분
+    CHARGE(1), DEBIT(-1), REFUND(1), CANCEL(-1),
+    HOLD(-1),                                                     // 예약(승인) 시 가용 잔액에서 묶음
+    RELEASE(1),                                                   // 예약 취소/만료 시 가용 잔액으로 되돌림
+    EXPIRE(-1);                                                   // 유효기간이 지난 적립분 소멸 (PointExpiryService)
+
+    private final int sign;                                       // 잔액 증감 부호
+
+    LedgerType(int sign) { this.sign = sign; }
+
+    public int sign() { return sign; }
+
+    public long signed(long amount) { return sign * amount; }
+}
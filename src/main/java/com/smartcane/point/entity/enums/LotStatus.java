@@ -0,0 +1,7 @@
+package com.smartcane.point.entity.enums;
+
+public enum LotStatus {
+    OPEN,        // 남은 포인트 있음 (차감 시 만료 임박 순으로 소진)
+    USED,        // 차감으로 전부 소진
+    EXPIRED      // 만료 엔진이 남은 포인트를 소멸
+}
@@ -1,8 +1,10 @@
 package com.smartcane.point.exception;
 
+import com.smartcane.point.service.PointMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,15 +25,20 @@ import java.util.stream.Collectors;
  * - ConstraintViolationException        : @RequestParam/@PathVariable 검증 실패
  * - HttpMessageNotReadableException     : JSON 파싱 실패
  * - Exception                           : 알 수 없는 에러(500)
+ * - 비즈니스 에러는 코드별 point.business.errors 카운터로 집계
  */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final PointMetrics metrics;
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiError> handleBusiness(BusinessException ex, HttpServletRequest req) {
         HttpStatus status = ex.getStatus();
         String code = safeCode(ex.getMessage(), "BUSINESS_ERROR");
+        metrics.businessError(code);
         log.warn("[BUSINESS] {} {} - {} ({})", req.getMethod(), req.getRequestURI(), code, status.value(), ex);
         ApiError body = ApiError.of(code, ex.getMessage(), status.value(), req.getRequestURI(), null);
         return ResponseEntity.status(status).body(body);
@@ -41,6 +48,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleNotFound(NotFoundException ex, HttpServletRequest req) {
         HttpStatus status = HttpStatus.NOT_FOUND;
         String code = safeCode(ex.getMessage(), "NOT_FOUND");
+        metrics.businessError(code);
         log.warn("[NOT_FOUND] {} {} - {}", req.getMethod(), req.getRequestURI(), code);
         ApiError body = ApiError.of(code, ex.getMessage(), status.value(), req.getRequestURI(), null);
         return ResponseEntity.status(status).body(body);
@@ -0,0 +1,6 @@
+package com.smartcane.point.repository;
+
+import java.time.Instant;
+
+// 만료 대상 lot (엔티티를 영속성 컨텍스트에 올리지 않는 projection)
+public record DueLot(long id, Long userId, long remaining, Instant expiresAt) {}
@@ -2,7 +2,20 @@ package com.smartcane.point.repository;
 
 import com.smartcane.point.entity.Idempotency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
 
 public interface IdempotencyRepository extends JpaRepository<Idempotency, Long> {
     boolean existsByRequestKeyAndEndpointAndUserId(String k, String ep, Long userId);
+
+    Optional<Idempotency> findByRequestKeyAndEndpointAndUserId(String k, String ep, Long userId);
+
+    // TTL 정리: idx_idem_created 범위 삭제, 한 번에 limit 행씩 (긴 잠금 방지)
+    @Modifying
+    @Query(value = "DELETE FROM idempotency WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
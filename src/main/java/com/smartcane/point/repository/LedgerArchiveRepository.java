@@ -0,0 +1,14 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.LedgerArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerArchiveRepository extends JpaRepository<LedgerArchive, Long> {
+    Optional<LedgerArchive> findByRangeName(String rangeName);
+
+    // 최신 구간부터 (이력 역순 조회 순서)
+    List<LedgerArchive> findAllByOrderByRangeEndDesc();
+}
@@ -0,0 +1,7 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.OutboxCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxCursorRepository extends JpaRepository<OutboxCursor, Long> {
+}
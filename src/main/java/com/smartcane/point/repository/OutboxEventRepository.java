@@ -0,0 +1,19 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // 릴레이: PK 순으로 앞에서부터 (전달된 행은 삭제되므로 항상 선두만 읽음)
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+
+    // 릴레이: 빈 seq 구간 (after, before) - 다른 노드 id 블록이라 선두 배치에 없던 행 (idx_outbox_user_seq)
+    @Query("select e from OutboxEvent e where e.userId = :userId and e.seq > :after and e.seq < :before " +
+            "order by e.seq, e.id")
+    List<OutboxEvent> findGap(@Param("userId") Long userId, @Param("after") long after, @Param("before") long before);
+}
@@ -0,0 +1,24 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.OutboxLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, String> {
+
+    // 연장(내 리스) 또는 탈취(만료된 리스): 1이면 until까지 owner가 보유
+    @Modifying
+    @Query("update OutboxLease l set l.owner = :owner, l.expiresAt = :until " +
+            "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("until") Instant until, @Param("now") Instant now);
+
+    // 종료 시 반납: 다른 노드가 만료를 기다리지 않고 바로 가져가도록
+    @Modifying
+    @Query("update OutboxLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
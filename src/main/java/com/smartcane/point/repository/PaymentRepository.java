@@ -1,10 +1,56 @@
 package com.smartcane.point.repository;
 
 import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(String orderId);
+
+    List<Payment> findByOrderIdIn(Collection<String> orderIds);
+
+    // 취소 반영: 분리된 엔티티를 merge 하면 SELECT가 한 번 더 나가므로 직접 UPDATE
+    @Modifying
+    @Query("update Payment p set p.pointAmount = :pointAmount, p.status = :status, " +
+            "p.lastRequestId = :requestId, p.updatedAt = :now where p.id = :id")
+    int updateAfterCancel(@Param("id") Long id,
+                          @Param("pointAmount") long pointAmount,
+                          @Param("status") PaymentStatus status,
+                          @Param("requestId") String requestId,
+                          @Param("now") Instant now);
+
+    // 확정 결제 취소 반영: 읽은 pointAmount가 그대로인 CAPTURED 결제만 (0행이면 다른 취소가 먼저 반영됨)
+    @Modifying
+    @Query("update Payment p set p.pointAmount = :pointAmount, p.status = :status, " +
+            "p.lastRequestId = :requestId, p.updatedAt = :now " +
+            "where p.id = :id and p.pointAmount = :expected " +
+            "and p.status = com.smartcane.point.entity.enums.PaymentStatus.CAPTURED")
+    int updateAfterCancelIf(@Param("id") Long id,
+                            @Param("expected") long expectedPointAmount,
+                            @Param("pointAmount") long pointAmount,
+                            @Param("status") PaymentStatus status,
+                            @Param("requestId") String requestId,
+                            @Param("now") Instant now);
+
+    // 예약 확정: 조건부 상태 전이 (merge 없이 UPDATE 한 번)
+    @Modifying
+    @Query("update Payment p set p.status = :to, p.lastRequestId = :requestId, p.updatedAt = :now " +
+            "where p.id = :id and p.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") PaymentStatus from,
+                   @Param("to") PaymentStatus to,
+                   @Param("requestId") String requestId,
+                   @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Payment p set p.pgTransactionId = :tid where p.id = :id")
+    int updatePgTransactionId(@Param("id") Long id, @Param("tid") String pgTransactionId);
 }
@@ -0,0 +1,38 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.PointHold;
+import com.smartcane.point.entity.enums.HoldStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PointHoldRepository extends JpaRepository<PointHold, Long> {
+    Optional<PointHold> findByPaymentId(Long paymentId);
+
+    // 상태 전이는 조건부 UPDATE 한 번: 확정/해제/만료가 겹쳐도 ACTIVE에서 한 쪽만 성공
+    @Modifying
+    @Query("update PointHold h set h.status = :to, h.updatedAt = :now " +
+            "where h.id = :id and h.status = com.smartcane.point.entity.enums.HoldStatus.ACTIVE")
+    int transition(@Param("id") Long id, @Param("to") HoldStatus to, @Param("now") Instant now);
+
+    // 확정: 만료 시각이 지나지 않은 ACTIVE 홀드만
+    @Modifying
+    @Query("update PointHold h set h.status = com.smartcane.point.entity.enums.HoldStatus.CAPTURED, " +
+            "h.updatedAt = :now " +
+            "where h.id = :id and h.status = com.smartcane.point.entity.enums.HoldStatus.ACTIVE " +
+            "and h.expiresAt > :now")
+    int capture(@Param("id") Long id, @Param("now") Instant now);
+
+    // 만료 후보: idx_hold_status_bucket (ACTIVE, bucket <= 현재 버킷) 범위 스캔, 결제 테이블은 읽지 않음
+    @Query("select h from PointHold h " +
+            "where h.status = com.smartcane.point.entity.enums.HoldStatus.ACTIVE " +
+            "and h.expiryBucket <= :bucket and h.expiresAt <= :now " +
+            "order by h.expiryBucket, h.id")
+    List<PointHold> findExpired(@Param("bucket") long bucket, @Param("now") Instant now, Limit limit);
+}
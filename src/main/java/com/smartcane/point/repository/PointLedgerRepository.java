@@ -1,6 +1,38 @@
 package com.smartcane.point.repository;
 
+import com.smartcane.point.dto.LedgerEntryResponse;
 import com.smartcane.point.entity.PointLedger;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PointLedgerRepository extends JpaRepository<PointLedger, Long> {}
\ No newline at end of file
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PointLedgerRepository extends JpaRepository<PointLedger, Long> {
+    // 원장 멱등 확인용 (idx_ledger_user_request)
+    List<PointLedger> findByUserIdAndRequestIdIn(Long userId, Collection<String> requestIds);
+
+    // 그룹 커밋: 여러 사용자의 멱등 확인을 한 번에
+    List<PointLedger> findByUserIdInAndRequestIdIn(Collection<Long> userIds, Collection<String> requestIds);
+
+    // 이력 첫 페이지: idx_user_created 역순 스캔 (InnoDB 보조 인덱스에 PK가 포함되어 id 정렬도 인덱스로 해결)
+    @Query("select new com.smartcane.point.dto.LedgerEntryResponse(" +
+            "l.id, l.type, l.amount, l.orderId, l.requestId, l.status, l.memo, l.createdAt) " +
+            "from PointLedger l where l.userId = :userId " +
+            "order by l.createdAt desc, l.id desc")
+    List<LedgerEntryResponse> findHistory(@Param("userId") Long userId, Limit limit);
+
+    // 이후 페이지: (createdAt, id) 키셋 seek → OFFSET 없이 페이지 깊이와 무관한 비용
+    @Query("select new com.smartcane.point.dto.LedgerEntryResponse(" +
+            "l.id, l.type, l.amount, l.orderId, l.requestId, l.status, l.memo, l.createdAt) " +
+            "from PointLedger l where l.userId = :userId " +
+            "and (l.createdAt < :createdAt or (l.createdAt = :createdAt and l.id < :id)) " +
+            "order by l.createdAt desc, l.id desc")
+    List<LedgerEntryResponse> findHistoryBefore(@Param("userId") Long userId,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+}
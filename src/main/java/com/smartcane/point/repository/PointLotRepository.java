@@ -0,0 +1,42 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.PointLot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PointLotRepository extends JpaRepository<PointLot, Long> {
+
+    // 차감 대상: 사용자 OPEN lot 앞부분만 (idx_lot_user_open)
+    @Query("select l from PointLot l where l.userId = :userId " +
+            "and l.status = com.smartcane.point.entity.enums.LotStatus.OPEN order by l.expiresAt, l.id")
+    List<PointLot> findOpenHead(@Param("userId") Long userId, Limit limit);
+
+    // 만료 대상: (OPEN, expiresAt <= now) 범위를 (expiresAt, id) 키셋으로 이어 읽음 (idx_lot_status_expires)
+    @Query("select new com.smartcane.point.repository.DueLot(l.id, l.userId, l.remaining, l.expiresAt) " +
+            "from PointLot l where l.status = com.smartcane.point.entity.enums.LotStatus.OPEN " +
+            "and l.expiresAt <= :now " +
+            "and (l.expiresAt > :afterExpiresAt or (l.expiresAt = :afterExpiresAt and l.id > :afterId)) " +
+            "order by l.expiresAt, l.id")
+    List<DueLot> findDue(@Param("now") Instant now, @Param("afterExpiresAt") Instant afterExpiresAt,
+                         @Param("afterId") long afterId, Limit limit);
+
+    @Query("select coalesce(sum(l.remaining), 0) from PointLot l where l.id in :ids " +
+            "and l.status = com.smartcane.point.entity.enums.LotStatus.OPEN")
+    long sumOpen(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update PointLot l set l.remaining = 0, l.status = com.smartcane.point.entity.enums.LotStatus.EXPIRED, " +
+            "l.updatedAt = :now where l.id in :ids and l.status = com.smartcane.point.entity.enums.LotStatus.OPEN")
+    int expire(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("select coalesce(sum(l.remaining), 0) from PointLot l where l.userId = :userId " +
+            "and l.status = com.smartcane.point.entity.enums.LotStatus.OPEN")
+    long sumOpenByUser(@Param("userId") Long userId);
+}
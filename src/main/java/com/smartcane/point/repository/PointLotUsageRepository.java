@@ -0,0 +1,16 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.PointLotUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PointLotUsageRepository extends JpaRepository<PointLotUsage, Long> {
+
+    // 되살릴 조각: 만료가 늦은 것부터 (idx_lot_usage_user_order)
+    @Query("select u from PointLotUsage u where u.userId = :userId and u.orderId = :orderId " +
+            "and u.restored < u.amount order by u.expiresAt desc, u.id desc")
+    List<PointLotUsage> findRestorable(@Param("userId") Long userId, @Param("orderId") String orderId);
+}
@@ -1,21 +1,56 @@
 package com.smartcane.point.repository;
 
 import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.enums.LedgerType;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PointWalletRepository extends JpaRepository<PointWallet, Long> {
     Optional<PointWallet> findByUserId(Long userId);
+    List<PointWallet> findByUserIdIn(Collection<Long> userIds);
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select w from PointWallet w where w.userId = :userId")
     Optional<PointWallet> lockByUserId(@Param("userId") Long userId);
-}
 
+    // 샤딩된 지갑 목록 (소수의 opt-in 지갑 → 노드마다 메모리에 보관)
+    @Query("select w from PointWallet w where w.shardCount > 0")
+    List<PointWallet> findSharded();
+
+    // 지갑 행 잔액/버전 (shardNo 자리에 shardCount), 영속성 컨텍스트를 거치지 않는 DB 값
+    @Query("select new com.smartcane.point.repository.ShardBalance(w.shardCount, w.balance, w.version) " +
+            "from PointWallet w where w.userId = :userId")
+    Optional<ShardBalance> findBalance(@Param("userId") Long userId);
 
+    // write-mode=conditional: 조회/잠금 없이 한 문장으로 차감 (잔액 부족이거나 지갑이 없으면 0행)
+    @Modifying
+    @Query("update PointWallet w set w.balance = w.balance - :amount, w.version = w.version + 1, w.updatedAt = :now " +
+            "where w.userId = :userId and w.balance >= :amount")
+    int debitIf(@Param("userId") Long userId, @Param("amount") long amount, @Param("now") Instant now);
 
+    // write-mode=conditional: 한 문장으로 적립 (지갑이 없으면 0행)
+    @Modifying
+    @Query("update PointWallet w set w.balance = w.balance + :amount, w.version = w.version + 1, w.updatedAt = :now " +
+            "where w.userId = :userId")
+    int credit(@Param("userId") Long userId, @Param("amount") long amount, @Param("now") Instant now);
 
+    // 조건부 UPDATE 직후 (행 잠금 보유 중): 반영된 잔액/버전 + 같은 (requestId, type) 원장을 한 번에
+    @Query("select new com.smartcane.point.repository.WalletState(w.balance, w.version, " +
+            "(select max(l.id) from PointLedger l where l.userId = w.userId and l.requestId = :requestId " +
+            "and l.type = :type)) from PointWallet w where w.userId = :userId")
+    Optional<WalletState> findState(@Param("userId") Long userId, @Param("requestId") String requestId,
+                                    @Param("type") LedgerType type);
+
+    // 샤딩 해제 시 지갑 행 version을 총 버전까지 올림 (이후 버전이 줄지 않도록)
+    @Modifying
+    @Query("update PointWallet w set w.version = :version where w.userId = :userId and w.version < :version")
+    int raiseVersion(@Param("userId") Long userId, @Param("version") long version);
+}
@@ -0,0 +1,34 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.PointWalletShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PointWalletShardRepository extends JpaRepository<PointWalletShard, Long> {
+
+    @Query("select new com.smartcane.point.repository.ShardBalance(s.shardNo, s.balance, s.version) " +
+            "from PointWalletShard s where s.userId = :userId order by s.shardNo")
+    List<ShardBalance> findBalances(@Param("userId") Long userId);
+
+    // 샤드 한 행만 잠그는 단일 문장: 잔액이 모자라거나 활성 샤드(shardNo < :count, active)가 아니면 0행
+    // count는 호출 노드가 아는 샤드 수 (지갑 행을 서브쿼리로 읽지 않음 → InnoDB 잠금 읽기로 핫 지갑 행에 S 잠금이 걸리지 않음)
+    // 다른 노드가 샤드 수를 줄였으면 reshard가 잠근 채 내린 active=false로 막힘
+    @Modifying
+    @Query("update PointWalletShard s set s.balance = s.balance + :delta, s.version = s.version + 1, " +
+            "s.updatedAt = :now where s.userId = :userId and s.shardNo = :shardNo and s.balance + :delta >= 0 " +
+            "and s.shardNo < :count and s.active = true")
+    int add(@Param("userId") Long userId, @Param("shardNo") int shardNo, @Param("count") int count,
+            @Param("delta") long delta, @Param("now") Instant now);
+
+    // 여러 샤드를 함께 바꿀 때: 샤드 번호 순 잠금 (교착 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PointWalletShard s where s.userId = :userId order by s.shardNo")
+    List<PointWalletShard> lockAll(@Param("userId") Long userId);
+}
@@ -0,0 +1,20 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.ReconciliationChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReconciliationChunkRepository extends JpaRepository<ReconciliationChunk, Long> {
+
+    @Query("select c.chunkStart from ReconciliationChunk c where c.runId = :runId")
+    List<Long> findChunkStarts(@Param("runId") Long runId);
+
+    // 실행 현황: 완료 구간 수 / 검사한 지갑 수 / 불일치 수
+    @Query("select new com.smartcane.point.repository.ReconciliationChunkSummary(" +
+            "count(c), coalesce(sum(c.wallets), 0), coalesce(sum(c.mismatches), 0)) " +
+            "from ReconciliationChunk c where c.runId = :runId")
+    ReconciliationChunkSummary summarize(@Param("runId") Long runId);
+}
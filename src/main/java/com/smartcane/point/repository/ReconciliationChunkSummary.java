@@ -0,0 +1,3 @@
+package com.smartcane.point.repository;
+
+public record ReconciliationChunkSummary(long chunks, long wallets, long mismatches) {}
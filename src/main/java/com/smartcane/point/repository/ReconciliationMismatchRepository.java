@@ -0,0 +1,11 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.ReconciliationMismatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReconciliationMismatchRepository extends JpaRepository<ReconciliationMismatch, Long> {
+    List<ReconciliationMismatch> findByRunIdOrderByUserIdAsc(Long runId, Limit limit);
+}
@@ -0,0 +1,11 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+    // 중단된 실행 재개용
+    Optional<ReconciliationRun> findFirstByStatusOrderByIdDesc(String status);
+}
@@ -0,0 +1,4 @@
+package com.smartcane.point.repository;
+
+// 샤드 한 행 잔액/버전 (JPQL 생성자 프로젝션: 영속성 컨텍스트를 거치지 않아 조건부 UPDATE 이후에도 DB 값)
+public record ShardBalance(int shardNo, long balance, long version) {}
@@ -0,0 +1,14 @@
+package com.smartcane.point.repository;
+
+import com.smartcane.point.entity.WalletSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+    // uk_snapshot_user_asof 역순 seek 한 번
+    Optional<WalletSnapshot> findFirstByUserIdOrderByAsOfDesc(Long userId);
+
+    Optional<WalletSnapshot> findFirstByUserIdAndAsOfLessThanEqualOrderByAsOfDesc(Long userId, Instant at);
+}
@@ -0,0 +1,4 @@
+package com.smartcane.point.repository;
+
+// 지갑 행 잔액/버전 + 같은 (requestId, type) 원장 id (없으면 null), 영속성 컨텍스트를 거치지 않는 DB 값
+public record WalletState(long balance, long version, Long doneLedgerId) {}
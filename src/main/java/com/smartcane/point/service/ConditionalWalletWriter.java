@@ -0,0 +1,108 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointLedgerRepository;
+import com.smartcane.point.repository.PointWalletRepository;
+import com.smartcane.point.repository.ShardBalance;
+import com.smartcane.point.repository.WalletState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 조건부 단일 UPDATE 방식 (point.wallet.write-mode=conditional)
+ * - 차감: UPDATE ... SET balance = balance - ? WHERE user_id = ? AND balance >= ? 한 문장 (0행이면 잔액 부족/지갑 없음)
+ *   적립/환불: UPDATE ... SET balance = balance + ? 한 문장 → 잠금 SELECT 후 Java에서 바꿔 UPDATE하는 왕복이 없음
+ * - 행 잠금은 UPDATE가 잡고, 바로 뒤 조회 한 번으로 반영된 잔액/버전과 멱등 원장을 함께 확인
+ *   (같은 요청의 중복 전송은 같은 행에서 줄을 서므로 먼저 커밋된 원장을 봄 → 롤백 후 replay)
+ * - 원장/아웃박스 INSERT는 커밋 직전 flush에서 JDBC 배치로 나감
+ * - 0행인 차감은 FOR UPDATE로 잠그고 멱등 원장을 먼저 확인 (재전송된 차감이 잔액 부족으로 실패하지 않도록)
+ */
+@Slf4j
+@Component
+public class ConditionalWalletWriter implements WalletWriter {
+
+    /** 한 트랜잭션의 결과: 반영됨 / 중복 요청 */
+    private record Attempt(WalletMutationResult result, Long replayOf) {}
+
+    private final PointWalletRepository walletRepo;
+    private final PointLedgerRepository ledgerRepo;
+    private final OutboxWriter outbox;
+    private final PointLotService lots;
+    private final TransactionTemplate tx;
+    private final int maxRetries;
+
+    public ConditionalWalletWriter(PointWalletRepository walletRepo,
+                                   PointLedgerRepository ledgerRepo,
+                                   OutboxWriter outbox,
+                                   PointLotService lots,
+                                   PlatformTransactionManager txManager,
+                                   @Value("${point.wallet.engine.max-retries:3}") int maxRetries) {
+        this.walletRepo = walletRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.outbox = outbox;
+        this.lots = lots;
+        this.maxRetries = maxRetries;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public WalletMutationResult apply(WalletMutation m) {
+        WalletMutations.validate(m);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Attempt a = tx.execute(s -> {
+                    Attempt r = write(m);
+                    if (r.result() == null) s.setRollbackOnly();
+                    return r;
+                });
+                if (a.replayOf() == null) return a.result();
+                ShardBalance w = walletRepo.findBalance(m.userId()).orElseThrow(() -> new NotFoundException("WALLET"));
+                return new WalletMutationResult(m.userId(), w.balance(), w.version(), a.replayOf(), true);
+            } catch (DataIntegrityViolationException e) {
+                // 첫 충전이 동시에 지갑을 만듦(uk_point_wallet_user) → 이제 있는 지갑에 다시 반영
+                if (attempt >= maxRetries) throw e;
+                log.debug("[WALLET] conditional retry userId={} - {}", m.userId(), e.toString());
+            }
+        }
+    }
+
+    private Attempt write(WalletMutation m) {
+        Long userId = m.userId();
+        Instant now = Instant.now();
+        boolean credit = m.type().sign() > 0;
+        int updated = credit ? walletRepo.credit(userId, m.amount(), now) : walletRepo.debitIf(userId, m.amount(), now);
+        if (updated == 0) {
+            if (walletRepo.lockByUserId(userId).isEmpty()) {
+                if (m.type() != LedgerType.CHARGE) throw new NotFoundException("WALLET");
+                walletRepo.saveAndFlush(WalletMutations.newWallet(userId));
+                walletRepo.credit(userId, m.amount(), now);
+            } else {
+                WalletState locked = walletRepo.findState(userId, m.requestId(), m.type()).orElseThrow();
+                if (locked.doneLedgerId() != null) return new Attempt(null, locked.doneLedgerId());
+                throw new BusinessException("INSUFFICIENT_POINT");
+            }
+        }
+
+        WalletState state = walletRepo.findState(userId, m.requestId(), m.type()).orElseThrow();
+        if (state.doneLedgerId() != null) return new Attempt(null, state.doneLedgerId());
+
+        PointLedger ledger = ledgerRepo.save(WalletMutations.ledgerOf(m));
+        lots.record(List.of(ledger));
+        WalletMutationResult result = new WalletMutationResult(userId, state.balance(), state.version(), ledger.getId(), false);
+        if (outbox.enabled()) outbox.saveAll(List.of(outbox.ledgerAppended(ledger, result.balance(), result.version())));
+        if (m.inTransaction() != null) m.inTransaction().accept(result);
+        return new Attempt(result, null);
+    }
+}
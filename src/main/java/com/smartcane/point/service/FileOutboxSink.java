@@ -0,0 +1,40 @@
+package com.smartcane.point.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 파일 싱크: 배치마다 NDJSON으로 덧붙이고 fsync 후 반환 (point.outbox.sink=file)
+ * - 브로커 없이 at-least-once 동작을 확인하는 용도
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        StringBuilder sb = new StringBuilder(batch.size() * 256);
+        for (OutboxMessage m : batch) sb.append(objectMapper.writeValueAsString(m)).append('\n');
+        try (FileChannel ch = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+    }
+}
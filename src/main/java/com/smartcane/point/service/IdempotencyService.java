@@ -0,0 +1,164 @@
+package com.smartcane.point.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcane.point.entity.Idempotency;
+import com.smartcane.point.repository.IdempotencyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 멱등 응답 저장소 (2단계)
+ * - 1차: 프로세스 내 캐시 (TTL + 최대 개수 제한)
+ * - 2차: idempotency 테이블 (uk_idem: request_key, endpoint, user_id)
+ * - 저장은 비동기 배치(flush 주기/배치 크기), 만료 행은 주기적으로 잘라서 삭제
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    /** 저장된 응답 */
+    public record StoredResponse(int httpStatus, String body) {}
+
+    private final IdempotencyRepository repo;
+    private final TransactionTemplate tx;
+    private final Cache<String, StoredResponse> cache;
+    private final ConcurrentLinkedQueue<Idempotency> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Duration ttl;
+    private final int flushBatchSize;
+    private final int maxPending;
+    private final int purgeChunk;
+
+    public IdempotencyService(IdempotencyRepository repo,
+                              TransactionTemplate tx,
+                              @Value("${point.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${point.idempotency.cache-max-size:100000}") long cacheMaxSize,
+                              @Value("${point.idempotency.flush-batch-size:200}") int flushBatchSize,
+                              @Value("${point.idempotency.max-pending:10000}") int maxPending,
+                              @Value("${point.idempotency.purge-chunk:1000}") int purgeChunk) {
+        this.repo = repo;
+        this.tx = tx;
+        this.ttl = ttl;
+        this.flushBatchSize = flushBatchSize;
+        this.maxPending = maxPending;
+        this.purgeChunk = purgeChunk;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** 캐시 → DB 순으로 조회, DB에서 찾으면 캐시에 올림 (TTL 지난 행은 무시) */
+    public Optional<StoredResponse> find(String requestKey, String endpoint, Long userId) {
+        String key = cacheKey(requestKey, endpoint, userId);
+        StoredResponse hit = cache.getIfPresent(key);
+        if (hit != null) return Optional.of(hit);
+
+        return repo.findByRequestKeyAndEndpointAndUserId(requestKey, endpoint, userId)
+                .filter(i -> i.getCreatedAt().isAfter(Instant.now().minus(ttl)))
+                .map(i -> {
+                    StoredResponse r = new StoredResponse(i.getHttpStatus(), i.getResponseBody());
+                    cache.put(key, r);
+                    return r;
+                });
+    }
+
+    /** 응답 기록: 캐시에는 즉시, DB에는 다음 flush 때 배치로 */
+    public void record(String requestKey, String endpoint, Long userId, int httpStatus, String body) {
+        cache.put(cacheKey(requestKey, endpoint, userId), new StoredResponse(httpStatus, body));
+        pendingWrites.add(Idempotency.builder()
+                .requestKey(requestKey)
+                .endpoint(endpoint)
+                .userId(userId)
+                .httpStatus(httpStatus)
+                .responseBody(body)
+                .build());
+        // 쓰기가 밀리면 요청 스레드가 직접 비워 큐가 무한히 커지지 않게 한다
+        if (pendingCount.incrementAndGet() >= maxPending) flush();
+    }
+
+    @Scheduled(fixedDelayString = "${point.idempotency.flush-interval-ms:100}")
+    public void flush() {
+        List<Idempotency> batch = new ArrayList<>(flushBatchSize);
+        Idempotency i;
+        while ((i = pendingWrites.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(i);
+            if (batch.size() == flushBatchSize) {
+                write(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    private void write(List<Idempotency> batch) {
+        try {
+            tx.executeWithoutResult(s -> repo.saveAll(batch));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 키를 먼저 저장(uk_idem) → 행 단위로 다시 저장하며 중복은 건너뜀
+            // 실패한 배치의 엔티티는 이미 시퀀스 id를 받아 save()가 merge로 가므로 id 없는 사본으로 persist
+            for (Idempotency row : batch) {
+                try {
+                    tx.executeWithoutResult(s -> repo.save(fresh(row)));
+                } catch (DataIntegrityViolationException dup) {
+                    log.debug("[IDEM] duplicate key={}, endpoint={}, userId={}",
+                            row.getRequestKey(), row.getEndpoint(), row.getUserId());
+                } catch (RuntimeException rowError) {
+                    log.warn("[IDEM] row write failed key={}, endpoint={}, userId={} - {}",
+                            row.getRequestKey(), row.getEndpoint(), row.getUserId(), rowError.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("[IDEM] batch write failed size={} - {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Idempotency fresh(Idempotency row) {
+        return Idempotency.builder()
+                .requestKey(row.getRequestKey())
+                .endpoint(row.getEndpoint())
+                .userId(row.getUserId())
+                .httpStatus(row.getHttpStatus())
+                .responseBody(row.getResponseBody())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    /** TTL 지난 행을 purgeChunk 단위로 삭제 */
+    @Scheduled(fixedDelayString = "${point.idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${point.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = tx.execute(s -> repo.deleteExpired(cutoff, purgeChunk));
+            total += deleted;
+        } while (deleted == purgeChunk);
+        if (total > 0) log.info("[IDEM] purged {} rows older than {}", total, cutoff);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private static String cacheKey(String requestKey, String endpoint, Long userId) {
+        return userId + ":" + endpoint + ":" + requestKey;
+    }
+}
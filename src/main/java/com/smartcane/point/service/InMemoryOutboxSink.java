@@ -0,0 +1,19 @@
+package com.smartcane.point.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 테스트/로컬용: 전달된 메시지를 메모리에 보관 (point.outbox.sink=in-memory) */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> messages = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        messages.addAll(batch);
+    }
+
+    public synchronized List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+}
@@ -0,0 +1,24 @@
+package com.smartcane.point.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * 프로세스 내 무효화 채널 (테스트/로컬용 stand-in)
+ * - 같은 인스턴스를 구독한 캐시들을 서로 다른 노드처럼 동작시킨다
+ */
+public class InMemoryWalletInvalidationBus implements WalletInvalidationBus {
+
+    private final List<BiConsumer<Long, Long>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Long userId, long version) {
+        for (BiConsumer<Long, Long> l : listeners) l.accept(userId, version);
+    }
+
+    @Override
+    public void subscribe(BiConsumer<Long, Long> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,410 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 원장 보관 파일: 블록 단위 열 저장 + Deflate 압축
+ * - 파일: MAGIC | 사전(type/status 이름) | 블록... | 블록 인덱스 | 인덱스 위치(8) | MAGIC
+ * - 블록: 최대 block-rows 행을 열별로 모아 한 번에 압축 (userId/id/createdAt은 zigzag 델타 varint,
+ *   type/status는 사전 번호, 문자열은 길이+UTF-8) → 같은 열의 비슷한 값이 붙어 행 단위 텍스트보다 작음
+ * - 인덱스: 블록별 (minUserId, maxUserId, 위치, 길이, 행 수, CRC32) → 사용자 조회는 해당 블록만 읽고 CRC 확인
+ * - 행 순서는 (userId, createdAt, id): 한 사용자의 행이 연속된 블록에 모임
+ * - enum 순서가 바뀌어도 읽히도록 type/status는 쓸 때의 이름 사전을 파일에 함께 저장
+ */
+final class LedgerArchiveFile {
+
+    private static final int MAGIC = 0x504C4131;   // "PLA1"
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    record Row(long userId, long id, String type, long amount, String orderId, String requestId,
+               String status, String memo, Instant createdAt) {}
+
+    /** 파일 전체 집계 (DB 집계와 비교해 검증) */
+    record Summary(long rows, long amountSum, long idSum, long bytes, String sha256) {}
+
+    private record Block(long minUserId, long maxUserId, long offset, int length, int rawLength, int rows, long crc32) {}
+
+    private LedgerArchiveFile() {}
+
+    /** (userId, createdAt, id) 순서로 add → finish */
+    static final class Writer implements Closeable {
+        private final MessageDigest digest = sha256();
+        private final OutputStream out;
+        private final int blockRows;
+        private final Map<String, Integer> types = dictionary(names(LedgerType.values()));
+        private final Map<String, Integer> statuses = dictionary(names(LedgerStatus.values()));
+        private final List<Row> pending = new ArrayList<>();
+        private final List<Block> blocks = new ArrayList<>();
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private long position;
+        private long rows;
+        private long amountSum;
+        private long idSum;
+        private long lastUserId = Long.MIN_VALUE;
+
+        Writer(Path path, int blockRows) throws IOException {
+            this.out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)), digest);
+            this.blockRows = blockRows;
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream h = new DataOutputStream(header);
+            h.writeInt(MAGIC);
+            writeNames(h, types);
+            writeNames(h, statuses);
+            write(header.toByteArray());
+        }
+
+        void add(Row r) throws IOException {
+            if (r.userId() < lastUserId) throw new IllegalStateException("rows must be ordered by userId");
+            lastUserId = r.userId();
+            pending.add(r);
+            rows++;
+            amountSum += r.amount();
+            idSum += r.id();
+            if (pending.size() >= blockRows) flushBlock();
+        }
+
+        Summary finish() throws IOException {
+            flushBlock();
+            long indexOffset = position;
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream d = new DataOutputStream(index);
+            d.writeInt(blocks.size());
+            for (Block b : blocks) {
+                d.writeLong(b.minUserId());
+                d.writeLong(b.maxUserId());
+                d.writeLong(b.offset());
+                d.writeInt(b.length());
+                d.writeInt(b.rawLength());
+                d.writeInt(b.rows());
+                d.writeLong(b.crc32());
+            }
+            d.writeLong(indexOffset);
+            d.writeInt(MAGIC);
+            write(index.toByteArray());
+            close();
+            return new Summary(rows, amountSum, idSum, position, HexFormat.of().formatHex(digest.digest()));
+        }
+
+        private void flushBlock() throws IOException {
+            if (pending.isEmpty()) return;
+            Columns c = new Columns();
+            long prevUser = 0, prevId = 0, prevTime = 0;
+            for (Row r : pending) {
+                long micros = micros(r.createdAt());
+                putZigZag(c.users, r.userId() - prevUser);
+                putZigZag(c.ids, r.id() - prevId);
+                putZigZag(c.times, micros - prevTime);
+                putVarLong(c.amounts, r.amount());
+                c.kinds.write(code(types, r.type()));
+                c.kinds.write(code(statuses, r.status()));
+                putString(c.orderIds, r.orderId());
+                putString(c.requestIds, r.requestId());
+                putString(c.memos, r.memo());
+                prevUser = r.userId();
+                prevId = r.id();
+                prevTime = micros;
+            }
+            byte[] raw = c.toBytes();
+            byte[] compressed = deflate(raw);
+            CRC32 crc = new CRC32();
+            crc.update(compressed);
+            blocks.add(new Block(pending.get(0).userId(), pending.get(pending.size() - 1).userId(),
+                    position, compressed.length, raw.length, pending.size(), crc.getValue()));
+            write(compressed);
+            pending.clear();
+        }
+
+        private byte[] deflate(byte[] raw) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                buf.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return buf.toByteArray();
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    /** 파일 바이트 전체 sha256 + 모든 블록 CRC/집계 재계산 */
+    static Summary verify(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        long[] totals = new long[3];
+        scan(path, null, r -> {
+            totals[0]++;
+            totals[1] += r.amount();
+            totals[2] += r.id();
+        });
+        return new Summary(totals[0], totals[1], totals[2], Files.size(path), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /** userId가 null이면 전체, 아니면 해당 사용자 행만 (createdAt, id) 오름차순 */
+    static void scan(Path path, Long userId, Consumer<Row> consumer) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            DataInputStream trailer = new DataInputStream(new ByteArrayInputStream(read(ch, size - TRAILER_BYTES, TRAILER_BYTES)));
+            long indexOffset = trailer.readLong();
+            if (trailer.readInt() != MAGIC) throw new IOException("not a ledger archive: " + path);
+
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    read(ch, indexOffset, Math.toIntExact(size - TRAILER_BYTES - indexOffset))));
+            List<Block> blocks = new ArrayList<>();
+            for (int i = index.readInt(); i > 0; i--) {
+                blocks.add(new Block(index.readLong(), index.readLong(), index.readLong(),
+                        index.readInt(), index.readInt(), index.readInt(), index.readLong()));
+            }
+
+            long headerEnd = blocks.isEmpty() ? indexOffset : blocks.get(0).offset();
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(ch, 0, Math.toIntExact(headerEnd))));
+            if (header.readInt() != MAGIC) throw new IOException("not a ledger archive: " + path);
+            String[] types = readNames(header);
+            String[] statuses = readNames(header);
+
+            Inflater inflater = new Inflater();
+            try {
+                for (Block b : blocks) {
+                    if (userId != null && (userId < b.minUserId() || userId > b.maxUserId())) continue;
+                    byte[] compressed = read(ch, b.offset(), b.length());
+                    CRC32 crc = new CRC32();
+                    crc.update(compressed);
+                    if (crc.getValue() != b.crc32()) throw new IOException("block checksum mismatch at " + b.offset() + ": " + path);
+                    decode(inflate(inflater, compressed, b.rawLength()), b.rows(), types, statuses, userId, consumer);
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void decode(byte[] raw, int rows, String[] types, String[] statuses, Long userId, Consumer<Row> consumer) {
+        Cursor in = new Cursor(raw);
+        Cursor users = in.column(), ids = in.column(), times = in.column(), amounts = in.column(),
+                kinds = in.column(), orderIds = in.column(), requestIds = in.column(), memos = in.column();
+        long user = 0, id = 0, time = 0;
+        for (int i = 0; i < rows; i++) {
+            user += users.zigZag();
+            id += ids.zigZag();
+            time += times.zigZag();
+            long amount = amounts.varLong();
+            String type = types[kinds.next()];
+            String status = statuses[kinds.next()];
+            String orderId = orderIds.string();
+            String requestId = requestIds.string();
+            String memo = memos.string();
+            if (userId == null || userId == user) {
+                consumer.accept(new Row(user, id, type, amount, orderId, requestId, status, memo, instant(time)));
+            }
+        }
+    }
+
+    private static byte[] inflate(Inflater inflater, byte[] compressed, int rawLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] raw = new byte[rawLength];
+        try {
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                n += inflater.inflate(raw, n, rawLength - n);
+            }
+            if (n != rawLength) throw new IOException("truncated block");
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        }
+        return raw;
+    }
+
+    private static byte[] read(FileChannel ch, long offset, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, offset + buf.position()) < 0) throw new IOException("unexpected end of archive");
+        }
+        return buf.array();
+    }
+
+    /** 블록 안 열 버퍼: 순서대로 (길이 varint + 바이트) */
+    private static final class Columns {
+        final ByteArrayOutputStream users = new ByteArrayOutputStream();
+        final ByteArrayOutputStream ids = new ByteArrayOutputStream();
+        final ByteArrayOutputStream times = new ByteArrayOutputStream();
+        final ByteArrayOutputStream amounts = new ByteArrayOutputStream();
+        final ByteArrayOutputStream kinds = new ByteArrayOutputStream();
+        final ByteArrayOutputStream orderIds = new ByteArrayOutputStream();
+        final ByteArrayOutputStream requestIds = new ByteArrayOutputStream();
+        final ByteArrayOutputStream memos = new ByteArrayOutputStream();
+
+        byte[] toBytes() {
+            ByteArrayOutputStream all = new ByteArrayOutputStream();
+            for (ByteArrayOutputStream col : List.of(users, ids, times, amounts, kinds, orderIds, requestIds, memos)) {
+                putVarLong(all, col.size());
+                all.writeBytes(col.toByteArray());
+            }
+            return all.toByteArray();
+        }
+    }
+
+    private static final class Cursor {
+        final byte[] buf;
+        int pos;
+        final int end;
+
+        Cursor(byte[] buf) { this(buf, 0, buf.length); }
+
+        Cursor(byte[] buf, int pos, int end) {
+            this.buf = buf;
+            this.pos = pos;
+            this.end = end;
+        }
+
+        Cursor column() {
+            int len = Math.toIntExact(varLong());
+            Cursor c = new Cursor(buf, pos, pos + len);
+            pos += len;
+            return c;
+        }
+
+        int next() {
+            if (pos >= end) throw new IllegalStateException("corrupt block");
+            return buf[pos++] & 0xFF;
+        }
+
+        long varLong() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = next();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+        }
+
+        long zigZag() {
+            long v = varLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string() {
+            int len = Math.toIntExact(varLong());
+            if (len == 0) return null;
+            String s = new String(buf, pos, len - 1, StandardCharsets.UTF_8);
+            pos += len - 1;
+            return s;
+        }
+    }
+
+    private static void putVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static void putZigZag(ByteArrayOutputStream out, long v) {
+        putVarLong(out, (v << 1) ^ (v >> 63));
+    }
+
+    /** null은 0, 그 외 길이+1 */
+    private static void putString(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        putVarLong(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static long micros(Instant t) {
+        return Math.addExact(Math.multiplyExact(t.getEpochSecond(), 1_000_000L), t.getNano() / 1_000);
+    }
+
+    private static Instant instant(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static int code(Map<String, Integer> dictionary, String name) {
+        Integer code = dictionary.get(name);
+        if (code == null) throw new IllegalArgumentException("unknown ledger code: " + name);
+        return code;
+    }
+
+    private static String[] names(Enum<?>[] values) {
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) names[i] = values[i].name();
+        return names;
+    }
+
+    private static Map<String, Integer> dictionary(String[] names) {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < names.length; i++) map.put(names[i], i);
+        return map;
+    }
+
+    private static void writeNames(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        String[] names = new String[dictionary.size()];
+        dictionary.forEach((name, code) -> names[code] = name);
+        out.writeByte(names.length);
+        for (String n : names) out.writeUTF(n);
+    }
+
+    private static String[] readNames(DataInputStream in) throws IOException {
+        String[] names = new String[in.readUnsignedByte()];
+        for (int i = 0; i < names.length; i++) names[i] = in.readUTF();
+        return names;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.LedgerEntryResponse;
+import com.smartcane.point.entity.LedgerArchive;
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.repository.LedgerArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 보관 파일에서 원장 읽기 (이력/시점 잔액이 DB에 없는 오래된 구간을 투명하게 이어서 조회)
+ * - horizon = 보관된 구간의 최대 rangeEnd: 그 이전 원장은 파일에만 있고(보관이 오래된 순서로만 진행),
+ *   DROP 직전까지 DB에 남아 있는 같은 구간 행은 호출자가 horizon 기준으로 걸러 중복을 막음
+ * - 목록(ledger_archive)은 작아서 메모리에 두고 주기적으로 갱신 (다른 노드의 보관 반영)
+ * - point.ledger.archive.dir는 여러 노드가 같은 파일을 보도록 공유 스토리지에 둠
+ */
+@Slf4j
+@Service
+public class LedgerArchiveReader {
+
+    /** 보관 구간 원장 합계 */
+    record Sum(long amount, Long lastLedgerId, long entries) {}
+
+    private final LedgerArchiveRepository archiveRepo;
+    private final Path dir;
+    private volatile List<LedgerArchive> archives;   // rangeEnd 내림차순
+
+    public LedgerArchiveReader(LedgerArchiveRepository archiveRepo,
+                               @Value("${point.ledger.archive.dir:ledger-archive}") String dir) {
+        this.archiveRepo = archiveRepo;
+        this.dir = Path.of(dir);
+    }
+
+    @Scheduled(fixedDelayString = "${point.ledger.archive.refresh-ms:60000}")
+    public void refresh() {
+        archives = archiveRepo.findAllByOrderByRangeEndDesc();
+    }
+
+    /** 이 시각 이전 원장은 보관 파일에만 있음 (보관 전이면 null) */
+    public Instant horizon() {
+        List<LedgerArchive> list = list();
+        return list.isEmpty() ? null : list.get(0).getRangeEnd();
+    }
+
+    /** (createdAt, id) < before 인 행 최신순 최대 limit개 (before가 null이면 보관 구간 최신부터) */
+    public List<LedgerEntryResponse> history(Long userId, Instant beforeCreatedAt, Long beforeId, int limit) {
+        List<LedgerEntryResponse> out = new ArrayList<>(Math.min(limit, 1024));
+        forEachDesc(userId, beforeCreatedAt, beforeId, e -> {
+            out.add(e);
+            return out.size() < limit;
+        });
+        return out;
+    }
+
+    /** 최신순으로 넘김, visitor가 false를 돌려주면 중단 */
+    public void forEachDesc(Long userId, Instant beforeCreatedAt, Long beforeId, Predicate<LedgerEntryResponse> visitor) {
+        for (LedgerArchive a : list()) {
+            if (beforeCreatedAt != null && a.getRangeStart() != null && beforeCreatedAt.isBefore(a.getRangeStart())) continue;
+            List<LedgerArchiveFile.Row> rows = read(a, userId);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                LedgerArchiveFile.Row r = rows.get(i);
+                if (beforeCreatedAt != null && !before(r, beforeCreatedAt, beforeId)) continue;
+                if (!visitor.test(toEntry(r))) return;
+            }
+        }
+    }
+
+    /** (from, to] 구간 SUCCESS 원장의 부호 반영 합 (from == null 이면 처음부터) */
+    public Sum sum(Long userId, Instant from, Instant to) {
+        long amount = 0, entries = 0;
+        Long lastId = null;
+        for (LedgerArchive a : list()) {
+            if (from != null && !a.getRangeEnd().isAfter(from)) break;   // 이후 목록은 더 오래된 구간
+            if (a.getRangeStart() != null && a.getRangeStart().isAfter(to)) continue;
+            for (LedgerArchiveFile.Row r : read(a, userId)) {
+                if (from != null && !r.createdAt().isAfter(from)) continue;
+                if (r.createdAt().isAfter(to)) break;
+                if (!LedgerStatus.SUCCESS.name().equals(r.status())) continue;
+                amount += LedgerType.valueOf(r.type()).signed(r.amount());
+                entries++;
+                lastId = lastId == null ? r.id() : Math.max(lastId, r.id());
+            }
+        }
+        return new Sum(amount, lastId, entries);
+    }
+
+    Path resolve(String fileName) {
+        return dir.resolve(fileName);
+    }
+
+    private List<LedgerArchive> list() {
+        List<LedgerArchive> list = archives;
+        if (list == null) {
+            refresh();
+            list = archives;
+        }
+        return list;
+    }
+
+    /** 파일 한 개에서 사용자 행 (createdAt, id) 오름차순 */
+    private List<LedgerArchiveFile.Row> read(LedgerArchive a, Long userId) {
+        List<LedgerArchiveFile.Row> rows = new ArrayList<>();
+        try {
+            LedgerArchiveFile.scan(resolve(a.getFileName()), userId, rows::add);
+        } catch (IOException e) {
+            log.error("[ARCHIVE] read failed range={}, file={} - {}", a.getRangeName(), a.getFileName(), e.toString());
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static boolean before(LedgerArchiveFile.Row r, Instant createdAt, Long id) {
+        int c = r.createdAt().compareTo(createdAt);
+        return c < 0 || (c == 0 && id != null && r.id() < id);
+    }
+
+    private static LedgerEntryResponse toEntry(LedgerArchiveFile.Row r) {
+        return new LedgerEntryResponse(r.id(), LedgerType.valueOf(r.type()), r.amount(), r.orderId(), r.requestId(),
+                LedgerStatus.valueOf(r.status()), r.memo(), r.createdAt());
+    }
+}
@@ -0,0 +1,310 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.LedgerArchive;
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.repository.LedgerArchiveRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 원장 월 파티션 관리 + 닫힌 구간 보관
+ * 1) 앞으로 premake-months 개월 파티션을 pmax에서 미리 분할 (빈 pmax만 재구성 → 비용 없음)
+ * 2) retention-months 보다 오래된 구간을 오래된 순서로:
+ *    a. 구간에 원장이 있는 사용자 중 구간 끝 이후 스냅샷이 없는 사용자 스냅샷 생성
+ *       → 대사/시점 잔액은 보관 이후에도 스냅샷 + DB 원장으로 계산
+ *    b. (userId, createdAt, id) 순으로 스트리밍해 임시 파일에 쓰고, DB 집계(건수/금액 합/id 합)와
+ *       파일을 다시 읽은 집계·sha256이 모두 같을 때만 파일 확정 + ledger_archive 기록
+ *    c. DROP PARTITION (partitioned=false면 구간 DELETE)
+ *    중간에 멈추면 다음 실행이 같은 구간부터 다시 (기록이 있으면 b를 건너뛰고 c만)
+ * - 멱등 재요청 확인은 DB 원장만 보므로 보관 기간은 멱등키 유효기간보다 충분히 길게 둠
+ */
+@Slf4j
+@Service
+public class LedgerArchiveService {
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'point_ledger' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+    private static final String MAX_PARTITION = "pmax";
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String RANGE_FILTER = "l.createdAt < :to";
+    private static final String RANGE_FILTER_FROM = "l.createdAt >= :from and l.createdAt < :to";
+    private static final int USER_PAGE = 1000;
+
+    /** [from, to) 구간 (from == null: 하한 없음) */
+    record Range(String name, Instant from, Instant to) {}
+
+    private final LedgerArchiveRepository archiveRepo;
+    private final LedgerArchiveReader reader;
+    private final WalletSnapshotService snapshots;
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean partitioned;
+    private final ZoneId zone;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final int blockRows;
+    private final int fetchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LedgerArchiveService(LedgerArchiveRepository archiveRepo,
+                                LedgerArchiveReader reader,
+                                WalletSnapshotService snapshots,
+                                EntityManager em,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager txManager,
+                                @Value("${point.ledger.archive.partitioned:true}") boolean partitioned,
+                                @Value("${point.ledger.archive.zone:Asia/Seoul}") String zone,
+                                @Value("${point.ledger.archive.retention-months:13}") int retentionMonths,
+                                @Value("${point.ledger.archive.premake-months:3}") int premakeMonths,
+                                @Value("${point.ledger.archive.block-rows:4096}") int blockRows,
+                                @Value("${point.ledger.archive.fetch-size:1000}") int fetchSize) {
+        this.archiveRepo = archiveRepo;
+        this.reader = reader;
+        this.snapshots = snapshots;
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(txManager);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.partitioned = partitioned;
+        this.zone = ZoneId.of(zone);
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+        this.blockRows = blockRows;
+        this.fetchSize = fetchSize;
+    }
+
+    @Scheduled(cron = "${point.ledger.archive.cron:-}")
+    public void scheduled() {
+        archive();
+    }
+
+    /** 파티션 유지 + 보관 대상 구간 전부 처리, 반환: 이번에 보관한 구간 */
+    public List<LedgerArchive> archive() {
+        if (!running.compareAndSet(false, true)) return List.of();
+        try {
+            if (partitioned) premakePartitions();
+            Instant cutoff = YearMonth.now(zone).minusMonths(retentionMonths).atDay(1).atStartOfDay(zone).toInstant();
+            List<LedgerArchive> archived = new ArrayList<>();
+            for (Range r : closedRanges(cutoff)) {
+                LedgerArchive a = archiveRange(r);
+                if (a != null) archived.add(a);
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private LedgerArchive archiveRange(Range r) {
+        long t0 = System.nanoTime();
+        LedgerArchive archive = archiveRepo.findByRangeName(r.name()).orElse(null);
+        if (archive == null) {
+            snapshotUsers(r);
+            archive = export(r);
+            if (archive != null) {
+                archive = archiveRepo.save(archive);
+                reader.refresh();
+            }
+        }
+        drop(r);
+        if (archive != null) {
+            log.info("[ARCHIVE] range={} [{}, {}) rows={}, bytes={}, file={}, elapsedMs={}", r.name(), r.from(), r.to(),
+                    archive.getRowCount(), archive.getBytes(), archive.getFileName(), (System.nanoTime() - t0) / 1_000_000);
+        }
+        return archive;
+    }
+
+    /** 구간 원장 → 임시 파일 → 검증 → 확정 파일. 빈 구간이면 null */
+    private LedgerArchive export(Range r) {
+        String fileName = "point_ledger-" + r.name() + ".pla";
+        Path file = reader.resolve(fileName);
+        Path tmp = reader.resolve(fileName + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            LedgerArchiveFile.Summary written;
+            try (LedgerArchiveFile.Writer writer = new LedgerArchiveFile.Writer(tmp, blockRows)) {
+                readOnlyTx.executeWithoutResult(s -> {
+                    try (Stream<Object[]> rows = rangeQuery(r,
+                            "select l.userId, l.id, l.type, l.amount, l.orderId, l.requestId, l.status, l.memo, l.createdAt " +
+                            "from PointLedger l where %s order by l.userId, l.createdAt, l.id", Object[].class)
+                            .setHint("org.hibernate.fetchSize", fetchSize)
+                            .setHint("org.hibernate.readOnly", true)
+                            .getResultStream()) {
+                        rows.forEach(row -> add(writer, row));
+                    }
+                });
+                written = writer.finish();
+            }
+            if (written.rows() == 0) {
+                Files.deleteIfExists(tmp);
+                return null;
+            }
+
+            Object[] db = readOnlyTx.execute(s -> rangeQuery(r,
+                    "select count(l), coalesce(sum(l.amount), 0), coalesce(sum(l.id), 0) from PointLedger l where %s",
+                    Object[].class).getSingleResult());
+            LedgerArchiveFile.Summary reread = LedgerArchiveFile.verify(tmp);
+            if (written.rows() != ((Number) db[0]).longValue()
+                    || written.amountSum() != ((Number) db[1]).longValue()
+                    || written.idSum() != ((Number) db[2]).longValue()
+                    || !written.equals(reread)) {
+                throw new IllegalStateException("archive verification failed range=" + r.name()
+                        + " db=" + List.of(db) + " written=" + written + " reread=" + reread);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return LedgerArchive.builder()
+                    .rangeName(r.name())
+                    .rangeStart(r.from())
+                    .rangeEnd(r.to())
+                    .fileName(fileName)
+                    .rowCount(written.rows())
+                    .amountSum(written.amountSum())
+                    .bytes(written.bytes())
+                    .sha256(written.sha256())
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void add(LedgerArchiveFile.Writer writer, Object[] row) {
+        try {
+            writer.add(new LedgerArchiveFile.Row((Long) row[0], (Long) row[1], ((LedgerType) row[2]).name(),
+                    (Long) row[3], (String) row[4], (String) row[5], ((LedgerStatus) row[6]).name(),
+                    (String) row[7], (Instant) row[8]));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 구간 끝 이후 스냅샷이 없는 사용자 → 스냅샷 (asOf = 지금 - settle-lag > 구간 끝) */
+    private void snapshotUsers(Range r) {
+        long after = Long.MIN_VALUE;
+        long users = 0;
+        while (true) {
+            long cursor = after;
+            List<Long> page = readOnlyTx.execute(s -> rangeQuery(r,
+                    "select distinct l.userId from PointLedger l where %s and l.userId > :after " +
+                    "and not exists (select 1 from WalletSnapshot ws where ws.userId = l.userId and ws.asOf >= :to) " +
+                    "order by l.userId", Long.class)
+                    .setParameter("after", cursor)
+                    .setMaxResults(USER_PAGE)
+                    .getResultList());
+            page.forEach(snapshots::snapshot);
+            users += page.size();
+            if (page.size() < USER_PAGE) break;
+            after = page.get(page.size() - 1);
+        }
+        if (users > 0) log.info("[ARCHIVE] range={} snapshots={}", r.name(), users);
+    }
+
+    private void drop(Range r) {
+        if (partitioned) {
+            if (!PARTITION_NAME.matcher(r.name()).matches()) throw new IllegalStateException("bad partition " + r.name());
+            jdbcTemplate.execute("ALTER TABLE point_ledger DROP PARTITION " + r.name());
+        } else {
+            int deleted = tx.execute(s -> bind(em.createQuery(jpql(r, "delete from PointLedger l where %s")), r)
+                    .executeUpdate());
+            log.debug("[ARCHIVE] range={} deleted={}", r.name(), deleted);
+        }
+    }
+
+    private <T> TypedQuery<T> rangeQuery(Range r, String jpql, Class<T> type) {
+        return bind(em.createQuery(jpql(r, jpql), type), r);
+    }
+
+    private static String jpql(Range r, String jpql) {
+        return jpql.formatted(r.from() == null ? RANGE_FILTER : RANGE_FILTER_FROM);
+    }
+
+    private static <Q extends Query> Q bind(Q query, Range r) {
+        query.setParameter("to", r.to());
+        if (r.from() != null) query.setParameter("from", r.from());
+        return query;
+    }
+
+    /** 보관 대상: 상한이 cutoff 이하인 구간 (오래된 순) */
+    private List<Range> closedRanges(Instant cutoff) {
+        List<Range> ranges = new ArrayList<>();
+        if (partitioned) {
+            Instant from = null;
+            for (Range p : partitions()) {
+                if (p.to() == null || p.to().isAfter(cutoff)) break;
+                ranges.add(new Range(p.name(), from, p.to()));
+                from = p.to();
+            }
+            return ranges;
+        }
+        // 파티션 없는 DB(개발/테스트): 가장 오래된 원장의 달부터 월 단위 구간
+        Instant oldest = readOnlyTx.execute(s -> em.createQuery("select min(l.createdAt) from PointLedger l", Instant.class)
+                .getSingleResult());
+        if (oldest == null) return ranges;
+        for (YearMonth m = YearMonth.from(oldest.atZone(zone)); ; m = m.plusMonths(1)) {
+            Instant to = m.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant();
+            if (to.isAfter(cutoff)) break;
+            ranges.add(new Range("m" + m.format(MONTH), m.atDay(1).atStartOfDay(zone).toInstant(), to));
+        }
+        return ranges;
+    }
+
+    /** 현재 파티션 (to == null: MAXVALUE) */
+    private List<Range> partitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, i) -> {
+            String bound = rs.getString(2);
+            return new Range(rs.getString(1), null,
+                    "MAXVALUE".equalsIgnoreCase(bound) ? null : Instant.ofEpochSecond(Long.parseLong(bound)));
+        });
+    }
+
+    /** pmax 앞에 premake-months 개월 뒤까지 월 파티션 추가 */
+    private void premakePartitions() {
+        List<Range> parts = partitions();
+        Instant last = parts.stream().map(Range::to).filter(t -> t != null).reduce((a, b) -> b).orElse(null);
+        if (last == null || parts.stream().noneMatch(p -> MAX_PARTITION.equals(p.name()))) {
+            log.warn("[ARCHIVE] point_ledger is not partitioned as expected, skip premake");
+            return;
+        }
+        Instant until = YearMonth.now(zone).plusMonths(premakeMonths + 1).atDay(1).atStartOfDay(zone).toInstant();
+        StringBuilder ddl = new StringBuilder();
+        for (ZonedDateTime start = last.atZone(zone); start.toInstant().isBefore(until); start = start.plusMonths(1)) {
+            Instant end = start.plusMonths(1).toInstant();
+            ddl.append("PARTITION p").append(MONTH.format(start)).append(" VALUES LESS THAN (")
+                    .append(end.getEpochSecond()).append("), ");
+        }
+        if (ddl.isEmpty()) return;
+        jdbcTemplate.execute("ALTER TABLE point_ledger REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                + ddl + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        log.info("[ARCHIVE] partitions added until {}", until);
+    }
+}
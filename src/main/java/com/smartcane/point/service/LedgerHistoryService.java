@@ -0,0 +1,203 @@
+package com.smartcane.point.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcane.point.dto.LedgerEntryResponse;
+import com.smartcane.point.dto.LedgerPageResponse;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PointLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * 포인트 원장 이력 조회
+ * - 페이지: (createdAt DESC, id DESC) 키셋 페이지네이션, 커서는 마지막 행의 (createdAt, id)
+ * - 내보내기: 읽기 전용/순방향 JDBC 커서에서 한 행씩 NDJSON으로 바로 씀 → 행 수와 무관한 힙 사용량
+ *   (MySQL은 useCursorFetch=true + fetchSize로 서버 커서 사용, 엔티티/DTO를 만들지 않음)
+ * - 보관 horizon 이전 구간은 LedgerArchiveReader로 이어서 읽음 (DB → 보관 파일 순, 같은 정렬/커서)
+ */
+@Slf4j
+@Service
+public class LedgerHistoryService {
+
+    private static final String EXPORT_SQL =
+            "SELECT id, type, amount, order_id, request_id, status, memo, created_at FROM point_ledger " +
+            "WHERE user_id = ? ORDER BY created_at DESC, id DESC";
+    // 재개 위치의 created_at은 DB 값을 그대로 사용 (드라이버/방언별 TIMESTAMP 바인딩 시간대 차이 회피)
+    private static final String EXPORT_BEFORE_SQL =
+            "SELECT id, type, amount, order_id, request_id, status, memo, created_at FROM point_ledger " +
+            "WHERE user_id = ? AND (created_at < (SELECT created_at FROM point_ledger WHERE id = ?) " +
+            "OR (created_at = (SELECT created_at FROM point_ledger WHERE id = ?) AND id < ?)) " +
+            "ORDER BY created_at DESC, id DESC";
+    private static final int FLUSH_EVERY = 1000;
+
+    private final PointLedgerRepository ledgerRepo;
+    private final ReplicaReads reads;
+    private final LedgerArchiveReader archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int exportFetchSize;
+    private final TimeZone jdbcTimeZone;
+
+    public LedgerHistoryService(PointLedgerRepository ledgerRepo,
+                                ReplicaReads reads,
+                                LedgerArchiveReader archive,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${point.ledger.export.fetch-size:500}") int exportFetchSize,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String jdbcTimeZone) {
+        this.ledgerRepo = ledgerRepo;
+        this.reads = reads;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.exportFetchSize = exportFetchSize;
+        this.jdbcTimeZone = TimeZone.getTimeZone(jdbcTimeZone); // Hibernate와 같은 기준으로 TIMESTAMP 해석
+    }
+
+    public LedgerPageResponse page(Long userId, String cursor, int size) {
+        return reads.read(userId, () -> readPage(userId, cursor, size));
+    }
+
+    private LedgerPageResponse readPage(Long userId, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);   // 한 행 더 읽어 다음 페이지 존재 여부 판단
+        Cursor c = Cursor.decode(cursor);
+        Instant horizon = archive.horizon();
+        List<LedgerEntryResponse> rows = new ArrayList<>(size + 1);
+        if (horizon == null || c == null || !c.createdAt().isBefore(horizon)) {
+            for (LedgerEntryResponse r : c == null
+                    ? ledgerRepo.findHistory(userId, limit)
+                    : ledgerRepo.findHistoryBefore(userId, c.createdAt(), c.id(), limit)) {
+                if (horizon == null || !r.createdAt().isBefore(horizon)) rows.add(r);   // DROP 전 보관 구간 행 제외
+            }
+        }
+        if (horizon != null && rows.size() <= size) {
+            boolean inArchive = c != null && c.createdAt().isBefore(horizon);
+            rows.addAll(archive.history(userId, inArchive ? c.createdAt() : null, inArchive ? c.id() : null,
+                    size + 1 - rows.size()));
+        }
+
+        if (rows.size() <= size) return new LedgerPageResponse(rows, null);
+        List<LedgerEntryResponse> items = rows.subList(0, size);
+        LedgerEntryResponse last = items.get(size - 1);
+        return new LedgerPageResponse(items, new Cursor(last.createdAt(), last.id()).encode());
+    }
+
+    /** cursor가 있으면 해당 위치 이후부터 끝까지 (중단된 내보내기 재개용). 반환: 쓴 행 수 */
+    public long export(Long userId, String cursor, OutputStream out) {
+        return reads.read(userId, () -> writeExport(userId, cursor, out));
+    }
+
+    private long writeExport(Long userId, String cursor, OutputStream out) {
+        Cursor c = Cursor.decode(cursor);
+        Instant horizon = archive.horizon();
+        boolean inArchive = horizon != null && c != null && c.createdAt().isBefore(horizon);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);   // 기본 구분자(공백) 대신 줄바꿈을 직접 씀
+            RowWriter writer = new RowWriter(gen, horizon);
+            if (!inArchive) jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(c == null ? EXPORT_SQL : EXPORT_BEFORE_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(exportFetchSize);
+                ps.setLong(1, userId);
+                if (c != null) {
+                    ps.setLong(2, c.id());
+                    ps.setLong(3, c.id());
+                    ps.setLong(4, c.id());
+                }
+                return ps;
+            }, writer::write);
+            if (horizon != null) {
+                archive.forEachDesc(userId, inArchive ? c.createdAt() : null, inArchive ? c.id() : null, e -> {
+                    writer.writeEntry(e.id(), e.type().name(), e.amount(), e.orderId(), e.requestId(), e.status().name(),
+                            e.memo(), e.createdAt());
+                    return true;
+                });
+            }
+            gen.flush();
+            log.info("[LEDGER] export userId={}, rows={}", userId, writer.rows);
+            return writer.rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** ResultSet 한 행 → NDJSON 한 줄 (LedgerEntryResponse와 같은 필드) */
+    private final class RowWriter {
+        final JsonGenerator gen;
+        final Instant horizon;
+        final Calendar calendar = Calendar.getInstance(jdbcTimeZone);
+        long rows;
+
+        RowWriter(JsonGenerator gen, Instant horizon) {
+            this.gen = gen;
+            this.horizon = horizon;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            Instant createdAt = rs.getTimestamp(8, calendar).toInstant();
+            if (horizon != null && createdAt.isBefore(horizon)) return;   // 보관 파일에서 씀
+            writeEntry(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getString(5),
+                    rs.getString(6), rs.getString(7), createdAt);
+        }
+
+        void writeEntry(long id, String type, long amount, String orderId, String requestId, String status,
+                        String memo, Instant createdAt) {
+            try {
+                gen.writeStartObject();
+                gen.writeNumberField("id", id);
+                gen.writeStringField("type", type);
+                gen.writeNumberField("amount", amount);
+                gen.writeStringField("orderId", orderId);
+                gen.writeStringField("requestId", requestId);
+                gen.writeStringField("status", status);
+                gen.writeStringField("memo", memo);
+                gen.writeStringField("createdAt", createdAt.toString());
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+                if (++rows % FLUSH_EVERY == 0) gen.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);   // 클라이언트 연결 종료 → 커서 닫고 중단
+            }
+        }
+    }
+
+    /** 불투명 커서: base64url("createdAt|id") */
+    record Cursor(Instant createdAt, long id) {
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new BusinessException("INVALID_CURSOR");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
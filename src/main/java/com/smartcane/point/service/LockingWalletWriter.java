@@ -0,0 +1,62 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointLedgerRepository;
+import com.smartcane.point.repository.PointWalletRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 기존 방식: 요청마다 point_wallet 행을 SELECT ... FOR UPDATE 로 잠그고 변경
+ * (point.wallet.write-mode=locking)
+ */
+@Component
+@RequiredArgsConstructor
+public class LockingWalletWriter implements WalletWriter {
+
+    private final PointWalletRepository walletRepo;
+    private final PointLedgerRepository ledgerRepo;
+    private final PointMetrics metrics;
+    private final OutboxWriter outbox;
+    private final PointLotService lots;
+
+    @Override
+    @Transactional
+    public WalletMutationResult apply(WalletMutation m) {
+        WalletMutations.validate(m);
+
+        long t0 = System.nanoTime();
+        PointWallet wallet = walletRepo.lockByUserId(m.userId()).orElse(null);
+        metrics.lockWait(false, System.nanoTime() - t0);
+        if (wallet == null) {
+            if (m.type() != LedgerType.CHARGE) throw new NotFoundException("WALLET");
+            wallet = walletRepo.save(WalletMutations.newWallet(m.userId()));
+        }
+
+        // 멱등: 같은 requestId/type 원장이 있으면 현재 잔액으로 응답
+        if (m.requestId() != null) {
+            List<PointLedger> done = ledgerRepo.findByUserIdAndRequestIdIn(m.userId(), List.of(m.requestId()));
+            for (PointLedger l : done) {
+                if (l.getType() == m.type()) {
+                    return new WalletMutationResult(m.userId(), wallet.getBalance(), wallet.getVersion(), l.getId(), true);
+                }
+            }
+        }
+
+        PointLedger ledger = ledgerRepo.save(WalletMutations.applyTo(wallet, m));
+        walletRepo.flush();
+        lots.record(List.of(ledger));
+
+        WalletMutationResult result = new WalletMutationResult(
+                m.userId(), wallet.getBalance(), wallet.getVersion(), ledger.getId(), false);
+        if (outbox.enabled()) outbox.saveAll(List.of(outbox.ledgerAppended(ledger, result.balance(), result.version())));
+        if (m.inTransaction() != null) m.inTransaction().accept(result);
+        return result;
+    }
+}
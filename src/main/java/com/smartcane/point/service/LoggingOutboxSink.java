@@ -0,0 +1,20 @@
+package com.smartcane.point.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/** 기본 싱크: 브로커 싱크 빈이 등록되기 전까지 로그로만 남김 (point.outbox.sink=log) */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        if (log.isDebugEnabled()) {
+            for (OutboxMessage m : batch) {
+                log.debug("[OUTBOX] {} userId={}, seq={}, id={}, payload={}",
+                        m.eventType(), m.userId(), m.seq(), m.id(), m.payload());
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.AuthorizePaymentRequest;
+import com.smartcane.point.dto.CapturePaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.dto.ReservationResponse;
+import com.smartcane.point.dto.VoidPaymentRequest;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.enums.CancelReason;
+import com.smartcane.point.entity.enums.PaymentMethod;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PaymentRepository;
+import com.smartcane.point.service.PointMetrics.MixedStep;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 혼합결제(POINT+CARD) 오케스트레이터
+ * 1) 포인트 예약: ReservationService 홀드 (짧은 지갑 트랜잭션, 커밋 후 반환)
+ * 2) PG 승인: 트랜잭션/커넥션 없이 비동기 호출, 동시 호출 수는 point.pg.max-concurrency로 제한
+ * 3) 승인 → 예약 확정(카드 승인 번호 기록) / 거절·타임아웃·오류 → 예약 해제(PG_REJECT) 보상
+ * - 전체 흐름은 별도 가상 스레드에서 실행: 요청 스레드의 OSIV EntityManager를 쓰지 않아
+ *   PG 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않음
+ * - 보상 자체가 실패해도 홀드는 만료 스위퍼가 해제 (카드 승인 취소는 대사 대상)
+ */
+@Slf4j
+@Service
+public class MixedPaymentService {
+
+    private final ReservationService reservations;
+    private final PaymentRepository paymentRepo;
+    private final PgClient pg;
+    private final PointMetrics metrics;
+    private final Semaphore pgPermits;
+    private final long pgTimeoutNanos;
+    private final long acquireTimeoutNanos;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("mixed-pay-", 0).factory());
+
+    public MixedPaymentService(ReservationService reservations,
+                               PaymentRepository paymentRepo,
+                               PgClient pg,
+                               PointMetrics metrics,
+                               @Value("${point.pg.max-concurrency:32}") int maxConcurrency,
+                               @Value("${point.pg.timeout:PT3S}") Duration pgTimeout,
+                               @Value("${point.pg.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        this.reservations = reservations;
+        this.paymentRepo = paymentRepo;
+        this.pg = pg;
+        this.metrics = metrics;
+        this.pgPermits = new Semaphore(maxConcurrency, true);
+        this.pgTimeoutNanos = pgTimeout.toNanos();
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public PaymentResponse pay(Long userId, CreatePaymentRequest req) {
+        return pay(userId, req, RequestIds.orNext(req.requestId()));
+    }
+
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public PaymentResponse pay(Long userId, CreatePaymentRequest req, String requestId) {
+        if (req.cashAmount() <= 0) throw new BusinessException("INVALID_CASH_AMOUNT");
+        if (req.pointAmount() <= 0) throw new BusinessException("INVALID_POINT_AMOUNT");
+        if (req.pointAmount() + req.cashAmount() != req.totalAmount()) throw new BusinessException("AMOUNT_MISMATCH");
+
+        try {
+            return executor.submit(() -> orchestrate(userId, req, requestId)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("INTERRUPTED", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PaymentResponse orchestrate(Long userId, CreatePaymentRequest req, String requestId) {
+        String orderId = req.orderId();
+
+        // 1) 포인트 예약
+        long t0 = System.nanoTime();
+        ReservationService.Reserved reserved = reservations.reserve(userId,
+                new AuthorizePaymentRequest(req.totalAmount(), req.pointAmount(), orderId, requestId, null), requestId,
+                PaymentMethod.MIXED, req.cashAmount());
+        metrics.mixedStep(MixedStep.RESERVE, System.nanoTime() - t0);
+        if (!reserved.created()) {
+            // 같은 주문이 이미 진행 중/완료: PG를 다시 부르지 않고 현재 상태
+            log.info("[MIXED] idempotent orderId={}, userId={}, status={}", orderId, userId, reserved.response().status());
+            return response(orderId, reserved.response());
+        }
+
+        // 2) PG 승인 (트랜잭션 밖)
+        PgClient.Result result = approve(userId, orderId, req.cashAmount(), requestId);
+
+        // 3) 확정
+        long t2 = System.nanoTime();
+        ReservationResponse captured;
+        try {
+            captured = reservations.capture(userId, new CapturePaymentRequest(orderId, requestId), requestId, result.transactionId());
+        } catch (BusinessException e) {
+            // PG 응답을 기다리는 사이 예약이 만료/해제됨 → 카드 승인 취소
+            log.warn("[MIXED] capture failed after PG approval orderId={}, code={} → PG cancel", orderId, e.getMessage());
+            cancelCard(orderId, result.transactionId(), req.cashAmount());
+            throw e;
+        } finally {
+            metrics.mixedStep(MixedStep.CAPTURE, System.nanoTime() - t2);
+        }
+
+        log.info("[MIXED] CAPTURED orderId={}, userId={}, point={}, cash={}, tid={}",
+                orderId, userId, req.pointAmount(), req.cashAmount(), result.transactionId());
+        return new PaymentResponse(orderId, captured.status(), req.totalAmount(), req.pointAmount(),
+                req.cashAmount(), captured.walletBalance());
+    }
+
+    /** 승인된 결과만 반환, 그 외에는 예약을 해제하고 예외 */
+    private PgClient.Result approve(Long userId, String orderId, long cashAmount, String requestId) {
+        long t1 = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = pgPermits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                metrics.pgResult("busy");
+                throw compensate(userId, orderId, requestId, "PG_BUSY", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            PgClient.Result result = pg.approve(new PgClient.ApproveRequest(userId, orderId, cashAmount, requestId))
+                    .get(pgTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (!result.approved()) {
+                metrics.pgResult("declined");
+                log.info("[MIXED] PG declined orderId={}, code={}", orderId, result.code());
+                throw compensate(userId, orderId, requestId, "PG_DECLINED", HttpStatus.PAYMENT_REQUIRED);
+            }
+            metrics.pgResult("approved");
+            return result;
+        } catch (TimeoutException e) {
+            // 승인 여부를 모름 → 주문 기준 취소 요청 후 포인트 해제
+            metrics.pgResult("timeout");
+            cancelCard(orderId, null, cashAmount);
+            throw compensate(userId, orderId, requestId, "PG_TIMEOUT", HttpStatus.GATEWAY_TIMEOUT);
+        } catch (ExecutionException e) {
+            metrics.pgResult("error");
+            log.warn("[MIXED] PG error orderId={} - {}", orderId, e.getCause().toString());
+            throw compensate(userId, orderId, requestId, "PG_ERROR", HttpStatus.BAD_GATEWAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw compensate(userId, orderId, requestId, "INTERRUPTED", HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            if (acquired) pgPermits.release();
+            metrics.mixedStep(MixedStep.PG_APPROVE, System.nanoTime() - t1);
+        }
+    }
+
+    /** 포인트 예약 해제(PG_REJECT) 후 호출자에게 던질 예외를 돌려준다 */
+    private BusinessException compensate(Long userId, String orderId, String requestId, String code, HttpStatus status) {
+        long t0 = System.nanoTime();
+        try {
+            reservations.voidHold(userId, new VoidPaymentRequest(orderId, requestId, code), requestId, CancelReason.PG_REJECT);
+        } catch (RuntimeException e) {
+            // 홀드는 만료 시 스위퍼가 해제
+            log.error("[MIXED] compensation failed orderId={}, code={} - {}", orderId, code, e.toString());
+        } finally {
+            metrics.mixedStep(MixedStep.COMPENSATE, System.nanoTime() - t0);
+        }
+        return new BusinessException(code, status);
+    }
+
+    private void cancelCard(String orderId, String transactionId, long amount) {
+        pg.cancel(orderId, transactionId, amount).whenComplete((r, e) -> {
+            if (e != null || !r.approved()) {
+                log.error("[MIXED] PG cancel failed orderId={}, tid={} - {}", orderId, transactionId,
+                        e != null ? e.toString() : r.code());
+            }
+        });
+    }
+
+    private PaymentResponse response(String orderId, ReservationResponse r) {
+        Payment p = paymentRepo.findByOrderId(orderId).orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND"));
+        return new PaymentResponse(orderId, p.getStatus().name(), p.getTotalAmount(), p.getPointAmount(),
+                p.getCashAmount(), r.walletBalance());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartcane.point.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 새 orderId 판별용 블룸 필터 (결제/승인 경로의 findByOrderId 생략)
+ * - mightExist=false: 이 노드가 아는 한 없는 주문 → SELECT 없이 바로 생성 시도
+ *   다른 노드가 만든 주문/적재 전 주문은 uk_payment_order 위반으로 걸러지고 기존 중복 처리 경로를 탐
+ * - 오탐(true)은 지금처럼 DB 조회로 넘어감 / 누락(false negative)은 없음 (비트는 켜기만 함)
+ * - 기동 후 payment.order_id 전체를 백그라운드로 적재, 적재가 끝나기 전에는 항상 true (기존 동작)
+ * - 크기: expected-orders/fpp로 비트 수와 해시 수를 정함, 넣은 수가 expected-orders를 넘으면 경고
+ *   (오탐률만 올라가고 정확성은 그대로 → 재기동 전에 expected-orders를 늘림)
+ */
+@Slf4j
+@Component
+public class OrderIdFilter {
+
+    private static final String LOAD_SQL = "SELECT order_id FROM payment";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long expected;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicBoolean saturated = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public OrderIdFilter(JdbcTemplate jdbcTemplate,
+                         @Value("${point.payment.order-filter.enabled:true}") boolean enabled,
+                         @Value("${point.payment.order-filter.expected-orders:1000000}") long expected,
+                         @Value("${point.payment.order-filter.fpp:0.01}") double fpp) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expected = Math.max(1, expected);
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long m = enabled ? (long) Math.ceil(-this.expected * Math.log(fpp) / (Math.log(2) * Math.log(2))) : 64;
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / this.expected * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (!enabled) return;
+        Thread t = new Thread(this::load, "order-filter-load");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** 기존 주문 적재 (실패하면 필터를 쓰지 않고 계속 DB 조회) */
+    void load() {
+        long t0 = System.nanoTime();
+        try {
+            long[] n = {0};
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(10_000);   // MySQL은 useCursorFetch=true일 때 나눠 받음
+                return ps;
+            }, rs -> {
+                add(rs.getString(1));
+                n[0]++;
+            });
+            ready = true;
+            log.info("[ORDER-FILTER] loaded {} orderIds in {}ms (bits={}, hashes={})",
+                    n[0], (System.nanoTime() - t0) / 1_000_000, bitCount, hashes);
+        } catch (RuntimeException e) {
+            log.warn("[ORDER-FILTER] load failed, falling back to DB lookups - {}", e.toString());
+        }
+    }
+
+    /** false면 이 주문은 아직 없음 (적재 전/비활성이면 항상 true) */
+    public boolean mightExist(String orderId) {
+        if (!ready) return true;
+        long h1 = hash(orderId), h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** 주문 생성(또는 존재 확인) 시 호출 */
+    public void add(String orderId) {
+        if (!enabled || orderId == null) return;
+        long h1 = hash(orderId), h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long cur = bits.get(word);
+            while ((cur & mask) == 0 && !bits.compareAndSet(word, cur, cur | mask)) cur = bits.get(word);
+        }
+        if (inserted.incrementAndGet() > expected && saturated.compareAndSet(false, true)) {
+            log.warn("[ORDER-FILTER] more than {} orderIds inserted - false positive rate rising, "
+                    + "raise point.payment.order-filter.expected-orders", expected);
+        }
+    }
+
+    boolean ready() {
+        return ready;
+    }
+
+    // FNV-1a 64 + fmix64 (Murmur3 마무리 단계)로 비트 분산
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb53e87b7cb2bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
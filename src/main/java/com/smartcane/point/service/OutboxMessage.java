@@ -0,0 +1,19 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * 싱크로 전달되는 아웃박스 이벤트
+ * - 소비자는 (userId, seq, id)로 순서를 맞추고, 같은 id 재전달(at-least-once)은 무시하면 된다
+ */
+public record OutboxMessage(
+        long id, long userId, long seq, String aggregateType, String aggregateId,
+        String eventType, String payload, Instant createdAt
+) {
+    static OutboxMessage of(OutboxEvent e) {
+        return new OutboxMessage(e.getId(), e.getUserId(), e.getSeq(), e.getAggregateType(),
+                e.getAggregateId(), e.getEventType(), e.getPayload(), e.getCreatedAt());
+    }
+}
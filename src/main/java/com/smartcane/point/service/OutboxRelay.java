@@ -0,0 +1,252 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.OutboxCursor;
+import com.smartcane.point.entity.OutboxEvent;
+import com.smartcane.point.entity.OutboxLease;
+import com.smartcane.point.repository.OutboxCursorRepository;
+import com.smartcane.point.repository.OutboxEventRepository;
+import com.smartcane.point.repository.OutboxLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 아웃박스 릴레이: outbox_event를 id 순으로 읽어 OutboxSink로 전달하고, 전달한 행만 삭제
+ * - at-least-once: 전달 후 삭제 전에 죽거나 리스가 넘어가면 같은 이벤트를 다시 보냄 (소비자는 id로 중복 제거)
+ * - 리스: 모든 노드에서 켜져 있어도 outbox_lease를 가진 노드 하나만 전달 (lease-ttl, 1/3마다 연장, 종료 시 반납)
+ *   노드 간 시계 차이는 lease-ttl보다 충분히 작아야 함
+ * - 사용자별 순서: seq(지갑 총 버전) 순으로 전달하고 outbox_cursor에 마지막 seq를 남김
+ *   pooled 시퀀스라 노드마다 id 블록이 달라 id 순 ≠ 커밋 순 → 커서 + 1 보다 큰 seq는 빈 구간을
+ *   (user_id, seq) 인덱스로 찾아 함께 보내고, 없으면 그 사용자의 나머지 행을 보류
+ *   빈 seq가 끝내 오지 않는 경우(샤딩 지갑의 동시 쓰기/리밸런스, 롤백 없는 버전 증가)는 gap-timeout 후 전달
+ * - 적응형: 가득 찬 배치가 이어지면 배치 크기를 두 배로, 비어 있으면 대기 시간을 두 배로 (각각 최소/최대 사이)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "point.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Comparator<OutboxEvent> PER_USER_SEQ = Comparator
+            .comparingLong(OutboxEvent::getSeq)
+            .thenComparingLong(OutboxEvent::getId);
+
+    static final String LEASE = "relay";
+
+    private final OutboxEventRepository repo;
+    private final OutboxLeaseRepository leaseRepo;
+    private final OutboxCursorRepository cursorRepo;
+    private final OutboxSink sink;
+    private final TransactionTemplate tx;
+    private final PointMetrics metrics;
+    private final int minBatch;
+    private final int maxBatch;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Duration leaseTtl;
+    private final Duration gapTimeout;
+    private final String owner = RequestIds.next();
+
+    private volatile boolean running;
+    private Thread worker;
+    private int batchSize;
+    private long backoffNanos;
+    private boolean leader;
+    private long renewAtNanos;
+
+    public OutboxRelay(OutboxEventRepository repo,
+                       OutboxLeaseRepository leaseRepo,
+                       OutboxCursorRepository cursorRepo,
+                       OutboxSink sink,
+                       TransactionTemplate tx,
+                       PointMetrics metrics,
+                       @Value("${point.outbox.relay.min-batch:50}") int minBatch,
+                       @Value("${point.outbox.relay.max-batch:1000}") int maxBatch,
+                       @Value("${point.outbox.relay.min-backoff-ms:10}") long minBackoffMs,
+                       @Value("${point.outbox.relay.max-backoff-ms:1000}") long maxBackoffMs,
+                       @Value("${point.outbox.relay.lease-ttl:PT10S}") Duration leaseTtl,
+                       @Value("${point.outbox.relay.gap-timeout:PT5S}") Duration gapTimeout) {
+        this.repo = repo;
+        this.leaseRepo = leaseRepo;
+        this.cursorRepo = cursorRepo;
+        this.sink = sink;
+        this.tx = tx;
+        this.metrics = metrics;
+        this.minBatch = Math.max(1, minBatch);
+        this.maxBatch = Math.max(this.minBatch, maxBatch);
+        this.minBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, minBackoffMs));
+        this.maxBackoffNanos = Math.max(minBackoffNanos, TimeUnit.MILLISECONDS.toNanos(maxBackoffMs));
+        this.leaseTtl = leaseTtl;
+        this.gapTimeout = gapTimeout;
+        this.batchSize = this.minBatch;
+        this.backoffNanos = minBackoffNanos;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("outbox-relay").daemon().start(this::loop);
+        log.info("[OUTBOX] relay started sink={}, batch={}..{}, owner={}", sink.getClass().getSimpleName(), minBatch, maxBatch, owner);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!leader) return;
+        try {
+            tx.executeWithoutResult(s -> leaseRepo.release(LEASE, owner, Instant.now()));
+            leader = false;
+        } catch (RuntimeException e) {
+            log.warn("[OUTBOX] lease release failed (expires in {}) - {}", leaseTtl, e.toString());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loop() {
+        while (running) {
+            int drained;
+            try {
+                drained = drainOnce();
+            } catch (Exception e) {
+                // 싱크/DB 장애: 같은 배치를 다음에 다시 시도 (행은 지우지 않았음)
+                backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+                log.warn("[OUTBOX] relay failed, retry in {}ms - {}", TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.toString());
+                LockSupport.parkNanos(backoffNanos);
+                continue;
+            }
+            adapt(drained);
+            if (drained < batchSize) LockSupport.parkNanos(backoffNanos);   // 적체가 있으면 쉬지 않고 계속
+        }
+    }
+
+    /** 한 배치 전달 후 삭제. 반환: 전달한 이벤트 수 (리스가 없거나 모두 보류면 0) */
+    int drainOnce() throws Exception {
+        if (!lease()) return 0;
+        List<OutboxEvent> head = repo.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (head.isEmpty()) return 0;
+
+        Map<Long, List<OutboxEvent>> byUser = new LinkedHashMap<>();
+        for (OutboxEvent e : head) byUser.computeIfAbsent(e.getUserId(), u -> new ArrayList<>()).add(e);
+        Map<Long, Long> cursors = new HashMap<>();
+        for (OutboxCursor c : cursorRepo.findAllById(byUser.keySet())) cursors.put(c.getUserId(), c.getLastSeq());
+
+        Instant now = Instant.now();
+        Instant overdue = now.minus(gapTimeout);
+        List<OutboxEvent> deliver = new ArrayList<>();
+        Map<Long, Long> advanced = new HashMap<>();
+        for (Map.Entry<Long, List<OutboxEvent>> entry : byUser.entrySet()) {
+            Long userId = entry.getKey();
+            List<OutboxEvent> rows = entry.getValue();
+            rows.sort(PER_USER_SEQ);
+            Long last = cursors.get(userId);
+            if (last != null && rows.get(0).getSeq() > last + 1) {
+                rows.addAll(0, repo.findGap(userId, last, rows.get(0).getSeq()));
+            }
+            for (OutboxEvent e : rows) {
+                if (last != null && e.getSeq() > last + 1) {
+                    if (e.getCreatedAt().isAfter(overdue)) break;   // 빈 seq를 기다림 → 이 사용자의 나머지도 보류
+                    log.warn("[OUTBOX] seq gap timed out userId={}, seq {}..{} - delivering", userId, last + 1, e.getSeq() - 1);
+                }
+                deliver.add(e);
+                last = last == null ? e.getSeq() : Math.max(last, e.getSeq());
+            }
+            if (last != null && !last.equals(cursors.get(userId))) advanced.put(userId, last);
+        }
+        if (deliver.isEmpty()) return 0;
+
+        sink.publish(deliver.stream().map(OutboxMessage::of).toList());
+
+        List<Long> ids = deliver.stream().map(OutboxEvent::getId).toList();
+        tx.executeWithoutResult(s -> {
+            repo.deleteAllByIdInBatch(ids);
+            advance(advanced, cursors, now);
+        });
+        metrics.outboxPublished(deliver.size());
+        return deliver.size();
+    }
+
+    /** 커서 갱신 (전달 행 삭제와 같은 트랜잭션) */
+    private void advance(Map<Long, Long> advanced, Map<Long, Long> previous, Instant now) {
+        List<OutboxCursor> cursors = new ArrayList<>();
+        for (Map.Entry<Long, Long> e : advanced.entrySet()) {
+            if (previous.containsKey(e.getKey())) continue;
+            cursors.add(OutboxCursor.builder().userId(e.getKey()).lastSeq(e.getValue()).updatedAt(now).build());
+        }
+        for (OutboxCursor c : cursorRepo.findAllById(previous.keySet())) {
+            Long seq = advanced.get(c.getUserId());
+            if (seq == null) continue;
+            c.setLastSeq(seq);
+            c.setUpdatedAt(now);
+            cursors.add(c);
+        }
+        cursorRepo.saveAll(cursors);
+    }
+
+    /** 리스 확인: 보유 중이면 ttl/3 마다 연장, 아니면 만료된 리스를 가져옴. 반환: 이번 배치를 전달해도 되는지 */
+    boolean lease() {
+        long nowNanos = System.nanoTime();
+        if (leader && nowNanos - renewAtNanos < 0) return true;
+
+        Instant now = Instant.now();
+        Integer updated = tx.execute(s -> leaseRepo.acquire(LEASE, owner, now.plus(leaseTtl), now));
+        boolean held = (updated != null && updated > 0) || create(now);
+        if (held && !leader) log.info("[OUTBOX] relay lease acquired owner={}, ttl={}", owner, leaseTtl);
+        if (!held && leader) log.warn("[OUTBOX] relay lease lost owner={}", owner);
+        leader = held;
+        renewAtNanos = nowNanos + leaseTtl.toNanos() / 3;
+        return held;
+    }
+
+    /** 리스 행이 아직 없을 때 (마이그레이션 전 DB/테스트 스키마): 먼저 insert한 노드가 보유 */
+    private boolean create(Instant now) {
+        if (leaseRepo.existsById(LEASE)) return false;
+        try {
+            tx.executeWithoutResult(s -> leaseRepo.save(OutboxLease.builder()
+                    .name(LEASE).owner(owner).expiresAt(now.plus(leaseTtl)).build()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void adapt(int drained) {
+        int prev = batchSize;
+        if (drained >= batchSize) {
+            batchSize = Math.min(maxBatch, batchSize * 2);
+            backoffNanos = minBackoffNanos;
+        } else if (drained == 0) {
+            backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+            batchSize = Math.max(minBatch, batchSize / 2);
+        } else {
+            backoffNanos = minBackoffNanos;
+            if (drained < batchSize / 4) batchSize = Math.max(minBatch, batchSize / 2);
+        }
+        if (batchSize != prev) log.debug("[OUTBOX] batch size {} -> {}", prev, batchSize);
+    }
+}
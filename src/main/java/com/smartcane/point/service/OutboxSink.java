@@ -0,0 +1,13 @@
+package com.smartcane.point.service;
+
+import java.util.List;
+
+/**
+ * 아웃박스 전달 대상 (메시지 브로커 등)
+ * - batch는 사용자별로 (seq, id) 오름차순 정렬되어 있음
+ * - 예외 없이 반환하면 전달 완료로 보고 행을 삭제, 예외면 같은 배치를 다시 전달 (at-least-once)
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,127 @@
+package com.smartcane.point.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcane.point.entity.OutboxEvent;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.PointHold;
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.enums.PaymentStatus;
+import com.smartcane.point.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 기록 (호출자 트랜잭션 안에서만 호출)
+ * - 지갑 변경: WalletWriter 구현체가 원장 insert와 같은 트랜잭션에서 LEDGER_APPENDED 기록
+ * - 결제 상태: PaymentService의 inTransaction 후속 작업에서 PAYMENT_CAPTURED / PAYMENT_CANCELED 기록
+ * - 예약: ReservationService가 PAYMENT_AUTHORIZED / PAYMENT_CAPTURED / PAYMENT_VOIDED / PAYMENT_EXPIRED 기록
+ * - point.outbox.enabled=false 면 기록하지 않음
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String WALLET = "WALLET";
+    public static final String PAYMENT = "PAYMENT";
+
+    record LedgerAppended(long ledgerId, String type, long amount, long balance,
+                          String orderId, String requestId, String memo) {}
+
+    record PaymentCaptured(String orderId, long ledgerId, long totalAmount, long pointAmount, long cashAmount,
+                           String status, long walletBalance) {}
+
+    record PaymentCanceled(String orderId, long ledgerId, long cancelAmount, long remainPoint,
+                           String status, long walletBalance) {}
+
+    record PaymentAuthorized(String orderId, long ledgerId, long holdId, long pointAmount,
+                             Instant expiresAt, long walletBalance) {}
+
+    record HoldCaptured(String orderId, long holdId, long totalAmount, long pointAmount, String status) {}
+
+    record HoldReleased(String orderId, long ledgerId, long holdId, long releasedAmount, long walletBalance) {}
+
+    private final OutboxEventRepository repo;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxEventRepository repo,
+                        ObjectMapper objectMapper,
+                        @Value("${point.outbox.enabled:true}") boolean enabled) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** 원장 행 → 이벤트 (저장은 호출자가 원장과 함께 배치로) */
+    public OutboxEvent ledgerAppended(PointLedger l, long balance, long version) {
+        return event(l.getUserId(), version, WALLET, String.valueOf(l.getUserId()), "LEDGER_APPENDED",
+                new LedgerAppended(l.getId(), l.getType().name(), l.getAmount(), balance,
+                        l.getOrderId(), l.getRequestId(), l.getMemo()));
+    }
+
+    public void paymentCaptured(Payment p, WalletMutationResult r) {
+        if (!enabled) return;
+        repo.save(event(p.getUserId(), r.version(), PAYMENT, p.getOrderId(), "PAYMENT_CAPTURED",
+                new PaymentCaptured(p.getOrderId(), r.ledgerId(), p.getTotalAmount(), p.getPointAmount(),
+                        p.getCashAmount(), p.getStatus().name(), r.balance())));
+    }
+
+    public void paymentCanceled(Payment p, long cancelAmount, WalletMutationResult r) {
+        if (!enabled) return;
+        repo.save(event(p.getUserId(), r.version(), PAYMENT, p.getOrderId(), "PAYMENT_CANCELED",
+                new PaymentCanceled(p.getOrderId(), r.ledgerId(), cancelAmount, p.getPointAmount(),
+                        p.getStatus().name(), r.balance())));
+    }
+
+    public void paymentAuthorized(Payment p, PointHold h, WalletMutationResult r) {
+        if (!enabled) return;
+        repo.save(event(p.getUserId(), r.version(), PAYMENT, p.getOrderId(), "PAYMENT_AUTHORIZED",
+                new PaymentAuthorized(p.getOrderId(), r.ledgerId(), h.getId(), h.getAmount(),
+                        h.getExpiresAt(), r.balance())));
+    }
+
+    /**
+     * 확정은 지갑을 건드리지 않으므로 seq는 확정 트랜잭션에서 읽은 지갑 총 버전
+     * (승인 이후 다른 변경 이벤트보다 앞 seq가 되지 않도록, 같은 seq끼리는 id 순)
+     */
+    public void holdCaptured(Payment p, PointHold h, long walletVersion) {
+        if (!enabled) return;
+        repo.save(event(p.getUserId(), walletVersion, PAYMENT, p.getOrderId(), "PAYMENT_CAPTURED",
+                new HoldCaptured(p.getOrderId(), h.getId(), p.getTotalAmount(), p.getPointAmount(),
+                        PaymentStatus.CAPTURED.name())));
+    }
+
+    /** eventType: PAYMENT_VOIDED(취소) / PAYMENT_EXPIRED(만료) */
+    public void holdReleased(PointHold h, String eventType, WalletMutationResult r) {
+        if (!enabled) return;
+        repo.save(event(h.getUserId(), r.version(), PAYMENT, h.getOrderId(), eventType,
+                new HoldReleased(h.getOrderId(), r.ledgerId(), h.getId(), h.getAmount(), r.balance())));
+    }
+
+    public void saveAll(List<OutboxEvent> events) {
+        if (enabled && !events.isEmpty()) repo.saveAll(events);
+    }
+
+    private OutboxEvent event(Long userId, long seq, String aggregateType, String aggregateId,
+                              String eventType, Object payload) {
+        try {
+            return OutboxEvent.builder()
+                    .userId(userId)
+                    .seq(seq)
+                    .aggregateType(aggregateType)
+                    .aggregateId(aggregateId)
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox payload serialization failed: " + eventType, e);
+        }
+    }
+}
@@ -1,145 +1,514 @@
 package com.smartcane.point.service;
 
+import com.smartcane.point.dto.BatchPaymentResponse;
 import com.smartcane.point.dto.CancelPaymentRequest;
 import com.smartcane.point.dto.CreatePaymentRequest;
 import com.smartcane.point.dto.PaymentResponse;
 import com.smartcane.point.dto.WalletResponse;
 import com.smartcane.point.entity.Payment;
 import com.smartcane.point.entity.PaymentCancel;
+import com.smartcane.point.entity.enums.LedgerType;
 import com.smartcane.point.entity.enums.PaymentMethod;
 import com.smartcane.point.entity.enums.PaymentStatus;
 import com.smartcane.point.exception.BusinessException;
 import com.smartcane.point.repository.PaymentCancelRepository;
 import com.smartcane.point.repository.PaymentRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.smartcane.point.repository.PointLedgerRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentService {
 
+    private static final String STATE_CHANGED = "PAYMENT_STATE_CHANGED";
+    private static final String INSERT_SQL = "INSERT INTO payment (user_id, order_id, method, status, total_amount, "
+            + "point_amount, cash_amount, last_request_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final PaymentRepository paymentRepo;
     private final PaymentCancelRepository cancelRepo;
+    private final PointLedgerRepository ledgerRepo;
     private final WalletService walletService;
+    private final PointMetrics metrics;
+    private final OutboxWriter outbox;
+    private final OrderIdFilter orderIds;
+    private final PaymentStateCache states;
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeZone jdbcTimeZone;
+    private final int maxBatchOrders;
+
+    public PaymentService(PaymentRepository paymentRepo,
+                          PaymentCancelRepository cancelRepo,
+                          PointLedgerRepository ledgerRepo,
+                          WalletService walletService,
+                          PointMetrics metrics,
+                          OutboxWriter outbox,
+                          OrderIdFilter orderIds,
+                          PaymentStateCache states,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String jdbcTimeZone,
+                          @Value("${point.payment.batch.max-orders:100}") int maxBatchOrders) {
+        this.paymentRepo = paymentRepo;
+        this.cancelRepo = cancelRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.walletService = walletService;
+        this.metrics = metrics;
+        this.outbox = outbox;
+        this.orderIds = orderIds;
+        this.states = states;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTimeZone = TimeZone.getTimeZone(jdbcTimeZone); // Hibernate와 같은 기준으로 TIMESTAMP 기록
+        this.maxBatchOrders = maxBatchOrders;
+    }
 
     /**
      * 전액/일부 포인트 결제 (PG 연동 없는 순수 포인트 결제 시나리오)
      * - 멱등키: orderId(비즈니스), requestId(API)
+     * - 결제 확정(payment 저장)은 지갑 차감과 같은 트랜잭션에서 실행 (WalletMutation.inTransaction)
+     *   → 메서드 전체를 트랜잭션으로 감싸지 않아 지갑 쓰기 대기 중 커넥션을 점유하지 않음
      */
-    @Transactional
     public PaymentResponse payWithPoints(Long userId, CreatePaymentRequest req) {
-        String requestId = (req.requestId() == null || req.requestId().isBlank())
-                ? UUID.randomUUID().toString()
-                : req.requestId();
+        return payWithPoints(userId, req, RequestIds.orNext(req.requestId()));
+    }
+
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public PaymentResponse payWithPoints(Long userId, CreatePaymentRequest req, String requestId) {
+        long t0 = System.nanoTime();
+        try {
+            return pay(userId, req, requestId);
+        } finally {
+            metrics.payTx(System.nanoTime() - t0);
+        }
+    }
+
+    private PaymentResponse pay(Long userId, CreatePaymentRequest req, String requestId) {
+        validate(req);
+
+        // 주문 기준 멱등: 이미 CAPTURED면 현재 상태 리턴
+        // 필터가 없는 주문이라고 하면 조회 생략 (다른 노드가 만든 주문은 uk_payment_order/아래 재확인으로 처리)
+        boolean probed = orderIds.mightExist(req.orderId());
+        Payment payment = (probed ? paymentRepo.findByOrderId(req.orderId()) : Optional.<Payment>empty())
+                .orElseGet(() -> newPayment(userId, req));
+
+        PaymentResponse settled = settled(payment, userId);
+        if (settled != null) return settled;
+
+        // 포인트 차감(멱등: WalletService가 보장) + 같은 트랜잭션에서 CAPTURE 확정
+        // 후속 작업은 재시도 트랜잭션(그룹 커밋 롤백 후 사용자별 재반영, 버전 충돌)마다 다시 실행됨
+        // → 롤백된 INSERT가 남긴 IDENTITY id를 지워 매번 새 행으로 저장 (merge가 없는 행을 찾지 않도록)
+        Long storedId = payment.getId();
+        WalletMutationResult debit;
+        try {
+            debit = walletService.debit(userId, req.pointAmount(), requestId, req.orderId(), r -> {
+                payment.setId(storedId);
+                payment.setStatus(PaymentStatus.CAPTURED);
+                payment.setLastRequestId(requestId);
+                paymentRepo.save(payment);
+                outbox.paymentCaptured(payment, r);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 같은 orderId가 동시에 먼저 확정됨(uk_payment_order) → 차감은 롤백됨, 현재 상태로 멱등 응답
+            Payment existing = paymentRepo.findByOrderId(req.orderId()).orElseThrow(() -> e);
+            WalletResponse w = walletService.get(userId);
+            log.info("[PAY] concurrent duplicate orderId={}, userId={}, status={}", req.orderId(), userId, existing.getStatus());
+            return new PaymentResponse(existing.getOrderId(), existing.getStatus().name(),
+                    existing.getTotalAmount(), existing.getPointAmount(), existing.getCashAmount(), w.balance());
+        } catch (BusinessException e) {
+            // 조회를 건너뛴 주문이 다른 노드에서 이미 확정됐으면(잔액 부족 등) 지금처럼 기존 주문 기준으로 응답
+            if (probed) throw e;
+            PaymentResponse other = paymentRepo.findByOrderId(req.orderId()).map(p -> settled(p, userId)).orElse(null);
+            if (other == null) throw e;
+            return other;
+        }
+        if (debit.replayed()) {
+            // 같은 requestId 차감이 이미 반영됨 → 후속 작업(payment 저장)이 실행되지 않았으므로 저장된 상태로 응답
+            // 이 주문으로 저장된 결제가 없으면 다른 주문에 쓴 requestId (reserve/payBatch와 같은 409)
+            return paymentRepo.findByOrderId(req.orderId()).map(p -> settled(p, userId))
+                    .orElseThrow(() -> new BusinessException("REQUEST_ID_REUSED", HttpStatus.CONFLICT));
+        }
+
+        orderIds.add(req.orderId());
+        if (payment.getId() != null) states.put(req.orderId(), PaymentStateCache.State.of(payment));
+        log.info("[PAY] CAPTURED orderId={}, userId={}, pointAmount={}, newBalance={}, ledgerId={}",
+                req.orderId(), userId, req.pointAmount(), debit.balance(), debit.ledgerId());
+
+        return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
+                payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), debit.balance());
+    }
 
+    private static void validate(CreatePaymentRequest req) {
         if (req.totalAmount() <= 0) throw new BusinessException("INVALID_TOTAL_AMOUNT");
         if (req.pointAmount() <= 0) throw new BusinessException("INVALID_POINT_AMOUNT");
         if (req.pointAmount() > req.totalAmount()) throw new BusinessException("POINT_EXCEED_TOTAL");
-        if (req.cashAmount() != 0) throw new BusinessException("CASH_AMOUNT_NOT_SUPPORTED"); // 혼합결제는 추후
+        if (req.cashAmount() != 0) throw new BusinessException("CASH_AMOUNT_NOT_SUPPORTED"); // 혼합결제는 /payments/mixed
+    }
 
-        // 주문 기준 멱등: 이미 CAPTURED면 현재 상태 리턴
-        Payment payment = paymentRepo.findByOrderId(req.orderId()).orElseGet(() -> {
-            Payment p = new Payment();
-            p.setUserId(userId);
-            p.setOrderId(req.orderId());
-            p.setMethod(PaymentMethod.POINT);
-            p.setStatus(PaymentStatus.PENDING);
-            p.setTotalAmount(req.totalAmount());
-            p.setPointAmount(req.pointAmount());
-            p.setCashAmount(req.cashAmount()); // 0
-            return p;
-        });
+    private static Payment newPayment(Long userId, CreatePaymentRequest req) {
+        Payment p = new Payment();
+        p.setUserId(userId);
+        p.setOrderId(req.orderId());
+        p.setMethod(PaymentMethod.POINT);
+        p.setStatus(PaymentStatus.PENDING);
+        p.setTotalAmount(req.totalAmount());
+        p.setPointAmount(req.pointAmount());
+        p.setCashAmount(req.cashAmount()); // 0
+        return p;
+    }
 
+    // 이미 진행된 주문: CAPTURED/CANCELED면 현재 상태 응답, 승인 주문이면 거절, 그 외(null)는 차감 진행
+    private PaymentResponse settled(Payment payment, Long userId) {
         if (PaymentStatus.CAPTURED.equals(payment.getStatus())) {
             WalletResponse w = walletService.get(userId);
-            log.info("[PAY] idempotent CAPTURED orderId={}, userId={}", req.orderId(), userId);
+            log.info("[PAY] idempotent CAPTURED orderId={}, userId={}", payment.getOrderId(), userId);
             return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
                     payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), w.balance());
         }
         if (PaymentStatus.CANCELED.equals(payment.getStatus())) {
             WalletResponse w = walletService.get(userId);
-            log.info("[PAY] already CANCELED orderId={}, userId={}", req.orderId(), userId);
+            log.info("[PAY] already CANCELED orderId={}, userId={}", payment.getOrderId(), userId);
             return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
                     payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), w.balance());
         }
+        if (PaymentStatus.AUTHORIZED.equals(payment.getStatus())) {
+            // 예약 결제 주문은 capture/void로만 진행 (여기서 차감하면 홀드와 이중 차감)
+            throw new BusinessException("PAYMENT_ALREADY_AUTHORIZED", HttpStatus.CONFLICT);
+        }
+        return null;
+    }
+
+    /**
+     * 한 사용자의 여러 주문 일괄 포인트 결제 (정산 서비스의 다건 결제)
+     * - 주문 조회 1회(findByOrderIdIn, 필터가 없다고 한 주문은 제외)
+     * - 지갑 반영은 한 트랜잭션: 지갑 조회/UPDATE와 멱등 원장 조회 1회, 원장 INSERT 배치,
+     *   payment는 afterAll에서 multi-row INSERT 한 번 (write-mode와 무관하게 엔진 사용)
+     * - 주문별 멱등은 단건과 같음: 이미 CAPTURED/CANCELED면 현재 상태, (userId, requestId, DEBIT) 원장이 있으면 재반영 없음
+     * - 주문별 실패(잔액 부족 등)는 그 주문만 code로 응답하고 나머지는 반영 (요청 순서대로 차감)
+     * - 다른 요청이 같은 orderId를 먼저 만들면(uk_payment_order) 묶음 전체가 롤백 → 주문별 단건 경로로 다시 처리
+     *   (샤딩된 지갑, PENDING 등 확정 전 상태로 남은 주문도 단건 경로)
+     */
+    public BatchPaymentResponse payBatch(Long userId, List<CreatePaymentRequest> orders, String idempotencyKey) {
+        long t0 = System.nanoTime();
+        try {
+            return doPayBatch(userId, orders, idempotencyKey);
+        } finally {
+            metrics.payBatchTx(System.nanoTime() - t0);
+        }
+    }
 
-        // 포인트 차감(멱등: WalletService가 보장)
-        long newBalance = walletService.debit(userId, req.pointAmount(), requestId, req.orderId());
+    private BatchPaymentResponse doPayBatch(Long userId, List<CreatePaymentRequest> orders, String idempotencyKey) {
+        if (orders == null || orders.isEmpty()) throw new BusinessException("EMPTY_BATCH");
+        if (orders.size() > maxBatchOrders) throw new BusinessException("BATCH_TOO_LARGE");
 
-        // CAPTURE 확정
-        payment.setStatus(PaymentStatus.CAPTURED);
-        payment.setLastRequestId(requestId);
-        paymentRepo.save(payment);
+        int n = orders.size();
+        BatchPaymentResponse.Result[] results = new BatchPaymentResponse.Result[n];
+        String[] requestIds = new String[n];
+        Map<String, Integer> fresh = new LinkedHashMap<>();   // 아직 결과가 없는 주문: orderId → 요청 내 위치
+        for (int i = 0; i < n; i++) {
+            CreatePaymentRequest req = orders.get(i);
+            try {
+                if (req.orderId() == null || req.orderId().isBlank()) throw new BusinessException("INVALID_ORDER_ID");
+                validate(req);
+                if (fresh.putIfAbsent(req.orderId(), i) != null) throw new BusinessException("DUPLICATE_ORDER_IN_BATCH");
+            } catch (BusinessException e) {
+                results[i] = BatchPaymentResponse.Result.failed(req.orderId(), e.getMessage());
+                continue;
+            }
+            // 주문별 원장 멱등키: body.requestId > X-Idempotency-Key:orderId > 서버 발급
+            requestIds[i] = req.requestId() != null && !req.requestId().isBlank() ? req.requestId()
+                    : idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey + ":" + req.orderId()
+                    : RequestIds.next();
+        }
+        Map<String, Integer> at = new HashMap<>(fresh);
 
-        log.info("[PAY] CAPTURED orderId={}, userId={}, pointAmount={}, newBalance={}",
-                req.orderId(), userId, req.pointAmount(), newBalance);
+        // 주문 조회 1회: 이미 확정/취소된 주문은 현재 상태로 응답
+        List<Integer> single = new ArrayList<>();
+        Set<String> probed = new HashSet<>();
+        for (String orderId : fresh.keySet()) if (orderIds.mightExist(orderId)) probed.add(orderId);
+        if (!probed.isEmpty()) {
+            for (Payment p : paymentRepo.findByOrderIdIn(probed)) {
+                Integer i = fresh.remove(p.getOrderId());
+                if (i == null) continue;   // 대소문자만 다른 orderId(collation) → 생성 시 uk_payment_order로 걸러짐
+                results[i] = settledResult(p);
+                if (results[i] == null) single.add(i);
+            }
+        }
 
-        return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
-                payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), newBalance);
+        // 새 주문: 주문별 DEBIT 원장 + 한 트랜잭션, payment INSERT는 afterAll에서 한 번에
+        List<Integer> positions = new ArrayList<>(fresh.values());
+        List<Payment> payments = new ArrayList<>(positions.size());
+        List<WalletMutation> mutations = new ArrayList<>(positions.size());
+        Map<String, Payment> captured = new LinkedHashMap<>();
+        for (int i : positions) {
+            Payment p = newPayment(userId, orders.get(i));
+            p.setStatus(PaymentStatus.CAPTURED);
+            p.setLastRequestId(requestIds[i]);
+            payments.add(p);
+            mutations.add(new WalletMutation(userId, LedgerType.DEBIT, p.getPointAmount(), requestIds[i],
+                    p.getOrderId(), "pay", r -> {
+                outbox.paymentCaptured(p, r);
+                captured.put(p.getOrderId(), p);
+            }));
+        }
+
+        Long balance = null;
+        List<String> recheck = new ArrayList<>();
+        if (!mutations.isEmpty()) {
+            List<CompletableFuture<WalletMutationResult>> debits;
+            try {
+                debits = walletService.applyAll(mutations, () -> {
+                    try {
+                        insertAll(captured.values());
+                    } finally {
+                        captured.clear();   // 재시도 트랜잭션은 후속 작업을 다시 모음
+                    }
+                });
+            } catch (BusinessException e) {
+                if (!WalletService.WALLET_SHARDED.equals(e.getMessage())) throw e;
+                debits = null;
+            }
+            for (int k = 0; k < positions.size(); k++) {
+                int i = positions.get(k);
+                Payment p = payments.get(k);
+                if (debits == null) {
+                    single.add(i);
+                    continue;
+                }
+                try {
+                    WalletMutationResult r = debits.get(k).join();
+                    balance = r.balance();
+                    if (r.replayed()) {
+                        recheck.add(p.getOrderId());   // 같은 requestId 차감이 이미 반영됨 → 저장된 주문 상태로
+                        continue;
+                    }
+                    results[i] = BatchPaymentResponse.Result.of(new PaymentResponse(p.getOrderId(), p.getStatus().name(),
+                            p.getTotalAmount(), p.getPointAmount(), p.getCashAmount(), r.balance()));
+                    orderIds.add(p.getOrderId());
+                    if (p.getId() != null) states.put(p.getOrderId(), PaymentStateCache.State.of(p));
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof DataIntegrityViolationException) {
+                        single.add(i);   // 같은 orderId가 다른 요청에서 먼저 확정됨 → 묶음 롤백, 단건 경로의 멱등 처리로
+                    } else if (e.getCause() instanceof BusinessException be) {
+                        results[i] = BatchPaymentResponse.Result.failed(p.getOrderId(), be.getMessage());
+                        if (!probed.contains(p.getOrderId())) recheck.add(p.getOrderId());
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        // 조회를 건너뛴 주문의 실패/재요청: 다른 노드가 이미 만든 주문이면 단건처럼 그 상태로 응답
+        if (!recheck.isEmpty()) {
+            for (Payment p : paymentRepo.findByOrderIdIn(recheck)) {
+                Integer i = at.get(p.getOrderId());
+                BatchPaymentResponse.Result settled = settledResult(p);
+                if (i != null && settled != null) results[i] = settled;
+            }
+            for (String orderId : recheck) {
+                int i = at.get(orderId);
+                if (results[i] == null) results[i] = BatchPaymentResponse.Result.failed(orderId, "REQUEST_ID_REUSED");
+            }
+        }
+        for (int i : single) results[i] = payOne(userId, orders.get(i), requestIds[i]);
+
+        long walletBalance = balance != null && single.isEmpty() ? balance : walletService.get(userId).balance();
+        log.info("[PAY] batch userId={}, orders={}, new={}, single={}, walletBalance={}",
+                userId, n, positions.size(), single.size(), walletBalance);
+        return new BatchPaymentResponse(walletBalance, List.of(results));
+    }
+
+    // 일괄 결제의 기존 주문: CAPTURED/CANCELED는 현재 상태, 승인 주문은 거절, 그 외(null)는 단건 경로
+    private static BatchPaymentResponse.Result settledResult(Payment p) {
+        if (PaymentStatus.CAPTURED.equals(p.getStatus()) || PaymentStatus.CANCELED.equals(p.getStatus())) {
+            return new BatchPaymentResponse.Result(p.getOrderId(), p.getStatus().name(),
+                    p.getTotalAmount(), p.getPointAmount(), p.getCashAmount(), null);
+        }
+        if (PaymentStatus.AUTHORIZED.equals(p.getStatus())) {
+            return BatchPaymentResponse.Result.failed(p.getOrderId(), "PAYMENT_ALREADY_AUTHORIZED");
+        }
+        return null;
+    }
+
+    private BatchPaymentResponse.Result payOne(Long userId, CreatePaymentRequest req, String requestId) {
+        try {
+            return BatchPaymentResponse.Result.of(pay(userId, req, requestId));
+        } catch (BusinessException e) {
+            return BatchPaymentResponse.Result.failed(req.orderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * payment 일괄 INSERT (지갑 트랜잭션 안에서)
+     * - IDENTITY 키라 Hibernate는 INSERT를 배치로 묶지 않음 → JDBC 배치 (MySQL rewriteBatchedStatements로 multi-row)
+     * - 생성 키를 돌려주는 드라이버면 id를 채움 (없으면 상태 캐시에 넣지 않음)
+     */
+    private void insertAll(Collection<Payment> payments) {
+        if (payments.isEmpty()) return;
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            Calendar calendar = Calendar.getInstance(jdbcTimeZone);
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Payment p : payments) {
+                    Timestamp now = Timestamp.from(p.getCreatedAt());
+                    ps.setLong(1, p.getUserId());
+                    ps.setString(2, p.getOrderId());
+                    ps.setString(3, p.getMethod().name());
+                    ps.setString(4, p.getStatus().name());
+                    ps.setLong(5, p.getTotalAmount());
+                    ps.setLong(6, p.getPointAmount());
+                    ps.setLong(7, p.getCashAmount());
+                    ps.setString(8, p.getLastRequestId());
+                    ps.setTimestamp(9, now, calendar);
+                    ps.setTimestamp(10, now, calendar);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    Iterator<Payment> it = payments.iterator();
+                    while (it.hasNext() && keys.next()) it.next().setId(keys.getLong(1));
+                }
+            }
+            return null;
+        });
     }
 
     /**
      * 결제 취소/부분 환불
      * - 환불액은 기존 결제에서 사용된 pointAmount 이내
      * - 멱등: 동일 orderId 전액취소가 이미 처리되었으면 상태 그대로 반환
+     * - 취소 기록/결제 상태 갱신은 환불과 같은 트랜잭션에서 실행
      */
-    @Transactional
     public PaymentResponse cancel(Long userId, CancelPaymentRequest req) {
-        String requestId = (req.requestId() == null || req.requestId().isBlank())
-                ? UUID.randomUUID().toString()
-                : req.requestId();
+        return cancel(userId, req, RequestIds.orNext(req.requestId()));
+    }
 
-        Payment payment = paymentRepo.findByOrderId(req.orderId())
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public PaymentResponse cancel(Long userId, CancelPaymentRequest req, String requestId) {
+        long t0 = System.nanoTime();
+        try {
+            return doCancel(userId, req, requestId);
+        } finally {
+            metrics.cancelTx(System.nanoTime() - t0);
+        }
+    }
+
+    private PaymentResponse doCancel(Long userId, CancelPaymentRequest req, String requestId) {
+        PaymentStateCache.State cached = states.get(req.orderId());
+        if (cached == null) return cancelOnce(userId, req, requestId, load(req.orderId()));
+        try {
+            return cancelOnce(userId, req, requestId, cached);
+        } catch (BusinessException e) {
+            if (!STATE_CHANGED.equals(e.getMessage())) throw e;
+            // 캐시가 다른 노드의 취소보다 오래됨 → 환불은 롤백됨, DB 기준으로 한 번 더
+            states.evict(req.orderId());
+            return cancelOnce(userId, req, requestId, load(req.orderId()));
+        }
+    }
+
+    private PaymentStateCache.State load(String orderId) {
+        Payment payment = paymentRepo.findByOrderId(orderId)
                 .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND"));
+        PaymentStateCache.State state = PaymentStateCache.State.of(payment);
+        states.put(orderId, state);
+        return state;
+    }
 
+    private PaymentResponse cancelOnce(Long userId, CancelPaymentRequest req, String requestId,
+                                       PaymentStateCache.State payment) {
         // 사용자/주문 매칭 체크(권장)
-        if (!Objects.equals(payment.getUserId(), userId)) {
+        if (!Objects.equals(payment.userId(), userId)) {
             throw new BusinessException("PAYMENT_USER_MISMATCH");
         }
 
         // 이미 취소된 주문(전액): 멱등 응답
-        if (PaymentStatus.CANCELED.equals(payment.getStatus())) {
+        if (PaymentStatus.CANCELED.equals(payment.status())) {
             WalletResponse w = walletService.get(userId);
             log.info("[CANCEL] idempotent already canceled orderId={}, userId={}", req.orderId(), userId);
-            return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
-                    payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), w.balance());
+            return new PaymentResponse(req.orderId(), payment.status().name(),
+                    payment.totalAmount(), payment.pointAmount(), payment.cashAmount(), w.balance());
+        }
+
+        // 확정 전 예약은 환불이 아니라 void로 해제
+        if (PaymentStatus.AUTHORIZED.equals(payment.status())) {
+            throw new BusinessException("PAYMENT_NOT_CAPTURED", HttpStatus.CONFLICT);
         }
 
         long cancelAmount = req.cancelAmount();
         if (cancelAmount <= 0) throw new BusinessException("INVALID_CANCEL_AMOUNT");
-        if (cancelAmount > payment.getPointAmount()) throw new BusinessException("EXCEED_POINT_PAID");
+        if (cancelAmount > payment.pointAmount()) {
+            // 이미 반영된 부분 취소의 재요청이면 남은 금액이 줄어 있는 게 당연 → 저장된 상태로 응답
+            if (refunded(userId, requestId)) return stored(userId, req.orderId(), walletService.get(userId).balance());
+            throw new BusinessException("EXCEED_POINT_PAID");
+        }
 
-        // 환불(멱등: WalletService가 보장)
+        // 환불(멱등: WalletService가 보장) + 같은 트랜잭션에서 취소 레코드/결제 상태 갱신
         String memo = "cancel:" + (req.reasonCode() != null ? req.reasonCode() : "UNKNOWN");
-        walletService.refund(userId, cancelAmount, requestId, req.orderId(), memo);
+        PaymentStateCache.State after = payment.canceled(payment.pointAmount() - cancelAmount);
+        WalletMutationResult refund = walletService.refund(userId, cancelAmount, requestId, req.orderId(), memo, r -> {
+            // 결제 상태 갱신(부분/전액): 읽은 pointAmount 기준 조건부 UPDATE 한 번
+            // → 동시 취소(다른 노드 포함)가 서로의 차감을 덮어쓰지 않음, 0행이면 환불까지 롤백
+            if (paymentRepo.updateAfterCancelIf(payment.id(), payment.pointAmount(), after.pointAmount(),
+                    after.status(), requestId, Instant.now()) == 0) {
+                throw new BusinessException(STATE_CHANGED, HttpStatus.CONFLICT);
+            }
 
-        // 취소 레코드
-        cancelRepo.save(PaymentCancel.builder()
-                .paymentId(payment.getId())
-                .cancelAmount(cancelAmount)
-                .reasonCode(req.reasonCode() != null ? req.reasonCode() : "UNKNOWN")
-                .reasonMessage(req.reasonMessage())
-                .build());
+            // 취소 레코드
+            cancelRepo.save(PaymentCancel.builder()
+                    .paymentId(payment.id())
+                    .cancelAmount(cancelAmount)
+                    .reasonCode(req.reasonCode() != null ? req.reasonCode() : "UNKNOWN")
+                    .reasonMessage(req.reasonMessage())
+                    .build());
+            Payment canceled = after.toPayment(req.orderId());
+            canceled.setLastRequestId(requestId);
+            outbox.paymentCanceled(canceled, cancelAmount, r);
+        });
+        // 재요청(같은 requestId 환불 원장이 이미 있음): 후속 작업이 실행되지 않았고 after는 두 번 뺀 값 → 저장된 상태로 응답
+        if (refund.replayed()) return stored(userId, req.orderId(), refund.balance());
+        states.put(req.orderId(), after);
 
-        // 결제 상태 갱신(부분/전액)
-        long remain = payment.getPointAmount() - cancelAmount;
-        payment.setPointAmount(remain);
-        payment.setStatus(remain == 0 ? PaymentStatus.CANCELED : PaymentStatus.CAPTURED);
-        payment.setLastRequestId(requestId);
-        paymentRepo.save(payment);
+        // 환불 결과에 커밋된 잔액이 있으므로 지갑 재조회 없음
+        log.info("[CANCEL] orderId={}, userId={}, cancelAmount={}, remainPoint={}, walletBalance={}",
+                req.orderId(), userId, cancelAmount, after.pointAmount(), refund.balance());
 
-        WalletResponse w = walletService.get(userId);
+        return new PaymentResponse(req.orderId(), after.status().name(),
+                after.totalAmount(), after.pointAmount(), after.cashAmount(), refund.balance());
+    }
 
-        log.info("[CANCEL] orderId={}, userId={}, cancelAmount={}, remainPoint={}, walletBalance={}",
-                req.orderId(), userId, cancelAmount, remain, w.balance());
+    private boolean refunded(Long userId, String requestId) {
+        return ledgerRepo.findByUserIdAndRequestIdIn(userId, List.of(requestId)).stream()
+                .anyMatch(l -> l.getType() == LedgerType.REFUND);
+    }
 
-        return new PaymentResponse(payment.getOrderId(), payment.getStatus().name(),
-                payment.getTotalAmount(), payment.getPointAmount(), payment.getCashAmount(), w.balance());
+    private PaymentResponse stored(Long userId, String orderId, long walletBalance) {
+        PaymentStateCache.State state = load(orderId);
+        log.info("[CANCEL] idempotent replay orderId={}, userId={}, remainPoint={}", orderId, userId, state.pointAmount());
+        return new PaymentResponse(orderId, state.status().name(),
+                state.totalAmount(), state.pointAmount(), state.cashAmount(), walletBalance);
     }
 }
@@ -0,0 +1,78 @@
+package com.smartcane.point.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.enums.PaymentMethod;
+import com.smartcane.point.entity.enums.PaymentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 최근 결제 상태 캐시 (orderId → 취소 경로에 필요한 값만, 취소 시 findByOrderId 생략)
+ * - 항목은 long 위주의 작은 record (엔티티/요청 ID/시각 문자열을 들고 있지 않음)
+ * - CAPTURED/CANCELED만 적재: 승인(AUTHORIZED) 주문은 확정/취소로 다른 경로에서 바뀌므로 넣지 않음
+ * - 캐시가 오래됐더라도(다른 노드 취소) 취소는 pointAmount/status 조건부 UPDATE라
+ *   0행이면 PAYMENT_STATE_CHANGED → 항목을 버리고 DB 기준으로 다시 처리
+ */
+@Component
+public class PaymentStateCache {
+
+    /** 취소에 필요한 결제 상태 (id/userId는 바뀌지 않음, pointAmount는 줄어들기만 함) */
+    public record State(long id, long userId, PaymentMethod method, PaymentStatus status,
+                        long totalAmount, long pointAmount, long cashAmount) {
+
+        static State of(Payment p) {
+            return new State(p.getId(), p.getUserId(), p.getMethod(), p.getStatus(),
+                    p.getTotalAmount(), p.getPointAmount(), p.getCashAmount());
+        }
+
+        State canceled(long remain) {
+            return new State(id, userId, method, remain == 0 ? PaymentStatus.CANCELED : PaymentStatus.CAPTURED,
+                    totalAmount, remain, cashAmount);
+        }
+
+        /** 아웃박스 이벤트용 분리 엔티티 (저장하지 않음) */
+        Payment toPayment(String orderId) {
+            Payment p = new Payment();
+            p.setId(id);
+            p.setUserId(userId);
+            p.setOrderId(orderId);
+            p.setMethod(method);
+            p.setStatus(status);
+            p.setTotalAmount(totalAmount);
+            p.setPointAmount(pointAmount);
+            p.setCashAmount(cashAmount);
+            return p;
+        }
+    }
+
+    private final Cache<String, State> cache;
+
+    public PaymentStateCache(@Value("${point.payment.state-cache.max-size:100000}") long maxSize,
+                             @Value("${point.payment.state-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = maxSize > 0
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(expireAfterWrite).build()
+                : null;
+    }
+
+    public State get(String orderId) {
+        return cache == null ? null : cache.getIfPresent(orderId);
+    }
+
+    /** 커밋된 상태 반영 (CAPTURED/CANCELED 외에는 제거) */
+    public void put(String orderId, State state) {
+        if (cache == null) return;
+        if (state.status() == PaymentStatus.CAPTURED || state.status() == PaymentStatus.CANCELED) {
+            cache.put(orderId, state);
+        } else {
+            cache.invalidate(orderId);
+        }
+    }
+
+    public void evict(String orderId) {
+        if (cache != null) cache.invalidate(orderId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.smartcane.point.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 카드 PG 연동 (혼합결제 현금 부분)
+ * - 호출은 비동기: 구현체는 호출 스레드를 막지 않고 future로 결과를 돌려준다
+ * - DB 트랜잭션 밖에서만 호출 (MixedPaymentService가 포인트 홀드 커밋 후 호출)
+ * - 기본은 StubPgClient, 실제 PG는 PgClient 빈을 직접 등록
+ */
+public interface PgClient {
+
+    record ApproveRequest(Long userId, String orderId, long amount, String requestId) {}
+
+    /** approved=false면 code에 PG 거절 사유 */
+    record Result(boolean approved, String transactionId, String code) {}
+
+    CompletableFuture<Result> approve(ApproveRequest request);
+
+    /** 승인 취소 (보상): transactionId를 모르면(타임아웃) orderId 기준 */
+    CompletableFuture<Result> cancel(String orderId, String transactionId, long amount);
+}
@@ -0,0 +1,142 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.DueLot;
+import com.smartcane.point.repository.PointLotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 포인트 만료 엔진: 유효기간이 지난 OPEN lot을 EXPIRE 원장으로 소멸
+ * - 대상 조회: idx_lot_status_expires (OPEN, expiresAt <= now) 범위를 (expiresAt, id) 키셋으로 chunk-size씩
+ *   → 원장/지갑 전체 스캔 없이 만료 대상만 읽음
+ * - 반영: 청크 안에서 사용자별로 묶어 EXPIRE 변경 1건(금액 = lot remaining 합)씩 WalletService.applyAll
+ *   (지갑 UPDATE/원장 INSERT 그룹 커밋), 같은 트랜잭션에서 lot을 EXPIRED로 닫음
+ *   그 사이 차감으로 lot이 바뀌었으면 해당 사용자만 롤백 → 다음 실행에서 다시 계산
+ * - 속도 제한: max-lots-per-sec (초과 시 청크 사이에 쉼, 운영 DB 부하 제한)
+ * - 샤딩 지갑은 lot을 추적하지 않으므로 건너뜀
+ */
+@Slf4j
+@Service
+public class PointExpiryService {
+
+    /** 한 번 실행 결과 (lots/users/amount: 만료 반영분, failed: 다음 실행으로 넘긴 사용자 수) */
+    public record ExpiryRun(long lots, long users, long amount, long failed) {}
+
+    private final PointLotRepository lotRepo;
+    private final WalletService walletService;
+    private final WalletShardService shards;
+    private final PointLotService lots;
+    private final PointMetrics metrics;
+    private final int chunkSize;
+    private final long maxLotsPerSec;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PointExpiryService(PointLotRepository lotRepo,
+                              WalletService walletService,
+                              WalletShardService shards,
+                              PointLotService lots,
+                              PointMetrics metrics,
+                              @Value("${point.lot.expiry.chunk-size:500}") int chunkSize,
+                              @Value("${point.lot.expiry.max-lots-per-sec:5000}") long maxLotsPerSec) {
+        this.lotRepo = lotRepo;
+        this.walletService = walletService;
+        this.shards = shards;
+        this.lots = lots;
+        this.metrics = metrics;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxLotsPerSec = maxLotsPerSec;
+    }
+
+    @Scheduled(cron = "${point.lot.expiry.cron:0 10 0 * * *}", zone = "${point.lot.expiry.zone:Asia/Seoul}")
+    public void scheduled() {
+        if (lots.enabled()) expire(Instant.now());
+    }
+
+    /** now 시점까지 만료된 lot 전부 처리 (다른 실행이 진행 중이면 건너뜀) */
+    public ExpiryRun expire(Instant now) {
+        if (!running.compareAndSet(false, true)) return new ExpiryRun(0, 0, 0, 0);
+        try {
+            long lotCount = 0, users = 0, amount = 0, failed = 0;
+            Instant afterExpiresAt = Instant.EPOCH;
+            long afterId = 0;
+            while (true) {
+                long t0 = System.nanoTime();
+                List<DueLot> due = lotRepo.findDue(now, afterExpiresAt, afterId, Limit.of(chunkSize));
+                if (due.isEmpty()) break;
+                DueLot last = due.get(due.size() - 1);
+                afterExpiresAt = last.expiresAt();
+                afterId = last.id();
+
+                Map<Long, List<DueLot>> byUser = new LinkedHashMap<>();
+                for (DueLot d : due) {
+                    if (shards.shardCount(d.userId()) > 0) continue;
+                    byUser.computeIfAbsent(d.userId(), k -> new ArrayList<>()).add(d);
+                }
+                List<WalletMutation> mutations = new ArrayList<>(byUser.size());
+                List<List<DueLot>> groups = new ArrayList<>(byUser.size());
+                byUser.forEach((userId, group) -> {
+                    long sum = 0;
+                    List<Long> ids = new ArrayList<>(group.size());
+                    for (DueLot d : group) {
+                        sum += d.remaining();
+                        ids.add(d.id());
+                    }
+                    long expected = sum;
+                    // 멱등은 lot 상태로 보장 (OPEN → EXPIRED 전이가 한 번만 성공) → 원장 requestId 없음
+                    mutations.add(new WalletMutation(userId, LedgerType.EXPIRE, sum, null, null, "expire",
+                            r -> closeInTx(ids, expected, now)));
+                    groups.add(group);
+                });
+
+                List<CompletableFuture<WalletMutationResult>> results = walletService.applyAll(mutations);
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isCompletedExceptionally()) {
+                        failed++;
+                        continue;
+                    }
+                    users++;
+                    lotCount += groups.get(i).size();
+                    amount += mutations.get(i).amount();
+                    metrics.lotsExpired(groups.get(i).size(), mutations.get(i).amount());
+                }
+                if (due.size() < chunkSize) break;
+                pace(due.size(), System.nanoTime() - t0);
+            }
+            if (lotCount > 0 || failed > 0) {
+                log.info("[LOT] expired lots={} users={} amount={} failed={}", lotCount, users, amount, failed);
+            }
+            return new ExpiryRun(lotCount, users, amount, failed);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 지갑 트랜잭션 안에서: 읽은 뒤 바뀌지 않은 lot만 닫음 (차감으로 줄었으면 롤백)
+    private void closeInTx(List<Long> ids, long expected, Instant now) {
+        if (lotRepo.sumOpen(ids) != expected || lotRepo.expire(ids, now) != ids.size()) {
+            throw new BusinessException("LOT_CHANGED", HttpStatus.CONFLICT);
+        }
+    }
+
+    private void pace(int processed, long elapsedNanos) {
+        if (maxLotsPerSec <= 0) return;
+        long wait = TimeUnit.SECONDS.toNanos(processed) / maxLotsPerSec - elapsedNanos;
+        if (wait > 0) LockSupport.parkNanos(wait);
+    }
+}
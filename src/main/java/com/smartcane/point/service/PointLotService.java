@@ -0,0 +1,170 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.PointLot;
+import com.smartcane.point.entity.PointLotUsage;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.entity.enums.LotStatus;
+import com.smartcane.point.repository.PointLotRepository;
+import com.smartcane.point.repository.PointLotUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 적립 단위(lot) 기록: 지갑 쓰기 트랜잭션 안에서 새 원장을 순서대로 반영
+ * (WalletMutationEngine / LockingWalletWriter가 원장 저장 직후 호출, 멱등 재요청은 원장이 없으므로 호출되지 않음)
+ * - 적립(CHARGE): lot 생성, 만료 = 기록 시각 + point.lot.validity
+ * - 차감(DEBIT/CANCEL/HOLD): OPEN lot을 (expiresAt, id) 순으로 소진 → 앞부분 head-batch개씩만 읽음
+ *   (각 lot은 한 번만 소진되므로 차감 1건당 읽기는 amortized O(1)), 주문 차감은 소진 조각을 point_lot_usage에 남김
+ * - 환불/해제(REFUND/RELEASE): 같은 주문의 소진 조각을 원래 만료일로 되살림 (만료가 늦은 조각부터),
+ *   조각이 없거나 모자란 금액만 새 lot (유효기간이 지난 조각은 되살린 뒤 만료 엔진이 다시 소멸)
+ * - EXPIRE: 만료 엔진(PointExpiryService)이 같은 트랜잭션에서 대상 lot을 직접 닫으므로 건너뜀
+ * - 샤딩 지갑(ShardedWalletWriter)은 lot을 추적하지 않음 → 만료 대상에서도 제외, 샤딩 해제 시 reconcile로 맞춤
+ */
+@Slf4j
+@Service
+public class PointLotService {
+
+    /** 사용자별로 읽어 둔 OPEN lot 앞부분 (complete: 그 사용자의 OPEN lot을 모두 읽었음) */
+    private static final class Head {
+        final ArrayDeque<PointLot> lots;
+        final boolean complete;
+
+        Head(List<PointLot> lots, int limit) {
+            this.lots = new ArrayDeque<>(lots);
+            this.complete = lots.size() < limit;
+        }
+    }
+
+    private final PointLotRepository lotRepo;
+    private final PointLotUsageRepository usageRepo;
+    private final boolean enabled;
+    private final Duration validity;
+    private final int headBatch;
+
+    public PointLotService(PointLotRepository lotRepo,
+                           PointLotUsageRepository usageRepo,
+                           @Value("${point.lot.enabled:true}") boolean enabled,
+                           @Value("${point.lot.validity:P365D}") Duration validity,
+                           @Value("${point.lot.head-batch:8}") int headBatch) {
+        this.lotRepo = lotRepo;
+        this.usageRepo = usageRepo;
+        this.enabled = enabled;
+        this.validity = validity;
+        this.headBatch = Math.max(1, headBatch);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** 저장된(id가 있는) 원장을 기록 순서대로 lot에 반영 */
+    public void record(List<PointLedger> ledgers) {
+        if (!enabled || ledgers.isEmpty()) return;
+        Instant now = Instant.now();
+        Map<Long, Head> heads = new HashMap<>();
+        for (PointLedger l : ledgers) {
+            if (l.getType() == LedgerType.EXPIRE) continue;
+            if (l.getType().sign() > 0) {
+                long left = l.getAmount();
+                if (l.getType() != LedgerType.CHARGE && l.getOrderId() != null) {
+                    long restored = restore(l, now);
+                    // 되살린 lot은 만료가 앞설 수 있음 → 읽어 둔 앞부분을 버리고 다음 차감에서 다시 읽음
+                    if (restored > 0) heads.remove(l.getUserId());
+                    left -= restored;
+                }
+                if (left == 0) continue;
+                PointLot lot = lotRepo.save(lot(l.getUserId(), l.getId(), left, now.plus(validity), now));
+                // 앞부분만 읽어 둔 경우엔 붙이지 않음 (DB에 남은 더 이른 lot 뒤에 다시 읽힘)
+                Head head = heads.get(l.getUserId());
+                if (head != null && head.complete) head.lots.addLast(lot);
+            } else {
+                long left = consume(heads, l.getUserId(), l.getAmount(), l.getOrderId(), now);
+                // 지갑 잔액 검증은 이미 통과 → lot 부족은 추적 누락(샤딩 해제 전 변경 등), 차감은 막지 않음
+                if (left > 0) log.warn("[LOT] short userId={} ledgerId={} missing={}", l.getUserId(), l.getId(), left);
+            }
+        }
+    }
+
+    /**
+     * 샤딩 해제 시 (지갑 잠금 트랜잭션 안): 샤딩 동안 추적하지 않은 변경을 맞춰 OPEN lot 합 = 잔액
+     * - 모자라면 새 lot 하나, 남으면 만료가 이른 lot부터 소진
+     */
+    public void reconcile(Long userId, long balance) {
+        if (!enabled) return;
+        Instant now = Instant.now();
+        long diff = balance - lotRepo.sumOpenByUser(userId);
+        if (diff == 0) return;
+        if (diff > 0) {
+            lotRepo.save(lot(userId, null, diff, now.plus(validity), now));
+        } else {
+            consume(new HashMap<>(), userId, -diff, null, now);
+        }
+        log.info("[LOT] reconciled userId={} balance={} diff={}", userId, balance, diff);
+    }
+
+    /** 같은 주문의 소진 조각을 원래 만료일의 lot으로 되살림. 반환: 되살린 금액 */
+    private long restore(PointLedger l, Instant now) {
+        long left = l.getAmount();
+        for (PointLotUsage u : usageRepo.findRestorable(l.getUserId(), l.getOrderId())) {
+            if (left == 0) break;
+            long back = Math.min(left, u.getAmount() - u.getRestored());
+            u.setRestored(u.getRestored() + back);
+            lotRepo.save(lot(l.getUserId(), l.getId(), back, u.getExpiresAt(), now));
+            left -= back;
+        }
+        return l.getAmount() - left;
+    }
+
+    /** OPEN lot을 앞에서부터 소진 (orderId가 있으면 소진 조각 기록). 반환: 소진하지 못한 금액 */
+    private long consume(Map<Long, Head> heads, Long userId, long amount, String orderId, Instant now) {
+        long left = amount;
+        while (left > 0) {
+            Head head = heads.get(userId);
+            if (head == null || head.lots.isEmpty()) {
+                if (head != null && head.complete) break;
+                // 읽어 둔 lot은 모두 USED → 조회 전 자동 flush 후 다음 OPEN lot부터
+                head = new Head(lotRepo.findOpenHead(userId, Limit.of(headBatch)), headBatch);
+                heads.put(userId, head);
+                if (head.lots.isEmpty()) break;
+            }
+            PointLot lot = head.lots.peekFirst();
+            long take = Math.min(lot.getRemaining(), left);
+            lot.setRemaining(lot.getRemaining() - take);
+            lot.setUpdatedAt(now);
+            left -= take;
+            if (orderId != null && take > 0) {
+                usageRepo.save(PointLotUsage.builder()
+                        .userId(userId).orderId(orderId).lotId(lot.getId())
+                        .expiresAt(lot.getExpiresAt()).amount(take).restored(0).build());
+            }
+            if (lot.getRemaining() == 0) {
+                lot.setStatus(LotStatus.USED);
+                head.lots.pollFirst();
+            }
+        }
+        return left;
+    }
+
+    private static PointLot lot(Long userId, Long ledgerId, long amount, Instant expiresAt, Instant now) {
+        return PointLot.builder()
+                .userId(userId)
+                .ledgerId(ledgerId)
+                .amount(amount)
+                .remaining(amount)
+                .status(LotStatus.OPEN)
+                .expiresAt(expiresAt)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
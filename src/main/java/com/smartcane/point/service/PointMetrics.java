@@ -0,0 +1,203 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지갑/결제 내부 메트릭 (/actuator/prometheus)
+ * - 미터는 생성 시점에 모두 등록해 두고 필드로 보관 → 기록 경로에서 태그/빌더/Sample 객체를 만들지 않음
+ *   (시간은 System.nanoTime() 차이를 record(long, NANOSECONDS)로 기록)
+ * - 타이머는 percentile histogram 발행 → Prometheus에서 histogram_quantile로 p50/p99 계산
+ *
+ * point.wallet.lock.wait{mode=locking|engine}   행 잠금(FOR UPDATE) 대기 / 엔진 대기열 대기
+ * point.tx.duration{op=charge|debit|refund|ledger-cancel|pay|cancel}
+ * point.idempotency.lookups{layer=http|ledger, result=hit|miss}
+ * point.business.errors{code}                   GlobalExceptionHandler 응답 코드별
+ * point.outbox.published                        릴레이가 싱크로 전달한 이벤트 수
+ * point.mixed.step{step=reserve|pg-approve|capture|compensate}   혼합결제 단계별 소요
+ * point.pg.requests{result=approved|declined|timeout|error|busy}
+ * point.wallet.shard.ops{path=direct|spread|rebalance}   샤딩 지갑: 한 샤드 반영 / 여러 샤드 분할 차감 / 리밸런스
+ * point.lot.expired / point.lot.expired.amount   만료 엔진이 닫은 lot 수 / 소멸 금액
+ */
+@Component
+public class PointMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer lockWaitLocking;
+    private final Timer lockWaitEngine;
+    private final Timer[] walletTx = new Timer[LedgerType.values().length];
+    private final Timer payTx;
+    private final Timer cancelTx;
+    private final Timer payBatchTx;
+    private final Counter httpReplayHit;
+    private final Counter httpReplayMiss;
+    private final Counter ledgerReplayHit;
+    private final Counter ledgerReplayMiss;
+    private final Counter outboxPublished;
+    private final Timer[] mixedSteps = new Timer[MixedStep.values().length];
+    private final Map<String, Counter> pgResults = new ConcurrentHashMap<>();
+    private final Counter shardDirect;
+    private final Counter shardSpread;
+    private final Counter shardRebalance;
+    private final Counter lotsExpired;
+    private final Counter lotsExpiredAmount;
+    private final Map<String, Counter> businessErrors = new ConcurrentHashMap<>();
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockWaitLocking = lockWait(registry, "locking");
+        this.lockWaitEngine = lockWait(registry, "engine");
+        for (LedgerType t : LedgerType.values()) {
+            // 결제 취소(op=cancel)와 구분: 지갑 CANCEL 원장은 ledger-cancel
+            String op = t == LedgerType.CANCEL ? "ledger-cancel" : t.name().toLowerCase();
+            walletTx[t.ordinal()] = tx(registry, op);
+        }
+        this.payTx = tx(registry, "pay");
+        this.cancelTx = tx(registry, "cancel");
+        this.payBatchTx = tx(registry, "pay-batch");
+        this.httpReplayHit = lookup(registry, "http", "hit");
+        this.httpReplayMiss = lookup(registry, "http", "miss");
+        this.ledgerReplayHit = lookup(registry, "ledger", "hit");
+        this.ledgerReplayMiss = lookup(registry, "ledger", "miss");
+        this.outboxPublished = Counter.builder("point.outbox.published")
+                .description("Outbox events delivered to the sink")
+                .register(registry);
+        for (MixedStep step : MixedStep.values()) {
+            mixedSteps[step.ordinal()] = Timer.builder("point.mixed.step")
+                    .description("Mixed POINT+CARD payment step duration")
+                    .tag("step", step.tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        for (String result : new String[]{"approved", "declined", "timeout", "error", "busy"}) {
+            pgResults.put(result, Counter.builder("point.pg.requests")
+                    .description("PG approve calls by result")
+                    .tag("result", result)
+                    .register(registry));
+        }
+        this.shardDirect = shardOps(registry, "direct");
+        this.shardSpread = shardOps(registry, "spread");
+        this.shardRebalance = shardOps(registry, "rebalance");
+        this.lotsExpired = Counter.builder("point.lot.expired")
+                .description("Point lots closed by the expiry engine")
+                .register(registry);
+        this.lotsExpiredAmount = Counter.builder("point.lot.expired.amount")
+                .description("Points expired by the expiry engine")
+                .register(registry);
+    }
+
+    /** 혼합결제 단계 */
+    public enum MixedStep {
+        RESERVE("reserve"), PG_APPROVE("pg-approve"), CAPTURE("capture"), COMPENSATE("compensate");
+
+        private final String tag;
+
+        MixedStep(String tag) { this.tag = tag; }
+    }
+
+    /** 벤치마크 등 스프링 밖에서 엔진을 만들 때 */
+    public static PointMetrics noop() {
+        return new PointMetrics(new SimpleMeterRegistry());
+    }
+
+    public void lockWait(boolean engine, long nanos) {
+        (engine ? lockWaitEngine : lockWaitLocking).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void walletTx(LedgerType type, long nanos) {
+        walletTx[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void payTx(long nanos) {
+        payTx.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void cancelTx(long nanos) {
+        cancelTx.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void payBatchTx(long nanos) {
+        payBatchTx.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void httpReplay(boolean hit) {
+        (hit ? httpReplayHit : httpReplayMiss).increment();
+    }
+
+    public void ledgerReplay(boolean hit) {
+        (hit ? ledgerReplayHit : ledgerReplayMiss).increment();
+    }
+
+    public void mixedStep(MixedStep step, long nanos) {
+        mixedSteps[step.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** result: approved | declined | timeout | error | busy (미리 등록된 태그만) */
+    public void pgResult(String result) {
+        pgResults.get(result).increment();
+    }
+
+    public void shardOp(boolean spread) {
+        (spread ? shardSpread : shardDirect).increment();
+    }
+
+    public void shardRebalance() {
+        shardRebalance.increment();
+    }
+
+    public void lotsExpired(int lots, long amount) {
+        lotsExpired.increment(lots);
+        lotsExpiredAmount.increment(amount);
+    }
+
+    public void outboxPublished(int count) {
+        outboxPublished.increment(count);
+    }
+
+    /** 에러 응답 경로: 코드별 카운터는 처음 한 번만 등록하고 이후엔 조회만 */
+    public void businessError(String code) {
+        businessErrors.computeIfAbsent(code, c -> Counter.builder("point.business.errors")
+                .description("Business error responses by code")
+                .tag("code", c)
+                .register(registry)).increment();
+    }
+
+    private static Timer lockWait(MeterRegistry registry, String mode) {
+        return Timer.builder("point.wallet.lock.wait")
+                .description("Wallet row lock (locking) or stripe queue (engine) wait")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer tx(MeterRegistry registry, String op) {
+        return Timer.builder("point.tx.duration")
+                .description("Transaction duration per wallet/payment operation")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter shardOps(MeterRegistry registry, String path) {
+        return Counter.builder("point.wallet.shard.ops")
+                .description("Sharded wallet writes by path")
+                .tag("path", path)
+                .register(registry);
+    }
+
+    private static Counter lookup(MeterRegistry registry, String layer, String result) {
+        return Counter.builder("point.idempotency.lookups")
+                .description("Idempotent replay lookups (http: stored response, ledger: existing ledger row)")
+                .tag("layer", layer)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,287 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.ReconciliationReport;
+import com.smartcane.point.entity.ReconciliationChunk;
+import com.smartcane.point.entity.ReconciliationMismatch;
+import com.smartcane.point.entity.ReconciliationRun;
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.ReconciliationChunkRepository;
+import com.smartcane.point.repository.ReconciliationChunkSummary;
+import com.smartcane.point.repository.ReconciliationMismatchRepository;
+import com.smartcane.point.repository.ReconciliationRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지갑-원장 대사: point_wallet.balance = SUM(부호(type) × amount) (SUCCESS 원장)
+ * - 전체 GROUP BY 한 번 대신 userId 구간(chunk-users 폭)별 쿼리 → 한 쿼리가 읽는 범위/시간이 작음
+ * - parallelism 개의 가상 스레드가 다음 구간을 가져가며 병렬 검사 (각자 커넥션 1개 → 풀 크기 이하로 설정)
+ * - 구간 쿼리는 읽기 전용 트랜잭션 + 순방향 커서(fetchSize)로 스트리밍, 불일치 행만 메모리에 남김
+ * - 지갑과 원장 합을 한 문장(JOIN)으로 읽어 같은 스냅샷에서 비교 → 운영 중 쓰기로 인한 거짓 불일치 없음
+ * - 구간이 끝나면 불일치 + 체크포인트를 한 트랜잭션에 기록, 중단된 실행은 다음 시작 때 남은 구간만 진행
+ * - 부호는 LedgerType.sign()에서 생성 → 원장 구분이 추가되어도 쿼리를 따로 고치지 않음
+ * - use-snapshots: 원장 합 = 최신 wallet_snapshot + 그 이후 원장 → 사용자당 읽는 원장이 전체 이력이 아니라 증분
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private static final String RANGE_SQL = "SELECT MIN(user_id), MAX(user_id) FROM point_wallet";
+    // 샤딩된 지갑 잔액 = 지갑 행 + 샤드 합계 (같은 문장 안에서 읽어 스냅샷 일관성 유지)
+    private static final String WALLET_BALANCE =
+            "w.balance + CASE WHEN w.shard_count > 0 THEN COALESCE((SELECT SUM(ws.balance) " +
+            "FROM point_wallet_shard ws WHERE ws.user_id = w.user_id), 0) ELSE 0 END";
+    static final String CHUNK_SQL =
+            "SELECT w.user_id, " + WALLET_BALANCE + ", COALESCE(s.total, 0) FROM point_wallet w " +
+            "LEFT JOIN (SELECT l.user_id, SUM(" + signedAmount() + ") AS total FROM point_ledger l " +
+            "WHERE l.user_id >= ? AND l.user_id < ? AND l.status = '" + LedgerStatus.SUCCESS.name() + "' " +
+            "GROUP BY l.user_id) s ON s.user_id = w.user_id " +
+            "WHERE w.user_id >= ? AND w.user_id < ?";
+    // 스냅샷(원장에서 계산, 불변) 이후 원장만 합산: 사용자별 상관 서브쿼리가 idx_user_created 범위만 읽음
+    static final String CHUNK_SNAPSHOT_SQL =
+            "SELECT w.user_id, " + WALLET_BALANCE + ", COALESCE(sn.balance, 0) + COALESCE((" +
+            "SELECT SUM(" + signedAmount() + ") FROM point_ledger l " +
+            "WHERE l.user_id = w.user_id AND l.status = '" + LedgerStatus.SUCCESS.name() + "' " +
+            "AND (sn.as_of IS NULL OR l.created_at > sn.as_of)), 0) FROM point_wallet w " +
+            "LEFT JOIN wallet_snapshot sn ON sn.user_id = w.user_id " +
+            "AND sn.as_of = (SELECT MAX(s2.as_of) FROM wallet_snapshot s2 WHERE s2.user_id = w.user_id) " +
+            "WHERE w.user_id >= ? AND w.user_id < ?";
+
+    private final ReconciliationRunRepository runRepo;
+    private final ReconciliationChunkRepository chunkRepo;
+    private final ReconciliationMismatchRepository mismatchRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final int parallelism;
+    private final int chunkUsers;
+    private final int fetchSize;
+    private final int reportLimit;
+    private final String chunkSql;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public ReconciliationService(ReconciliationRunRepository runRepo,
+                                 ReconciliationChunkRepository chunkRepo,
+                                 ReconciliationMismatchRepository mismatchRepo,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager txManager,
+                                 @Value("${point.reconciliation.parallelism:4}") int parallelism,
+                                 @Value("${point.reconciliation.chunk-users:1000}") int chunkUsers,
+                                 @Value("${point.reconciliation.fetch-size:500}") int fetchSize,
+                                 @Value("${point.reconciliation.report-limit:1000}") int reportLimit,
+                                 @Value("${point.reconciliation.use-snapshots:true}") boolean useSnapshots) {
+        this.runRepo = runRepo;
+        this.chunkRepo = chunkRepo;
+        this.mismatchRepo = mismatchRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(txManager);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.parallelism = parallelism;
+        this.chunkUsers = chunkUsers;
+        this.fetchSize = fetchSize;
+        this.reportLimit = reportLimit;
+        this.chunkSql = useSnapshots ? CHUNK_SNAPSHOT_SQL : CHUNK_SQL;
+    }
+
+    /** 새 실행 시작(또는 중단된 실행 재개) 후 백그라운드 진행, 시작 시점 현황을 바로 반환 */
+    public ReconciliationReport start(Integer parallelismOverride) {
+        ReconciliationRun run = acquire();
+        int workers = workers(parallelismOverride);
+        Thread.ofVirtual().name("reconciliation-" + run.getId()).start(() -> {
+            try {
+                execute(run, workers);
+            } catch (RuntimeException e) {
+                log.error("[RECON] run={} failed, resumable - {}", run.getId(), e.toString());
+            } finally {
+                running.set(false);
+            }
+        });
+        return report(run.getId());
+    }
+
+    /** 호출 스레드에서 끝까지 실행 (스케줄/배치) */
+    public ReconciliationReport run(Integer parallelismOverride) {
+        ReconciliationRun run = acquire();
+        try {
+            execute(run, workers(parallelismOverride));
+        } finally {
+            running.set(false);
+        }
+        return report(run.getId());
+    }
+
+    @Scheduled(cron = "${point.reconciliation.cron:-}")
+    public void scheduled() {
+        if (running.get()) return;
+        run(null);
+    }
+
+    public ReconciliationReport report(Long runId) {
+        ReconciliationRun run = runRepo.findById(runId).orElseThrow(() -> new NotFoundException("RECONCILIATION_RUN"));
+        ReconciliationChunkSummary summary = chunkRepo.summarize(runId);
+        long chunksTotal = run.getMaxUserId() < run.getMinUserId()
+                ? 0 : (run.getMaxUserId() - run.getMinUserId()) / run.getChunkUsers() + 1;
+        List<ReconciliationReport.Mismatch> mismatches = mismatchRepo
+                .findByRunIdOrderByUserIdAsc(runId, Limit.of(reportLimit)).stream()
+                .map(m -> new ReconciliationReport.Mismatch(m.getUserId(), m.getWalletBalance(), m.getLedgerBalance(),
+                        m.getWalletBalance() - m.getLedgerBalance()))
+                .toList();
+        return new ReconciliationReport(run.getId(), run.getStatus(), run.getMinUserId(), run.getMaxUserId(),
+                run.getChunkUsers(), summary.chunks(), chunksTotal, summary.wallets(), summary.mismatches(),
+                mismatches, run.getStartedAt(), run.getFinishedAt());
+    }
+
+    /** 한 노드에서 동시에 한 실행만, RUNNING으로 남은 실행이 있으면 그것을 이어서 */
+    private ReconciliationRun acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("RECONCILIATION_RUNNING", HttpStatus.CONFLICT);
+        }
+        try {
+            return runRepo.findFirstByStatusOrderByIdDesc(ReconciliationRun.RUNNING).orElseGet(() -> {
+                long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, i) -> {
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? new long[]{0, -1} : new long[]{min, rs.getLong(2)};   // 지갑 없음 → 빈 구간
+                });
+                return runRepo.save(ReconciliationRun.builder()
+                        .status(ReconciliationRun.RUNNING)
+                        .minUserId(range[0])
+                        .maxUserId(range[1])
+                        .chunkUsers(chunkUsers)
+                        .build());
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void execute(ReconciliationRun run, int workers) {
+        Set<Long> done = new HashSet<>(chunkRepo.findChunkStarts(run.getId()));
+        AtomicLong next = new AtomicLong(run.getMinUserId());
+        long width = run.getChunkUsers();
+        long t0 = System.nanoTime();
+        log.info("[RECON] run={} users=[{}, {}], chunk={}, workers={}, resumedChunks={}",
+                run.getId(), run.getMinUserId(), run.getMaxUserId(), width, workers, done.size());
+
+        try (ExecutorService pool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("recon-", 0).factory())) {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(pool.submit(() -> {
+                    long start;
+                    while (!stopping && (start = next.getAndAdd(width)) <= run.getMaxUserId()) {
+                        if (!done.contains(start)) checkChunk(run.getId(), start, start + width);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            // 완료된 구간은 체크포인트에 남아 있으므로 다음 실행이 이어서 진행
+            throw new IllegalStateException("reconciliation chunk failed", e.getCause());
+        }
+        if (stopping) {
+            log.info("[RECON] run={} stopped, resumable", run.getId());
+            return;
+        }
+
+        run.setStatus(ReconciliationRun.COMPLETED);
+        run.setFinishedAt(Instant.now());
+        runRepo.save(run);
+        ReconciliationChunkSummary s = chunkRepo.summarize(run.getId());
+        log.info("[RECON] run={} completed wallets={}, mismatches={}, elapsedMs={}",
+                run.getId(), s.wallets(), s.mismatches(), (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    /** [start, end) 구간 검사 → 불일치 + 체크포인트 기록 */
+    private void checkChunk(Long runId, long start, long end) {
+        List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        long[] wallets = new long[1];
+        readOnlyTx.executeWithoutResult(s -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(chunkSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            int i = 1;
+            if (chunkSql == CHUNK_SQL) {
+                ps.setLong(i++, start);
+                ps.setLong(i++, end);
+            }
+            ps.setLong(i++, start);
+            ps.setLong(i, end);
+            return ps;
+        }, rs -> {
+            wallets[0]++;
+            long walletBalance = rs.getLong(2);
+            long ledgerBalance = rs.getLong(3);
+            if (walletBalance != ledgerBalance) {
+                mismatches.add(ReconciliationMismatch.builder()
+                        .runId(runId)
+                        .userId(rs.getLong(1))
+                        .walletBalance(walletBalance)
+                        .ledgerBalance(ledgerBalance)
+                        .build());
+            }
+        }));
+
+        tx.executeWithoutResult(s -> {
+            if (!mismatches.isEmpty()) mismatchRepo.saveAll(mismatches);
+            chunkRepo.save(ReconciliationChunk.builder()
+                    .runId(runId)
+                    .chunkStart(start)
+                    .wallets(wallets[0])
+                    .mismatches(mismatches.size())
+                    .build());
+        });
+        if (!mismatches.isEmpty()) {
+            log.warn("[RECON] run={} users=[{}, {}) mismatches={}", runId, start, end, mismatches.size());
+        }
+    }
+
+    private int workers(Integer override) {
+        int n = override != null ? override : parallelism;
+        if (n < 1) throw new BusinessException("INVALID_PARALLELISM");
+        return n;
+    }
+
+    /** CASE l.type WHEN 'CHARGE' THEN l.amount WHEN 'DEBIT' THEN -l.amount ... END (모르는 구분은 NULL → 불일치로 드러남) */
+    private static String signedAmount() {
+        StringBuilder sb = new StringBuilder("CASE l.type");
+        for (LedgerType t : LedgerType.values()) {
+            sb.append(" WHEN '").append(t.name()).append("' THEN ").append(t.sign() > 0 ? "l.amount" : "-l.amount");
+        }
+        return sb.append(" END").toString();
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true;   // 진행 중 구간까지만 끝내고 RUNNING으로 남김 → 재시작 후 재개
+    }
+}
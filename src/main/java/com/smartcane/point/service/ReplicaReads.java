@@ -0,0 +1,67 @@
+package com.smartcane.point.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 조회 경로의 replica 라우팅 (point.datasource.replica.url 이 있을 때만, ReadWriteDataSourceConfig)
+ * - read(userId, work): 읽기 전용 트랜잭션 + replica 표시 → 라우팅 DataSource가 replica 풀에서 커넥션을 받음
+ * - read-your-writes: 지갑 변경이 커밋된 사용자는 read-your-writes 동안 primary에서 읽음
+ *   (다른 노드의 커밋은 WalletInvalidationBus로 받아 같이 표시, 값은 replica 복제 지연보다 크게)
+ * - 표시 없이 열린 읽기 전용 트랜잭션(Spring Data 기본 조회 등)은 primary 유지
+ *   → 쓰기 경로의 멱등/존재 확인이 복제 지연으로 빗나가지 않음
+ */
+@Component
+public class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final TransactionTemplate readTx;
+    private final Cache<Long, Boolean> recentWrites;
+
+    public ReplicaReads(PlatformTransactionManager txManager,
+                        WalletInvalidationBus bus,
+                        @Value("${point.datasource.replica.url:}") String replicaUrl,
+                        @Value("${point.datasource.replica.read-your-writes:PT5S}") Duration readYourWrites) {
+        this.enabled = !replicaUrl.isBlank();
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWrites)
+                .maximumSize(1_000_000)
+                .build();
+        bus.subscribe((userId, version) -> wrote(userId));
+    }
+
+    /** 현재 트랜잭션이 replica로 가야 하는지 (라우팅 DataSource가 커넥션을 받을 때 호출) */
+    public static boolean routed() {
+        return REPLICA.get() != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /** userId에 최근 쓰기가 없으면 replica에서, 있으면(또는 replica 미구성) 지금처럼 primary에서 실행 */
+    public <T> T read(Long userId, Supplier<T> work) {
+        if (!enabled || (userId != null && recentWrites.getIfPresent(userId) != null) || REPLICA.get() != null) {
+            return work.get();
+        }
+        REPLICA.set(Boolean.TRUE);
+        try {
+            return readTx.execute(s -> work.get());
+        } finally {
+            REPLICA.remove();
+        }
+    }
+
+    /** 지갑 변경 커밋 후 호출 */
+    public void wrote(Long userId) {
+        if (enabled) recentWrites.put(userId, Boolean.TRUE);
+    }
+}
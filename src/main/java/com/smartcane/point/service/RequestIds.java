@@ -0,0 +1,37 @@
+package com.smartcane.point.service;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버가 발급하는 id (requestId 등, 클라이언트가 주지 않은 경우) - UUID v7 (RFC 9562) 문자열
+ * - 앞 48비트가 밀리초 시각 → request_id/request_key/order_id 인덱스에 오른쪽 끝으로만 삽입
+ *   (임의 UUID는 B-tree 전체에 흩어져 페이지 분할/버퍼 풀 교체를 늘림)
+ * - 같은 밀리초 안에서는 rand_a 12비트를 카운터로 써 노드 내 단조 증가 (넘치면 다음 밀리초 값을 빌려 씀)
+ * - 노드 간 충돌은 하위 62비트 난수로 회피 (조정 불필요), 멱등키라 추측 불가능할 필요는 없어 ThreadLocalRandom 사용
+ * - 소문자 16진 고정 길이 → 문자열 정렬 순서 = 발급 순서
+ */
+public final class RequestIds {
+
+    private static final AtomicLong LAST = new AtomicLong();   // (unix ms << 12) | 카운터
+
+    private RequestIds() {}
+
+    public static String next() {
+        return nextUuid().toString();
+    }
+
+    static UUID nextUuid() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.accumulateAndGet(now, (last, n) -> n > last ? n : last + 1);
+        long msb = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);                        // unix_ts_ms | ver 7 | rand_a(카운터)
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;   // IETF variant | rand_b
+        return new UUID(msb, lsb);
+    }
+
+    /** 요청에 값이 있으면 그대로, 없으면 발급 */
+    public static String orNext(String requested) {
+        return requested == null || requested.isBlank() ? next() : requested;
+    }
+}
@@ -0,0 +1,328 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.AuthorizePaymentRequest;
+import com.smartcane.point.dto.CapturePaymentRequest;
+import com.smartcane.point.dto.ReservationResponse;
+import com.smartcane.point.dto.VoidPaymentRequest;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.PaymentCancel;
+import com.smartcane.point.entity.PointHold;
+import com.smartcane.point.entity.enums.CancelReason;
+import com.smartcane.point.entity.enums.HoldStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.entity.enums.PaymentMethod;
+import com.smartcane.point.entity.enums.PaymentStatus;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PaymentCancelRepository;
+import com.smartcane.point.repository.PaymentRepository;
+import com.smartcane.point.repository.PointHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 포인트 예약 결제 (승인 → 확정/취소, 미확정 예약은 만료)
+ * - 승인(authorize): HOLD 원장으로 가용 잔액에서 빼고 같은 트랜잭션에서 payment(AUTHORIZED) + point_hold(ACTIVE) 기록
+ * - 확정(capture): point_hold/payment 조건부 UPDATE만 → 지갑 행을 잠그지 않아 지갑 쓰기와 경합하지 않음
+ * - 취소(void)/만료: RELEASE 원장으로 되돌림, requestId를 홀드 기준("hold-release:{holdId}")으로 고정해
+ *   취소와 만료가 겹쳐도 원장 멱등키로 한 번만 반영
+ * - 만료 스위퍼: (status, expiry_bucket) 인덱스로 지난 버킷의 ACTIVE 홀드만 읽어 배치로 해제
+ */
+@Slf4j
+@Service
+public class ReservationService {
+
+    private static final String VOIDED = "PAYMENT_VOIDED";
+    private static final String EXPIRED = "PAYMENT_EXPIRED";
+
+    private final PaymentRepository paymentRepo;
+    private final PaymentCancelRepository cancelRepo;
+    private final PointHoldRepository holdRepo;
+    private final WalletService walletService;
+    private final WalletShardService shards;
+    private final OutboxWriter outbox;
+    private final OrderIdFilter orderIds;
+    private final TransactionTemplate tx;
+    private final Duration holdTtl;
+    private final Duration maxHoldTtl;
+    private final long bucketSeconds;
+    private final int sweepBatch;
+
+    public ReservationService(PaymentRepository paymentRepo,
+                              PaymentCancelRepository cancelRepo,
+                              PointHoldRepository holdRepo,
+                              WalletService walletService,
+                              WalletShardService shards,
+                              OutboxWriter outbox,
+                              OrderIdFilter orderIds,
+                              TransactionTemplate tx,
+                              @Value("${point.reservation.hold-ttl:PT15M}") Duration holdTtl,
+                              @Value("${point.reservation.max-hold-ttl:PT24H}") Duration maxHoldTtl,
+                              @Value("${point.reservation.bucket-seconds:60}") long bucketSeconds,
+                              @Value("${point.reservation.sweep-batch:500}") int sweepBatch) {
+        this.paymentRepo = paymentRepo;
+        this.cancelRepo = cancelRepo;
+        this.holdRepo = holdRepo;
+        this.walletService = walletService;
+        this.shards = shards;
+        this.outbox = outbox;
+        this.orderIds = orderIds;
+        this.tx = tx;
+        this.holdTtl = holdTtl;
+        this.maxHoldTtl = maxHoldTtl;
+        this.bucketSeconds = Math.max(1, bucketSeconds);
+        this.sweepBatch = sweepBatch;
+    }
+
+    public ReservationResponse authorize(Long userId, AuthorizePaymentRequest req) {
+        return authorize(userId, req, RequestIds.orNext(req.requestId()));
+    }
+
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public ReservationResponse authorize(Long userId, AuthorizePaymentRequest req, String requestId) {
+        return reserve(userId, req, requestId, PaymentMethod.POINT, 0).response();
+    }
+
+    /** 승인 결과: created=false면 기존 주문 상태를 그대로 돌려준 멱등 응답 */
+    record Reserved(ReservationResponse response, boolean created) {}
+
+    /** 포인트 홀드 + 결제(AUTHORIZED) 생성, 혼합결제는 method=MIXED와 카드 금액을 함께 기록 */
+    Reserved reserve(Long userId, AuthorizePaymentRequest req, String requestId, PaymentMethod method, long cashAmount) {
+        if (req.totalAmount() <= 0) throw new BusinessException("INVALID_TOTAL_AMOUNT");
+        if (req.pointAmount() <= 0) throw new BusinessException("INVALID_POINT_AMOUNT");
+        if (req.pointAmount() + cashAmount > req.totalAmount()) throw new BusinessException("POINT_EXCEED_TOTAL");
+        Duration ttl = req.holdSeconds() == null ? holdTtl : Duration.ofSeconds(req.holdSeconds());
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxHoldTtl) > 0) {
+            throw new BusinessException("INVALID_HOLD_TTL");
+        }
+
+        // 주문 기준 멱등: 이미 승인/확정/취소된 주문이면 현재 상태 리턴 (필터가 없는 주문이라고 하면 조회 생략)
+        boolean probed = orderIds.mightExist(req.orderId());
+        Payment existing = probed ? paymentRepo.findByOrderId(req.orderId()).orElse(null) : null;
+        if (existing != null) {
+            log.info("[AUTH] idempotent orderId={}, userId={}, status={}", req.orderId(), userId, existing.getStatus());
+            return new Reserved(current(existing), false);
+        }
+
+        Payment payment = new Payment();
+        payment.setUserId(userId);
+        payment.setOrderId(req.orderId());
+        payment.setMethod(method);
+        payment.setStatus(PaymentStatus.AUTHORIZED);
+        payment.setTotalAmount(req.totalAmount());
+        payment.setPointAmount(req.pointAmount());
+        payment.setCashAmount(cashAmount);
+        payment.setLastRequestId(requestId);
+
+        Instant expiresAt = Instant.now().plus(ttl);
+        PointHold[] hold = new PointHold[1];
+        WalletMutationResult held;
+        try {
+            held = walletService.hold(userId, req.pointAmount(), requestId, req.orderId(), r -> {
+                payment.setId(null);   // 재시도 트랜잭션: 롤백된 INSERT의 id를 버리고 새 행으로
+                paymentRepo.save(payment);
+                hold[0] = holdRepo.save(PointHold.builder()
+                        .paymentId(payment.getId())
+                        .userId(userId)
+                        .orderId(req.orderId())
+                        .amount(req.pointAmount())
+                        .status(HoldStatus.ACTIVE)
+                        .walletVersion(r.version())
+                        .expiresAt(expiresAt)
+                        .expiryBucket(bucket(expiresAt))
+                        .build());
+                outbox.paymentAuthorized(payment, hold[0], r);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 같은 orderId가 동시에 먼저 승인됨(uk_payment_order) → 홀드는 롤백됨, 현재 상태로 멱등 응답
+            Payment winner = paymentRepo.findByOrderId(req.orderId()).orElseThrow(() -> e);
+            log.info("[AUTH] concurrent duplicate orderId={}, userId={}, status={}", req.orderId(), userId, winner.getStatus());
+            return new Reserved(current(winner), false);
+        } catch (BusinessException e) {
+            // 조회를 건너뛴 주문이 다른 노드에서 이미 진행됐으면(잔액 부족 등) 지금처럼 기존 주문 기준으로 응답
+            if (probed) throw e;
+            return paymentRepo.findByOrderId(req.orderId()).map(p -> new Reserved(current(p), false))
+                    .orElseThrow(() -> e);
+        }
+        if (hold[0] == null) {
+            // 같은 requestId의 HOLD 원장이 이미 있음(재요청) → 후속 작업은 실행되지 않았으므로 저장된 상태로 응답
+            return paymentRepo.findByOrderId(req.orderId()).map(p -> new Reserved(current(p), false))
+                    .orElseThrow(() -> new BusinessException("REQUEST_ID_REUSED", HttpStatus.CONFLICT));
+        }
+
+        orderIds.add(req.orderId());
+        log.info("[AUTH] AUTHORIZED orderId={}, userId={}, pointAmount={}, expiresAt={}, newBalance={}",
+                req.orderId(), userId, req.pointAmount(), expiresAt, held.balance());
+        return new Reserved(new ReservationResponse(payment.getOrderId(), payment.getStatus().name(),
+                HoldStatus.ACTIVE.name(), payment.getPointAmount(), expiresAt, held.balance()), true);
+    }
+
+    /** 확정: 지갑은 승인 때 이미 차감됨 → 홀드/결제 상태만 바꾼다 */
+    public ReservationResponse capture(Long userId, CapturePaymentRequest req) {
+        return capture(userId, req, RequestIds.orNext(req.requestId()));
+    }
+
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public ReservationResponse capture(Long userId, CapturePaymentRequest req, String requestId) {
+        return capture(userId, req, requestId, null);
+    }
+
+    /** pgTransactionId: 혼합결제의 카드 승인 번호 (확정과 같은 트랜잭션에 기록) */
+    ReservationResponse capture(Long userId, CapturePaymentRequest req, String requestId, String pgTransactionId) {
+        Payment payment = owned(userId, req.orderId());
+        if (PaymentStatus.CAPTURED.equals(payment.getStatus())) {
+            log.info("[CAPTURE] idempotent CAPTURED orderId={}, userId={}", req.orderId(), userId);
+            return current(payment);
+        }
+        if (!PaymentStatus.AUTHORIZED.equals(payment.getStatus())) {
+            throw new BusinessException("PAYMENT_NOT_AUTHORIZED", HttpStatus.CONFLICT);
+        }
+        PointHold hold = holdRepo.findByPaymentId(payment.getId())
+                .orElseThrow(() -> new BusinessException("HOLD_NOT_FOUND"));
+
+        Instant now = Instant.now();
+        boolean captured = Boolean.TRUE.equals(tx.execute(s -> {
+            if (holdRepo.capture(hold.getId(), now) == 0) return false;
+            paymentRepo.transition(payment.getId(), PaymentStatus.AUTHORIZED, PaymentStatus.CAPTURED, requestId, now);
+            if (pgTransactionId != null) paymentRepo.updatePgTransactionId(payment.getId(), pgTransactionId);
+            payment.setStatus(PaymentStatus.CAPTURED);
+            if (outbox.enabled()) outbox.holdCaptured(payment, hold, shards.totals(userId).version());
+            return true;
+        }));
+        if (!captured) {
+            // 확정/해제/만료가 먼저 일어남 → 최신 상태 기준으로 판단
+            HoldStatus status = holdRepo.findByPaymentId(payment.getId()).map(PointHold::getStatus).orElse(null);
+            if (status == HoldStatus.CAPTURED) {
+                return current(paymentRepo.findByOrderId(req.orderId()).orElse(payment));
+            }
+            throw new BusinessException(status == HoldStatus.ACTIVE ? "RESERVATION_EXPIRED" : "HOLD_NOT_ACTIVE",
+                    HttpStatus.CONFLICT);
+        }
+
+        log.info("[CAPTURE] CAPTURED orderId={}, userId={}, pointAmount={}", req.orderId(), userId, hold.getAmount());
+        return new ReservationResponse(payment.getOrderId(), payment.getStatus().name(), HoldStatus.CAPTURED.name(),
+                payment.getPointAmount(), hold.getExpiresAt(), walletService.get(userId).balance());
+    }
+
+    /** 취소: 묶인 금액 전액을 되돌리고 결제는 CANCELED */
+    public ReservationResponse voidHold(Long userId, VoidPaymentRequest req) {
+        return voidHold(userId, req, RequestIds.orNext(req.requestId()));
+    }
+
+    /** requestId: 호출자가 이미 정한 값 (req.requestId()는 보지 않음) */
+    public ReservationResponse voidHold(Long userId, VoidPaymentRequest req, String requestId) {
+        return voidHold(userId, req, requestId, CancelReason.USER_REQUEST);
+    }
+
+    /** reason: 사용자 취소(USER_REQUEST) / 카드 승인 실패 보상(PG_REJECT) */
+    ReservationResponse voidHold(Long userId, VoidPaymentRequest req, String requestId, CancelReason reason) {
+        Payment payment = owned(userId, req.orderId());
+        if (PaymentStatus.CANCELED.equals(payment.getStatus())) {
+            log.info("[VOID] idempotent already canceled orderId={}, userId={}", req.orderId(), userId);
+            return current(payment);
+        }
+        if (!PaymentStatus.AUTHORIZED.equals(payment.getStatus())) {
+            throw new BusinessException("PAYMENT_NOT_AUTHORIZED", HttpStatus.CONFLICT);
+        }
+        PointHold hold = holdRepo.findByPaymentId(payment.getId())
+                .orElseThrow(() -> new BusinessException("HOLD_NOT_FOUND"));
+
+        WalletMutationResult released = walletService.release(userId, hold.getAmount(), releaseRequestId(hold),
+                hold.getOrderId(), "void", r -> releaseInTx(hold, HoldStatus.RELEASED, requestId,
+                        reason, req.reasonMessage(), VOIDED, r));
+        if (released.replayed()) {
+            // 만료 스위퍼가 먼저 해제함
+            return current(paymentRepo.findByOrderId(req.orderId()).orElse(payment));
+        }
+
+        log.info("[VOID] orderId={}, userId={}, releasedAmount={}, walletBalance={}",
+                req.orderId(), userId, hold.getAmount(), released.balance());
+        return new ReservationResponse(payment.getOrderId(), PaymentStatus.CANCELED.name(), HoldStatus.RELEASED.name(),
+                0, hold.getExpiresAt(), released.balance());
+    }
+
+    /**
+     * 만료 스위퍼: 지난 버킷의 ACTIVE 홀드를 sweepBatch씩 읽어 해제
+     * - 한 배치는 WalletService.applyAll로 사용자별 그룹 커밋 (홀드마다 트랜잭션을 따로 열지 않음)
+     * - 그사이 확정/취소된 홀드는 조건부 UPDATE가 0건 → 해당 항목만 롤백
+     */
+    @Scheduled(fixedDelayString = "${point.reservation.sweep-interval-ms:10000}",
+            initialDelayString = "${point.reservation.sweep-interval-ms:10000}")
+    public int sweepExpired() {
+        int total = 0;
+        while (true) {
+            Instant now = Instant.now();
+            List<PointHold> expired = holdRepo.findExpired(bucket(now), now, Limit.of(sweepBatch));
+            if (expired.isEmpty()) break;
+
+            List<WalletMutation> mutations = new ArrayList<>(expired.size());
+            for (PointHold h : expired) {
+                mutations.add(new WalletMutation(h.getUserId(), LedgerType.RELEASE, h.getAmount(),
+                        releaseRequestId(h), h.getOrderId(), "expire",
+                        r -> releaseInTx(h, HoldStatus.EXPIRED, "expire", CancelReason.EXPIRED_RESERVATION,
+                                null, EXPIRED, r)));
+            }
+            int released = 0;
+            for (CompletableFuture<WalletMutationResult> f : walletService.applyAll(mutations)) {
+                if (!f.isCompletedExceptionally()) released++;
+            }
+            total += released;
+            if (expired.size() < sweepBatch || released == 0) break;   // 남은 게 없거나 진척 없음
+        }
+        if (total > 0) log.info("[HOLD] expired {} reservations", total);
+        return total;
+    }
+
+    // 지갑 트랜잭션 안에서: 홀드 ACTIVE→to 전이가 성공해야 해제 반영 (실패 시 예외로 롤백)
+    private void releaseInTx(PointHold hold, HoldStatus to, String requestId, CancelReason reason,
+                             String reasonMessage, String eventType, WalletMutationResult r) {
+        Instant now = Instant.now();
+        if (holdRepo.transition(hold.getId(), to, now) == 0) {
+            throw new BusinessException("HOLD_NOT_ACTIVE", HttpStatus.CONFLICT);
+        }
+        cancelRepo.save(PaymentCancel.builder()
+                .paymentId(hold.getPaymentId())
+                .cancelAmount(hold.getAmount())
+                .reasonCode(reason.name())
+                .reasonMessage(reasonMessage)
+                .build());
+        paymentRepo.updateAfterCancel(hold.getPaymentId(), 0, PaymentStatus.CANCELED, requestId, now);
+        outbox.holdReleased(hold, eventType, r);
+    }
+
+    private Payment owned(Long userId, String orderId) {
+        Payment payment = paymentRepo.findByOrderId(orderId)
+                .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND"));
+        if (!Objects.equals(payment.getUserId(), userId)) {
+            throw new BusinessException("PAYMENT_USER_MISMATCH");
+        }
+        return payment;
+    }
+
+    private ReservationResponse current(Payment p) {
+        PointHold hold = holdRepo.findByPaymentId(p.getId()).orElse(null);
+        return new ReservationResponse(p.getOrderId(), p.getStatus().name(),
+                hold != null ? hold.getStatus().name() : null, p.getPointAmount(),
+                hold != null ? hold.getExpiresAt() : null, walletService.get(p.getUserId()).balance());
+    }
+
+    private long bucket(Instant t) {
+        return t.getEpochSecond() / bucketSeconds;
+    }
+
+    private static String releaseRequestId(PointHold hold) {
+        return "hold-release:" + hold.getId();
+    }
+}
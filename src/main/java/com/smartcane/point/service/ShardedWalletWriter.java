@@ -0,0 +1,193 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.PointWalletShard;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointLedgerRepository;
+import com.smartcane.point.repository.PointWalletRepository;
+import com.smartcane.point.repository.PointWalletShardRepository;
+import com.smartcane.point.repository.ShardBalance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 샤딩된 지갑 쓰기 (point_wallet.shard_count > 0 인 지갑만, WalletService가 라우팅)
+ * - 지갑 행(FOR UPDATE/@Version)을 건드리지 않고 샤드 한 행에 조건부 UPDATE → 같은 지갑의 동시 쓰기가 K개 행으로 분산
+ * - 가드 샤드 = hash(requestId, type) % K: 같은 요청의 중복 전송은 같은 행에서 줄을 서므로,
+ *   가드 UPDATE 뒤의 멱등 원장 조회가 먼저 커밋된 원장을 본다 (중복이면 롤백 후 replay)
+ * - 차감: 가드 샤드 잔액이 모자라면 가드를 0 변경으로 잠가 둔 채 더 큰 번호 샤드 중 잔액이 충분한 곳에 반영
+ *   (샤드 번호 오름차순으로만 잠금 → 교착 없음), 그래도 안 되면 지갑 행 → 전체 샤드 순으로 잠그고 나눠서 차감
+ * - 응답 잔액/버전 = 지갑 행 + 샤드 합계 (동시 커밋끼리 같은 버전이 나올 수 있음 → 캐시는 같은 버전도 덮어씀)
+ */
+@Slf4j
+@Component
+public class ShardedWalletWriter implements WalletWriter {
+
+    static final String RESHARDING = "WALLET_RESHARDING";
+
+    /** 한 트랜잭션의 결과: 반영됨 / 중복 요청 / 한 샤드로 부족 */
+    private record Attempt(WalletMutationResult result, PointLedger replayOf, boolean spread) {}
+
+    private static final Attempt SPREAD = new Attempt(null, null, true);
+
+    private final PointWalletRepository walletRepo;
+    private final PointWalletShardRepository shardRepo;
+    private final PointLedgerRepository ledgerRepo;
+    private final WalletShardService shards;
+    private final PointMetrics metrics;
+    private final OutboxWriter outbox;
+    private final TransactionTemplate tx;
+    private final int maxRetries;
+
+    public ShardedWalletWriter(PointWalletRepository walletRepo,
+                               PointWalletShardRepository shardRepo,
+                               PointLedgerRepository ledgerRepo,
+                               WalletShardService shards,
+                               PointMetrics metrics,
+                               OutboxWriter outbox,
+                               PlatformTransactionManager txManager,
+                               @Value("${point.wallet.engine.max-retries:3}") int maxRetries) {
+        this.walletRepo = walletRepo;
+        this.shardRepo = shardRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.shards = shards;
+        this.metrics = metrics;
+        this.outbox = outbox;
+        this.maxRetries = maxRetries;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public WalletMutationResult apply(WalletMutation m) {
+        WalletMutations.validate(m);
+        int k = shards.shardCount(m.userId());
+        if (k == 0) throw new BusinessException(RESHARDING, HttpStatus.CONFLICT);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Attempt a = tx.execute(s -> {
+                    Attempt r = direct(m, k);
+                    if (r.result() == null) s.setRollbackOnly();
+                    return r;
+                });
+                if (a.spread()) a = tx.execute(s -> spread(m));
+                if (a.replayOf() != null) return replay(m, a.replayOf());
+                return a.result();
+            } catch (ConcurrencyFailureException e) {
+                // 교착/잠금 대기 초과 (리밸런스·분할 차감과 겹침) → 새 트랜잭션으로 재시도
+                if (attempt >= maxRetries) throw e;
+                log.debug("[SHARD] retry userId={} - {}", m.userId(), e.toString());
+            }
+        }
+    }
+
+    /** 샤드 한 행 반영 (가드 샤드, 모자라면 더 큰 번호의 샤드 하나) */
+    private Attempt direct(WalletMutation m, int k) {
+        Long userId = m.userId();
+        long delta = m.type().signed(m.amount());
+        Instant now = Instant.now();
+        int guard = m.requestId() == null ? ThreadLocalRandom.current().nextInt(k)
+                : Math.floorMod(WalletMutations.idempotencyKey(m.requestId(), m.type()).hashCode(), k);
+
+        boolean applied = shardRepo.add(userId, guard, k, delta, now) == 1;
+        if (!applied && shardRepo.add(userId, guard, k, 0, now) == 0) {
+            // 가드 샤드가 비활성 (다른 노드에서 샤드 수가 바뀜)
+            throw new BusinessException(RESHARDING, HttpStatus.CONFLICT);
+        }
+
+        PointLedger done = findDone(m);
+        if (done != null) return new Attempt(null, done, false);
+
+        if (!applied) {
+            List<ShardBalance> candidates = new ArrayList<>();
+            for (ShardBalance b : shardRepo.findBalances(userId)) {
+                if (b.shardNo() > guard && b.shardNo() < k && b.balance() + delta >= 0) candidates.add(b);
+            }
+            int start = candidates.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(candidates.size());
+            // 임의 시작점부터 번호 순으로만 시도 (오름차순 잠금 유지)
+            for (int i = start; i < candidates.size() && !applied; i++) {
+                applied = shardRepo.add(userId, candidates.get(i).shardNo(), k, delta, now) == 1;
+            }
+            if (!applied) return SPREAD;
+        }
+
+        metrics.shardOp(false);
+        WalletShardService.Totals t = shards.totals(userId);
+        return new Attempt(record(m, t.balance(), t.version()), null, false);
+    }
+
+    /** 어느 한 샤드로도 모자란 차감: 지갑 행 → 샤드 번호 순으로 잠그고 잔액 많은 곳부터 나눠서 뺌 */
+    private Attempt spread(WalletMutation m) {
+        Long userId = m.userId();
+        PointWallet wallet = walletRepo.lockByUserId(userId).orElseThrow(() -> new NotFoundException("WALLET"));
+        List<PointWalletShard> rows = shardRepo.lockAll(userId);
+        if (wallet.getShardCount() == 0) throw new BusinessException(RESHARDING, HttpStatus.CONFLICT);
+
+        PointLedger done = findDone(m);
+        if (done != null) return new Attempt(null, done, false);
+
+        long need = -m.type().signed(m.amount());
+        long total = wallet.getBalance();
+        for (PointWalletShard r : rows) total += r.getBalance();
+        if (total < need) throw new BusinessException("INSUFFICIENT_POINT");
+
+        long fromWallet = Math.min(wallet.getBalance(), need);
+        if (fromWallet > 0) wallet.setBalance(wallet.getBalance() - fromWallet);
+        need -= fromWallet;
+        Instant now = Instant.now();
+        List<PointWalletShard> byBalance = new ArrayList<>(rows);
+        byBalance.sort(Comparator.comparingLong(PointWalletShard::getBalance).reversed());
+        for (PointWalletShard r : byBalance) {
+            if (need == 0) break;
+            long take = Math.min(r.getBalance(), need);
+            if (take == 0) continue;
+            r.setBalance(r.getBalance() - take);
+            r.setVersion(r.getVersion() + 1);
+            r.setUpdatedAt(now);
+            need -= take;
+        }
+        walletRepo.flush();
+
+        metrics.shardOp(true);
+        long version = wallet.getVersion();
+        for (PointWalletShard r : rows) version += r.getVersion();
+        return new Attempt(record(m, total + m.type().signed(m.amount()), version), null, false);
+    }
+
+    /** 원장/아웃박스/후속 쓰기 (지갑 트랜잭션 안) */
+    private WalletMutationResult record(WalletMutation m, long balance, long version) {
+        PointLedger ledger = ledgerRepo.save(WalletMutations.ledgerOf(m));
+        WalletMutationResult result = new WalletMutationResult(m.userId(), balance, version, ledger.getId(), false);
+        if (outbox.enabled()) outbox.saveAll(List.of(outbox.ledgerAppended(ledger, balance, version)));
+        if (m.inTransaction() != null) m.inTransaction().accept(result);
+        return result;
+    }
+
+    private PointLedger findDone(WalletMutation m) {
+        if (m.requestId() == null) return null;
+        for (PointLedger l : ledgerRepo.findByUserIdAndRequestIdIn(m.userId(), List.of(m.requestId()))) {
+            if (l.getType() == m.type()) return l;
+        }
+        return null;
+    }
+
+    private WalletMutationResult replay(WalletMutation m, PointLedger done) {
+        WalletShardService.Totals t = shards.totals(m.userId());
+        return new WalletMutationResult(m.userId(), t.balance(), t.version(), done.getId(), true);
+    }
+}
@@ -0,0 +1,43 @@
+package com.smartcane.point.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬/테스트용 PG
+ * - latency 만큼 지연 후 응답 (스레드를 재우지 않고 delayedExecutor로 완료)
+ * - orderId가 declinePrefix로 시작하면 거절(CARD_DECLINED)
+ */
+@Slf4j
+public class StubPgClient implements PgClient {
+
+    private final Executor delayed;
+    private final String declinePrefix;
+
+    public StubPgClient(Duration latency, String declinePrefix) {
+        this.delayed = CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+        this.declinePrefix = declinePrefix;
+    }
+
+    @Override
+    public CompletableFuture<Result> approve(ApproveRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (request.orderId().startsWith(declinePrefix)) {
+                return new Result(false, null, "CARD_DECLINED");
+            }
+            return new Result(true, "stub-" + RequestIds.next(), "APPROVED");
+        }, delayed);
+    }
+
+    @Override
+    public CompletableFuture<Result> cancel(String orderId, String transactionId, long amount) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("[PG-STUB] cancel orderId={}, tid={}, amount={}", orderId, transactionId, amount);
+            return new Result(true, transactionId, "CANCELED");
+        }, delayed);
+    }
+}
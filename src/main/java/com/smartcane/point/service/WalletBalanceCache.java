@@ -0,0 +1,66 @@
+package com.smartcane.point.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 지갑 잔액 read-through 캐시 (userId → balance/version)
+ * - Caffeine W-TinyLFU: 최대 개수 초과 시 자주 쓰이는 지갑을 남기고 축출
+ * - 쓰기 경로는 커밋된 결과로 제자리 갱신, version이 더 큰 값만 반영 → 마지막 로컬 커밋보다 오래된 잔액을 주지 않음
+ * - 다른 노드의 커밋은 WalletInvalidationBus로 받아 더 오래된 항목만 제거
+ */
+public class WalletBalanceCache {
+
+    public record Entry(long balance, long version) {}
+
+    private final Cache<Long, Entry> cache;
+    private final WalletInvalidationBus bus;
+
+    public WalletBalanceCache(long maxSize, Duration expireAfterWrite, WalletInvalidationBus bus) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.bus = bus;
+        bus.subscribe(this::onRemoteCommit);
+    }
+
+    /**
+     * 캐시에 없으면 loader로 읽어 적재
+     * - loader(DB 조회)는 캐시 잠금 밖에서 실행: Cache.get(k, loader)는 ConcurrentHashMap 버킷을
+     *   synchronized로 잡은 채 loader를 돌리므로, 가상 스레드에서는 JDBC 대기 동안 캐리어 스레드가 고정(pinning)됨
+     * - 같은 키 동시 적재는 중복될 수 있으나 version 비교로 더 새로운 값만 남김
+     */
+    public Entry get(Long userId, Function<Long, Entry> loader) {
+        Entry cached = cache.getIfPresent(userId);
+        if (cached != null) return cached;
+        Entry loaded = loader.apply(userId);
+        return cache.asMap().merge(userId, loaded, WalletBalanceCache::newer);
+    }
+
+    /** 로컬 커밋 결과 반영 후 다른 노드에 알림 */
+    public void committed(Long userId, long balance, long version) {
+        cache.asMap().merge(userId, new Entry(balance, version), WalletBalanceCache::newer);
+        bus.publish(userId, version);
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public Cache<Long, Entry> nativeCache() {
+        return cache;
+    }
+
+    private static Entry newer(Entry old, Entry now) {
+        return now.version() >= old.version() ? now : old;
+    }
+
+    private void onRemoteCommit(Long userId, long version) {
+        cache.asMap().computeIfPresent(userId, (k, e) -> e.version() < version ? null : e);
+    }
+}
@@ -0,0 +1,20 @@
+package com.smartcane.point.service;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 노드 간 지갑 잔액 캐시 무효화 채널 (userId, 커밋된 version)
+ * - 기본은 NOOP (단일 노드 또는 캐시 TTL에 의존)
+ * - 다중 노드에서는 Redis pub/sub 등으로 구현해 빈으로 등록하면 된다
+ */
+public interface WalletInvalidationBus {
+
+    WalletInvalidationBus NOOP = new WalletInvalidationBus() {
+        @Override public void publish(Long userId, long version) {}
+        @Override public void subscribe(BiConsumer<Long, Long> listener) {}
+    };
+
+    void publish(Long userId, long version);
+
+    void subscribe(BiConsumer<Long, Long> listener);
+}
@@ -0,0 +1,21 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+
+import java.util.function.Consumer;
+
+/**
+ * 지갑 변경 요청 1건 (충전/차감/환불)
+ * - amount는 항상 양수, 부호는 type으로 해석
+ * - (userId, requestId, type) 조합이 원장 멱등키
+ * - inTransaction: 지갑 반영과 같은 트랜잭션에서 실행할 후속 작업(결제 확정 등), 멱등 재요청이면 실행하지 않음
+ */
+public record WalletMutation(
+        Long userId, LedgerType type, long amount,
+        String requestId, String orderId, String memo,
+        Consumer<WalletMutationResult> inTransaction
+) {
+    public WalletMutation(Long userId, LedgerType type, long amount, String requestId, String orderId, String memo) {
+        this(userId, type, amount, requestId, orderId, memo, null);
+    }
+}
@@ -0,0 +1,405 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.OutboxEvent;
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointLedgerRepository;
+import com.smartcane.point.repository.PointWalletRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 스트라이프 기반 지갑 변경 엔진 (point.wallet.write-mode=engine)
+ * - userId를 스트라이프(잠금+대기열)에 매핑해 프로세스 내에서 직렬화 → DB 행 잠금(FOR UPDATE) 없음
+ * - 잠금을 잡은 스레드가 대기열에 쌓인 요청을 모아 사용자별로 한 번의 UPDATE로 반영 (flat combining)
+ * - 그룹 커밋: 대기 요청이 있으면 linger 동안 더 모은 뒤, 여러 사용자의 지갑 UPDATE/원장 INSERT를
+ *   한 트랜잭션에서 JDBC 배치로 쓰고 한 번 커밋 (요청은 커밋 이후에만 응답 → 요청 단위 내구성 유지)
+ * - 다른 노드와의 경합은 point_wallet.version(@Version) 검증 실패 → 사용자별 재시도로 처리
+ * - 호출자 트랜잭션과 무관하게 자체 트랜잭션(REQUIRES_NEW)에서 커밋되므로,
+ *   같은 트랜잭션에 묶여야 하는 후속 쓰기는 WalletMutation.inTransaction으로 넘긴다
+ */
+@Slf4j
+@Component
+public class WalletMutationEngine implements WalletWriter {
+
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long LINGER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final PointWalletRepository walletRepo;
+    private final PointLedgerRepository ledgerRepo;
+    private final TransactionTemplate tx;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxBatch;
+    private final int maxRetries;
+    private final long lingerNanos;
+    private final PointMetrics metrics;
+    private final OutboxWriter outbox;
+    private final PointLotService lots;
+
+    public WalletMutationEngine(PointWalletRepository walletRepo,
+                                PointLedgerRepository ledgerRepo,
+                                PlatformTransactionManager txManager,
+                                PointMetrics metrics,
+                                OutboxWriter outbox,
+                                PointLotService lots,
+                                @Value("${point.wallet.engine.stripes:64}") int stripes,
+                                @Value("${point.wallet.engine.max-batch:64}") int maxBatch,
+                                @Value("${point.wallet.engine.max-retries:3}") int maxRetries,
+                                @Value("${point.wallet.engine.linger-micros:200}") long lingerMicros) {
+        this.walletRepo = walletRepo;
+        this.ledgerRepo = ledgerRepo;
+        this.metrics = metrics;
+        this.outbox = outbox;
+        this.lots = lots;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) this.stripes[i] = new Stripe();
+        this.mask = size - 1;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxRetries = Math.max(1, maxRetries);
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, lingerMicros));
+    }
+
+    @Override
+    public WalletMutationResult apply(WalletMutation m) {
+        WalletMutations.validate(m);
+
+        Pending p = new Pending(m);
+        Stripe stripe = stripeOf(m.userId());
+        stripe.offer(p);
+
+        boolean interrupted = false;
+        while (!p.result.isDone()) {
+            if (stripe.lock.tryLock()) {
+                try {
+                    if (!p.result.isDone()) combine(stripe);
+                } finally {
+                    stripe.lock.unlock();
+                }
+                continue;
+            }
+            // 다른 스레드가 병합 중: 내 요청이 처리되거나 잠금이 풀릴 때까지 잠깐 대기
+            try {
+                p.result.get(WAIT_SLICE_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException ignore) {
+                // 루프 조건에서 다시 확인
+            } catch (InterruptedException e) {
+                // 이미 대기열에 올라간 요청이므로 결과를 끝까지 기다린다
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        try {
+            return p.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * 대량 반영(캠페인 지급 등): 대기열을 거치지 않고 주어진 요청 묶음을 그룹 커밋으로 바로 반영
+     * - 한 트랜잭션에서 지갑/원장을 배치로 쓰고, 실패하면 사용자별 트랜잭션으로 나눠 재시도
+     * - 같은 지갑의 단건 요청과 겹치면 @Version 검증으로 한쪽이 재시도된다
+     * - 반환 시점에 모든 결과가 완료되어 있음 (요청 순서와 같은 순서)
+     */
+    public List<CompletableFuture<WalletMutationResult>> applyAll(List<WalletMutation> mutations) {
+        return applyAll(mutations, null);
+    }
+
+    /**
+     * afterAll: 항목별 inTransaction이 모두 끝난 뒤 같은 트랜잭션에서 한 번 실행 (재시도하면 다시 실행)
+     * - 항목별 후속 쓰기를 모아 한 번에 배치로 보낼 때 사용 (일괄 결제의 payment INSERT)
+     * - 실패하면 트랜잭션 전체가 롤백되고 모든 항목이 그 예외로 실패
+     */
+    public List<CompletableFuture<WalletMutationResult>> applyAll(List<WalletMutation> mutations, Runnable afterAll) {
+        Map<Long, List<Pending>> byUser = new LinkedHashMap<>();
+        List<CompletableFuture<WalletMutationResult>> results = new ArrayList<>(mutations.size());
+        for (WalletMutation m : mutations) {
+            Pending p = new Pending(m);
+            results.add(p.result);
+            try {
+                WalletMutations.validate(m);
+                byUser.computeIfAbsent(m.userId(), k -> new ArrayList<>()).add(p);
+            } catch (BusinessException e) {
+                p.result.completeExceptionally(e);
+            }
+        }
+        if (!byUser.isEmpty()) applyGroup(byUser, afterAll);
+        return results;
+    }
+
+    private Stripe stripeOf(Long userId) {
+        int h = Long.hashCode(userId);
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /** 스트라이프 잠금을 잡은 상태에서 호출: 대기열을 비우며 사용자별로 묶어 반영 */
+    private void combine(Stripe stripe) {
+        linger(stripe);
+
+        Map<Long, List<Pending>> byUser = new LinkedHashMap<>();
+        Pending p;
+        int n = 0;
+        long now = System.nanoTime();
+        while (n < maxBatch && (p = stripe.poll()) != null) {
+            metrics.lockWait(true, now - p.enqueuedAt);   // 대기열에 올라간 뒤 병합되기까지 = 엔진의 잠금 대기
+            byUser.computeIfAbsent(p.mutation.userId(), k -> new ArrayList<>()).add(p);
+            n++;
+        }
+        if (byUser.size() == 1) {
+            byUser.forEach((userId, batch) -> applyBatch(userId, batch, null));
+        } else if (!byUser.isEmpty()) {
+            applyGroup(byUser, null);
+        }
+    }
+
+    /** 나 말고도 대기 중인 요청이 있을 때(경합 중)만 linger 동안 더 모은다 → 비경합 요청은 지연 없음 */
+    private void linger(Stripe stripe) {
+        if (lingerNanos == 0 || stripe.size.get() <= 1) return;
+        long deadline = System.nanoTime() + lingerNanos;
+        long left;
+        while (stripe.size.get() < maxBatch && (left = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(left, LINGER_PARK_NANOS));
+        }
+    }
+
+    /** 여러 사용자 그룹 커밋: 실패하면 사용자별 트랜잭션으로 나눠 재시도(실패 격리) */
+    private void applyGroup(Map<Long, List<Pending>> byUser, Runnable afterAll) {
+        List<Pending> all = byUser.values().stream().flatMap(List::stream).toList();
+        try {
+            tx.executeWithoutResult(status -> write(byUser, afterAll));
+            all.forEach(Pending::settle);
+        } catch (AfterAllFailure f) {
+            all.forEach(p -> p.result.completeExceptionally(f.getCause()));
+        } catch (InTransactionFailure | ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            log.debug("[WALLET] group commit fallback users={}, cause={}", byUser.size(), e.toString());
+            if (afterAll != null && byUser.size() > 1) {
+                // 사용자별로 나누면 afterAll의 대상이 갈라짐 → 나누지 않고 실패 처리
+                all.forEach(p -> p.result.completeExceptionally(e));
+                return;
+            }
+            byUser.forEach((userId, batch) -> applyBatch(userId, batch, afterAll));
+        } catch (RuntimeException e) {
+            all.forEach(p -> p.result.completeExceptionally(e));
+        }
+    }
+
+    private void applyBatch(Long userId, List<Pending> batch, Runnable afterAll) {
+        List<Pending> remaining = new ArrayList<>(batch);
+        int conflicts = 0;
+        while (!remaining.isEmpty()) {
+            try {
+                tx.executeWithoutResult(status -> write(Map.of(userId, remaining), afterAll));
+                remaining.forEach(Pending::settle);
+                return;
+            } catch (AfterAllFailure f) {
+                remaining.forEach(r -> r.result.completeExceptionally(f.getCause()));
+                return;
+            } catch (InTransactionFailure f) {
+                // 후속 작업이 실패한 요청만 빼고 나머지를 다시 반영
+                remaining.remove(f.pending);
+                f.pending.result.completeExceptionally(f.getCause());
+            } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 갱신(version 불일치) 또는 지갑 동시 생성
+                if (++conflicts >= maxRetries) {
+                    log.warn("[WALLET] engine conflict retries exhausted userId={}, ops={}", userId, remaining.size());
+                    BusinessException conflict = new BusinessException("WALLET_CONFLICT", HttpStatus.CONFLICT);
+                    remaining.forEach(r -> r.result.completeExceptionally(conflict));
+                    return;
+                }
+                log.debug("[WALLET] engine version conflict userId={}, attempt={}", userId, conflicts);
+            } catch (RuntimeException e) {
+                remaining.forEach(r -> r.result.completeExceptionally(e));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 내부: 지갑/멱등 원장 1회씩 조회 → 메모리에서 순서대로 반영
+     * → flush 한 번으로 원장 INSERT, 지갑 UPDATE(@Version 검증)를 JDBC 배치 전송
+     */
+    private void write(Map<Long, List<Pending>> byUser, Runnable afterAll) {
+        Map<Long, PointWallet> wallets = new HashMap<>();
+        for (PointWallet w : walletRepo.findByUserIdIn(byUser.keySet())) wallets.put(w.getUserId(), w);
+
+        Map<String, PointLedger> done = new HashMap<>();
+        List<String> requestIds = byUser.values().stream().flatMap(List::stream)
+                .map(b -> b.mutation.requestId()).filter(Objects::nonNull).distinct().toList();
+        if (!requestIds.isEmpty()) {
+            for (PointLedger l : ledgerRepo.findByUserIdInAndRequestIdIn(byUser.keySet(), requestIds)) {
+                done.putIfAbsent(l.getUserId() + ":" + WalletMutations.idempotencyKey(l.getRequestId(), l.getType()), l);
+            }
+        }
+
+        List<PointLedger> inserts = new ArrayList<>();
+        byUser.forEach((userId, batch) -> {
+            PointWallet wallet = wallets.get(userId);
+            for (Pending p : batch) {
+                WalletMutation m = p.mutation;
+                p.reset();
+                String key = m.requestId() != null
+                        ? userId + ":" + WalletMutations.idempotencyKey(m.requestId(), m.type()) : null;
+
+                PointLedger prev = key != null ? done.get(key) : null;
+                if (prev != null) {
+                    p.ledger = prev;
+                    p.replayed = true;
+                    continue;
+                }
+                if (wallet == null) {
+                    if (m.type() != LedgerType.CHARGE) {
+                        p.error = new NotFoundException("WALLET");
+                        continue;
+                    }
+                    wallet = walletRepo.save(WalletMutations.newWallet(userId));
+                    wallets.put(userId, wallet);
+                }
+                try {
+                    PointLedger l = WalletMutations.applyTo(wallet, m);
+                    inserts.add(l);
+                    if (key != null) done.put(key, l);
+                    p.ledger = l;
+                } catch (BusinessException e) {
+                    p.error = e;   // 잔액 부족 등은 해당 요청만 실패
+                }
+            }
+        });
+
+        if (!inserts.isEmpty()) {
+            ledgerRepo.saveAll(inserts);
+            walletRepo.flush();
+            lots.record(inserts);
+        }
+
+        List<OutboxEvent> events = new ArrayList<>();
+        byUser.forEach((userId, batch) -> {
+            PointWallet wallet = wallets.get(userId);
+            for (Pending p : batch) {
+                if (p.error != null || wallet == null) continue;
+                // 같은 커밋에 묶인 요청은 모두 커밋 시점의 잔액/버전으로 응답 (재요청 포함)
+                p.balance = wallet.getBalance();
+                p.version = wallet.getVersion();
+                if (!p.replayed && outbox.enabled()) events.add(outbox.ledgerAppended(p.ledger, p.balance, p.version));
+            }
+        });
+        outbox.saveAll(events);   // 후속 작업(결제 이벤트)보다 먼저 id를 받아 같은 seq 안에서 원장 이벤트가 앞선다
+
+        byUser.forEach((userId, batch) -> {
+            for (Pending p : batch) {
+                if (p.error != null || p.ledger == null) continue;
+                if (!p.replayed && p.mutation.inTransaction() != null) {
+                    try {
+                        p.mutation.inTransaction().accept(p.toResult());
+                    } catch (RuntimeException e) {
+                        throw new InTransactionFailure(p, e);
+                    }
+                }
+            }
+        });
+        if (afterAll != null) {
+            try {
+                afterAll.run();
+            } catch (RuntimeException e) {
+                throw new AfterAllFailure(e);
+            }
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        void offer(Pending p) {
+            queue.add(p);
+            size.incrementAndGet();
+        }
+
+        Pending poll() {
+            Pending p = queue.poll();
+            if (p != null) size.decrementAndGet();
+            return p;
+        }
+    }
+
+    /** 대기 중인 요청과 (트랜잭션 시도별) 처리 결과. 원장 id는 flush 이후 확정되므로 엔티티 참조로 보관 */
+    private static final class Pending {
+        final WalletMutation mutation;
+        final CompletableFuture<WalletMutationResult> result = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+        PointLedger ledger;
+        long balance;
+        long version;
+        boolean replayed;
+        RuntimeException error;
+
+        Pending(WalletMutation mutation) { this.mutation = mutation; }
+
+        void reset() {
+            ledger = null;
+            balance = version = 0;
+            replayed = false;
+            error = null;
+        }
+
+        WalletMutationResult toResult() {
+            return new WalletMutationResult(mutation.userId(), balance, version, ledger.getId(), replayed);
+        }
+
+        /** 커밋 이후에만 호출 */
+        void settle() {
+            if (error != null) result.completeExceptionally(error);
+            else result.complete(toResult());
+        }
+    }
+
+    /** afterAll 실패: 트랜잭션을 롤백하고 묶인 요청 전부 실패 처리 */
+    private static final class AfterAllFailure extends RuntimeException {
+        AfterAllFailure(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    /** inTransaction 후속 작업 실패: 트랜잭션을 롤백하고 해당 요청만 실패 처리 */
+    private static final class InTransactionFailure extends RuntimeException {
+        final Pending pending;
+
+        InTransactionFailure(Pending pending, RuntimeException cause) {
+            super(cause);
+            this.pending = pending;
+        }
+    }
+}
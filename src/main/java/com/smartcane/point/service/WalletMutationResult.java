@@ -0,0 +1,9 @@
+package com.smartcane.point.service;
+
+/**
+ * 지갑 변경 결과
+ * - replayed: 동일 멱등키로 이미 처리된 요청이면 true (잔액은 현재 값)
+ */
+public record WalletMutationResult(
+        Long userId, long balance, long version, Long ledgerId, boolean replayed
+) {}
@@ -0,0 +1,54 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLedger;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.enums.LedgerStatus;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+
+/**
+ * WalletWriter 구현체들이 공유하는 잔액/원장 계산 규칙
+ */
+final class WalletMutations {
+
+    private WalletMutations() {}
+
+    static void validate(WalletMutation m) {
+        if (m.userId() == null) throw new BusinessException("INVALID_USER_ID");
+        if (m.type() == null) throw new BusinessException("INVALID_LEDGER_TYPE");
+        if (m.amount() <= 0) throw new BusinessException("INVALID_AMOUNT");
+    }
+
+    /** 원장 멱등키: 같은 requestId라도 type이 다르면(결제 후 환불 등) 별개 요청 */
+    static String idempotencyKey(String requestId, LedgerType type) {
+        return requestId + '|' + type.name();
+    }
+
+    /** 지갑에 변경을 반영하고 기록할 원장 행을 만든다 (잔액 부족 시 INSUFFICIENT_POINT) */
+    static PointLedger applyTo(PointWallet wallet, WalletMutation m) {
+        long next = wallet.getBalance() + m.type().signed(m.amount());
+        if (next < 0) throw new BusinessException("INSUFFICIENT_POINT");
+        wallet.setBalance(next);
+        return ledgerOf(m);
+    }
+
+    /** 변경 1건의 원장 행 (잔액 반영은 호출자) */
+    static PointLedger ledgerOf(WalletMutation m) {
+        return PointLedger.builder()
+                .userId(m.userId())
+                .type(m.type())
+                .amount(m.amount())
+                .orderId(m.orderId())
+                .requestId(m.requestId())
+                .status(LedgerStatus.SUCCESS)
+                .memo(m.memo())
+                .build();
+    }
+
+    static PointWallet newWallet(Long userId) {
+        PointWallet w = new PointWallet();
+        w.setUserId(userId);
+        w.setBalance(0L);
+        return w;
+    }
+}
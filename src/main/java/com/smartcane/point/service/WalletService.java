@@ -1,101 +1,290 @@
-import java.io.*;
-import java.lang.reflect.Array;
-import java.util.*;
+package com.smartcane.point.service;
 
-// 물통의 현재 상태와 물을 붓는 행위를 관리하는 구조체
-class State{
-    int[] X;
-    State(int[] _X){
-        X = new int[3];
-        for (int i=0;i<3;i++) X[i] = _X[i];
+import com.smartcane.point.dto.BulkChargeEntry;
+import com.smartcane.point.dto.BulkChargeProgress;
+import com.smartcane.point.dto.WalletResponse;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointWalletRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 지갑 조회/충전/차감/환불
+ * - 변경은 WalletWriter에 위임 (point.wallet.write-mode: engine | locking | conditional)
+ * - 멱등: (userId, requestId, type) 원장이 이미 있으면 재반영하지 않음
+ * - 조회는 WalletBalanceCache(read-through), 변경 결과는 커밋 후 캐시에 제자리 반영
+ * - 새 원장은 커밋 후 WalletSnapshotService에 알림 (스냅샷 생성은 백그라운드)
+ * - 샤딩된 핫 지갑(WalletShardService)은 write-mode와 무관하게 ShardedWalletWriter로 보냄
+ */
+@Slf4j
+@Service
+public class WalletService {
+
+    public static final String WALLET_SHARDED = "WALLET_SHARDED";
+    private static final String BULK_CHARGE_MEMO = "bulk-charge";
+
+    private final PointWalletRepository walletRepo;
+    private final WalletWriter writer;
+    private final WalletMutationEngine engine;
+    private final PointMetrics metrics;
+    private final WalletBalanceCache balanceCache;
+    private final WalletSnapshotService snapshots;
+    private final WalletShardService shards;
+    private final ShardedWalletWriter shardedWriter;
+    private final ReplicaReads reads;
+
+    public WalletService(PointWalletRepository walletRepo,
+                         WalletBalanceCache balanceCache,
+                         WalletSnapshotService snapshots,
+                         WalletShardService shards,
+                         ShardedWalletWriter shardedWriter,
+                         ReplicaReads reads,
+                         LockingWalletWriter lockingWriter,
+                         ConditionalWalletWriter conditionalWriter,
+                         WalletMutationEngine engine,
+                         PointMetrics metrics,
+                         @Value("${point.wallet.write-mode:engine}") String writeMode) {
+        this.walletRepo = walletRepo;
+        this.balanceCache = balanceCache;
+        this.snapshots = snapshots;
+        this.shards = shards;
+        this.shardedWriter = shardedWriter;
+        this.reads = reads;
+        this.engine = engine;
+        this.metrics = metrics;
+        this.writer = switch (writeMode.toLowerCase()) {
+            case "locking" -> lockingWriter;
+            case "conditional" -> conditionalWriter;
+            default -> engine;
+        };
+        log.info("[WALLET] write-mode={}", writer.getClass().getSimpleName());
     }
 
-    State move(int from,int to,int[] Limit){
-        // from 물통에서 to 물통으로 물을 옮긴다.
-        int[] nX = new int[]{X[0], X[1], X[2]};
-        /* TODO */
-        return new State(nX);
+    public WalletResponse get(Long userId) {
+        // 샤딩 지갑은 캐시하지 않음: 한 샤드 반영 결과는 다른 샤드의 미커밋 변경을 못 본 합계일 수 있음
+        if (shards.shardCount(userId) > 0) {
+            return new WalletResponse(userId, reads.read(userId, () -> shards.totals(userId)).balance());
+        }
+        // 캐시 미스만 DB 조회 (최근 쓰기가 없으면 replica)
+        WalletBalanceCache.Entry e = balanceCache.get(userId, id -> reads.read(id, () -> {
+            PointWallet w = walletRepo.findByUserId(id).orElseThrow(() -> new NotFoundException("WALLET"));
+            if (w.getShardCount() > 0) {
+                WalletShardService.Totals t = shards.totals(id);
+                return new WalletBalanceCache.Entry(t.balance(), t.version());
+            }
+            return new WalletBalanceCache.Entry(w.getBalance(), w.getVersion());
+        }));
+        return new WalletResponse(userId, e.balance());
     }
-};
 
-public class Main {
-    static FastReader scan = new FastReader();
-    static StringBuilder sb = new StringBuilder();
+    public WalletResponse createIfAbsent(Long userId) {
+        PointWallet w = walletRepo.findByUserId(userId).orElseGet(() -> {
+            try {
+                return walletRepo.saveAndFlush(WalletMutations.newWallet(userId));
+            } catch (DataIntegrityViolationException e) {
+                // 동시 생성: uk_point_wallet_user 충돌 → 먼저 생성된 지갑 사용
+                return walletRepo.findByUserId(userId).orElseThrow(() -> e);
+            }
+        });
+        if (w.getShardCount() > 0) return get(userId);
+        balanceCache.committed(userId, w.getBalance(), w.getVersion());
+        return new WalletResponse(w.getUserId(), w.getBalance());
+    }
 
-    static int[] Limit;
-    static boolean[] possible;
-    static boolean[][][] visit;
+    /** 변경 메서드는 커밋된 잔액/버전/원장 id를 돌려준다 → 호출자는 지갑을 다시 읽을 필요 없음 */
+    public WalletMutationResult charge(Long userId, long amount, String requestId, String orderId) {
+        return apply(new WalletMutation(userId, LedgerType.CHARGE, amount, requestId, orderId, "charge"));
+    }
 
-    static void input() {
-        Limit = new int[3];
-        for (int i=0;i<3;i++) Limit[i] = scan.nextInt();
-        visit = new boolean[205][205][205];
-        possible = new boolean[205];
+    public WalletMutationResult debit(Long userId, long amount, String requestId, String orderId) {
+        return debit(userId, amount, requestId, orderId, null);
     }
 
-    // 물통 탐색 시작~
-    static void bfs(int x1, int x2, int x3) {
-        Queue<State> Q = new LinkedList<>();
+    /** 차감 + 같은 트랜잭션의 후속 쓰기(결제 확정 등) */
+    public WalletMutationResult debit(Long userId, long amount, String requestId, String orderId,
+                                      Consumer<WalletMutationResult> inTransaction) {
+        return apply(new WalletMutation(
+                userId, LedgerType.DEBIT, amount, requestId, orderId, "pay", inTransaction));
+    }
 
-        // BFS 과정 시작
-        /* TODO */
+    public WalletMutationResult refund(Long userId, long amount, String requestId, String orderId, String memo) {
+        return refund(userId, amount, requestId, orderId, memo, null);
     }
 
-    static void pro() {
-        bfs(0, 0, Limit[2]);
-        // 정답 계산하기
-        /* TODO */
+    /** 환불 + 같은 트랜잭션의 후속 쓰기(취소 기록 등) */
+    public WalletMutationResult refund(Long userId, long amount, String requestId, String orderId, String memo,
+                                       Consumer<WalletMutationResult> inTransaction) {
+        return apply(new WalletMutation(
+                userId, LedgerType.REFUND, amount, requestId, orderId, memo, inTransaction));
     }
 
-    public static void main(String[] args) {
-        input();
-        pro();ㄴ
+    /** 예약: 가용 잔액에서 묶음 (HOLD 원장) + 같은 트랜잭션에서 홀드/결제 기록 */
+    public WalletMutationResult hold(Long userId, long amount, String requestId, String orderId,
+                                     Consumer<WalletMutationResult> inTransaction) {
+        return apply(new WalletMutation(
+                userId, LedgerType.HOLD, amount, requestId, orderId, "hold", inTransaction));
     }
 
+    /** 예약 해제: 묶인 금액을 가용 잔액으로 되돌림 (RELEASE 원장) */
+    public WalletMutationResult release(Long userId, long amount, String requestId, String orderId, String memo,
+                                        Consumer<WalletMutationResult> inTransaction) {
+        return apply(new WalletMutation(
+                userId, LedgerType.RELEASE, amount, requestId, orderId, memo, inTransaction));
+    }
 
-    static class FastReader {
-        BufferedReader br;
-        StringTokenizer st;
+    /**
+     * 여러 변경을 한 번에 반영 (사용자별 그룹 커밋, write-mode와 무관하게 엔진 사용)
+     * - 결과는 입력 순서, 항목별 실패는 해당 future만 예외로 완료
+     * - 샤딩된 지갑 항목은 건별로 ShardedWalletWriter
+     */
+    public List<CompletableFuture<WalletMutationResult>> applyAll(List<WalletMutation> mutations) {
+        return committed(shards.anySharded() ? applyAllRouted(mutations) : engine.applyAll(mutations));
+    }
 
-        public FastReader() {
-            br = new BufferedReader(new InputStreamReader(System.in));
+    /**
+     * 여러 변경을 한 트랜잭션에서 반영 + afterAll (일괄 결제: 항목별 후속 쓰기를 모아 한 번에)
+     * - 지갑 조회/UPDATE와 멱등 원장 조회는 사용자당 1회, 원장 INSERT는 JDBC 배치
+     * - 샤딩된 지갑은 한 트랜잭션으로 묶을 수 없어 WALLET_SHARDED → 호출자가 건별로 처리
+     */
+    public List<CompletableFuture<WalletMutationResult>> applyAll(List<WalletMutation> mutations, Runnable afterAll) {
+        if (shards.anySharded() && mutations.stream().anyMatch(m -> m.userId() != null && shards.shardCount(m.userId()) > 0)) {
+            throw new BusinessException(WALLET_SHARDED, HttpStatus.CONFLICT);
         }
+        return committed(engine.applyAll(mutations, afterAll));
+    }
 
-        public FastReader(String s) throws FileNotFoundException {
-            br = new BufferedReader(new FileReader(new File(s)));
+    private List<CompletableFuture<WalletMutationResult>> committed(List<CompletableFuture<WalletMutationResult>> results) {
+        for (CompletableFuture<WalletMutationResult> f : results) {
+            if (f.isCompletedExceptionally()) continue;   // 실패 항목
+            WalletMutationResult r = f.join();
+            cacheCommitted(r);
+            metrics.ledgerReplay(r.replayed());
+            if (!r.replayed()) snapshots.ledgerAppended(r.userId());
         }
+        return results;
+    }
 
-        String next() {
-            while (st == null || !st.hasMoreElements()) {
+    /**
+     * 대량 충전(캠페인 지급): 항목을 chunkSize 단위로 끊어 청크마다 한 트랜잭션에서 반영
+     * - 지갑 UPDATE/원장 INSERT는 JDBC 배치, 멱등 원장 조회는 청크당 1회 (write-mode와 무관하게 엔진 사용)
+     * - 항목별 멱등: (userId, requestId, CHARGE) 원장이 이미 있으면 replayed로 집계
+     * - 실패한 항목만 failures로 보고하고 나머지는 계속 진행, 청크마다 onChunk로 누적 진행 상황 전달
+     */
+    public BulkChargeProgress bulkCharge(Iterator<BulkChargeEntry> entries, int chunkSize,
+                                         Consumer<BulkChargeProgress> onChunk) {
+        long processed = 0, applied = 0, replayed = 0, failed = 0;
+        List<BulkChargeEntry> chunk = new ArrayList<>(chunkSize);
+        while (entries.hasNext()) {
+            chunk.clear();
+            while (chunk.size() < chunkSize && entries.hasNext()) chunk.add(entries.next());
+
+            List<BulkChargeProgress.Failure> failures = new ArrayList<>();
+            List<WalletMutation> mutations = new ArrayList<>(chunk.size());
+            List<BulkChargeEntry> accepted = new ArrayList<>(chunk.size());
+            for (BulkChargeEntry e : chunk) {
+                if (e.requestId() == null || e.requestId().isBlank()) {
+                    failures.add(new BulkChargeProgress.Failure(e.userId(), e.requestId(), "REQUEST_ID_REQUIRED"));
+                    continue;
+                }
+                accepted.add(e);
+                mutations.add(new WalletMutation(
+                        e.userId(), LedgerType.CHARGE, e.amount(), e.requestId(), null, BULK_CHARGE_MEMO));
+            }
+
+            List<CompletableFuture<WalletMutationResult>> results = applyAll(mutations);
+            for (int i = 0; i < results.size(); i++) {
                 try {
-                    st = new StringTokenizer(br.readLine());
-                } catch (IOException e) {
-                    e.printStackTrace();
+                    WalletMutationResult r = results.get(i).join();
+                    if (r.replayed()) replayed++; else applied++;
+                } catch (CompletionException ex) {
+                    BulkChargeEntry e = accepted.get(i);
+                    String code = ex.getCause() instanceof BusinessException be ? be.getMessage() : "INTERNAL_ERROR";
+                    failures.add(new BulkChargeProgress.Failure(e.userId(), e.requestId(), code));
                 }
             }
-            return st.nextToken();
+            processed += chunk.size();
+            failed += failures.size();
+            if (!failures.isEmpty()) log.warn("[WALLET] bulk-charge chunk failures={}", failures.size());
+            onChunk.accept(new BulkChargeProgress(processed, applied, replayed, failed, failures, false));
         }
+        log.info("[WALLET] bulk-charge done processed={}, applied={}, replayed={}, failed={}",
+                processed, applied, replayed, failed);
+        return new BulkChargeProgress(processed, applied, replayed, failed, List.of(), true);
+    }
 
-        int nextInt() {
-            return Integer.parseInt(next());
+    private List<CompletableFuture<WalletMutationResult>> applyAllRouted(List<WalletMutation> mutations) {
+        List<CompletableFuture<WalletMutationResult>> results = new ArrayList<>(mutations.size());
+        List<WalletMutation> plain = new ArrayList<>(mutations.size());
+        for (WalletMutation m : mutations) {
+            if (m.userId() == null || shards.shardCount(m.userId()) == 0) {
+                results.add(null);
+                plain.add(m);
+                continue;
+            }
+            CompletableFuture<WalletMutationResult> f = new CompletableFuture<>();
+            try {
+                f.complete(write(m));
+            } catch (RuntimeException e) {
+                f.completeExceptionally(e);
+            }
+            results.add(f);
         }
-
-        long nextLong() {
-            return Long.parseLong(next());
+        Iterator<CompletableFuture<WalletMutationResult>> engineResults = engine.applyAll(plain).iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) results.set(i, engineResults.next());
         }
+        return results;
+    }
 
-        double nextDouble() {
-            return Double.parseDouble(next());
-        }
+    private WalletMutationResult apply(WalletMutation m) {
+        long t0 = System.nanoTime();
+        WalletMutationResult r = write(m);   // 반환 시점에 이미 커밋됨
+        metrics.walletTx(m.type(), System.nanoTime() - t0);
+        metrics.ledgerReplay(r.replayed());
+        cacheCommitted(r);
+        if (!r.replayed()) snapshots.ledgerAppended(r.userId());
+        return r;
+    }
 
-        String nextLine() {
-            String str = "";
+    private void cacheCommitted(WalletMutationResult r) {
+        if (!r.replayed()) reads.wrote(r.userId());
+        if (shards.shardCount(r.userId()) > 0) balanceCache.evict(r.userId());
+        else balanceCache.committed(r.userId(), r.balance(), r.version());
+    }
+
+    /**
+     * 샤딩 여부에 따라 쓰기 경로 선택
+     * - 샤드 수가 바뀌는 중(WALLET_RESHARDING)이면 목록을 다시 읽고 한 번 더
+     * - 일반 경로의 잔액 부족은 다른 노드에서 막 샤딩된 지갑일 수 있어 DB를 재확인 (잔액이 샤드에 있음)
+     */
+    private WalletMutationResult write(WalletMutation m) {
+        if (m.userId() != null && shards.shardCount(m.userId()) > 0) {
             try {
-                str = br.readLine();
-            } catch (IOException e) {
-                e.printStackTrace();
+                return shardedWriter.apply(m);
+            } catch (BusinessException e) {
+                if (!ShardedWalletWriter.RESHARDING.equals(e.getMessage())) throw e;
+                if (shards.reload(m.userId()) > 0) return shardedWriter.apply(m);
             }
-            return str;
+            return writer.apply(m);
+        }
+        try {
+            return writer.apply(m);
+        } catch (BusinessException e) {
+            if (!"INSUFFICIENT_POINT".equals(e.getMessage()) || shards.reload(m.userId()) == 0) throw e;
+            return shardedWriter.apply(m);
         }
     }
-}
\ No newline at end of file
+}
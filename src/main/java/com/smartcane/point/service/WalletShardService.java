@@ -0,0 +1,193 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.WalletShardsResponse;
+import com.smartcane.point.entity.PointWallet;
+import com.smartcane.point.entity.PointWalletShard;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.exception.NotFoundException;
+import com.smartcane.point.repository.PointWalletRepository;
+import com.smartcane.point.repository.PointWalletShardRepository;
+import com.smartcane.point.repository.ShardBalance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 핫 지갑 샤딩 (opt-in): 한 지갑 잔액을 point_wallet 행 + K개 point_wallet_shard 행으로 나눔
+ * - 목록: shard_count > 0 인 지갑을 노드 메모리에 두고 주기적으로 갱신 → WalletService가 ShardedWalletWriter로 라우팅
+ *   갱신 전인 노드는 지갑 행에 계속 쓸 수 있음 (적립은 지갑 행에 쌓이고, 차감 부족 시 WalletService가 재확인)
+ * - 리밸런스: 지갑 행에 쌓인 잔액과 한쪽으로 쏠린 샤드를 주기적으로 고르게 재분배 (한 샤드 차감 성공률 유지)
+ * - 샤드 수 변경: 지갑 행 → 샤드 번호 순으로 잠그고 전체를 재분배, 줄일 때 남는 샤드 행은 잔액 0으로 비활성화
+ *   (행을 지우지 않아야 총 버전 = 지갑 행 version + SUM(샤드 version) 이 줄지 않음,
+ *    해제 시에는 지갑 행 version을 총 버전으로 올려 이후 일반 경로 버전이 이어지게 함)
+ * - 해제 시 lot 보정: 샤딩 동안은 lot을 추적하지 않으므로 OPEN lot 합을 잔액에 맞춤 (PointLotService.reconcile)
+ */
+@Slf4j
+@Service
+public class WalletShardService {
+
+    /** 지갑 행 + 샤드 합계 */
+    public record Totals(long balance, long version, int shardCount) {}
+
+    private final PointWalletRepository walletRepo;
+    private final PointWalletShardRepository shardRepo;
+    private final WalletBalanceCache balanceCache;
+    private final PointLotService lots;
+    private final PointMetrics metrics;
+    private final TransactionTemplate tx;
+    private final int maxShards;
+    private final double skewRatio;
+    private volatile Map<Long, Integer> sharded = Map.of();
+
+    public WalletShardService(PointWalletRepository walletRepo,
+                              PointWalletShardRepository shardRepo,
+                              WalletBalanceCache balanceCache,
+                              PointLotService lots,
+                              PointMetrics metrics,
+                              PlatformTransactionManager txManager,
+                              @Value("${point.wallet.shard.max-shards:64}") int maxShards,
+                              @Value("${point.wallet.shard.skew-ratio:0.5}") double skewRatio) {
+        this.walletRepo = walletRepo;
+        this.shardRepo = shardRepo;
+        this.balanceCache = balanceCache;
+        this.lots = lots;
+        this.metrics = metrics;
+        this.tx = new TransactionTemplate(txManager);
+        this.maxShards = maxShards;
+        this.skewRatio = skewRatio;
+    }
+
+    @Scheduled(fixedDelayString = "${point.wallet.shard.refresh-ms:10000}")
+    public void refresh() {
+        Map<Long, Integer> next = new HashMap<>();
+        for (PointWallet w : walletRepo.findSharded()) next.put(w.getUserId(), w.getShardCount());
+        sharded = Map.copyOf(next);
+    }
+
+    /** 이 노드가 아는 샤드 수 (0이면 일반 지갑) */
+    public int shardCount(Long userId) {
+        return sharded.getOrDefault(userId, 0);
+    }
+
+    public boolean anySharded() {
+        return !sharded.isEmpty();
+    }
+
+    /** DB에서 한 지갑의 샤드 수를 다시 읽어 목록에 반영 */
+    public int reload(Long userId) {
+        int count = walletRepo.findBalance(userId).map(ShardBalance::shardNo).orElse(0);
+        if (count != shardCount(userId)) refresh();
+        return count;
+    }
+
+    /** 잔액/총 버전 (DB 값, 호출자 트랜잭션 안이면 미커밋 변경 포함) */
+    public Totals totals(Long userId) {
+        ShardBalance w = walletRepo.findBalance(userId).orElseThrow(() -> new NotFoundException("WALLET"));
+        long balance = w.balance(), version = w.version();
+        if (w.shardNo() > 0) {
+            for (ShardBalance s : shardRepo.findBalances(userId)) {
+                balance += s.balance();
+                version += s.version();
+            }
+        }
+        return new Totals(balance, version, w.shardNo());
+    }
+
+    public WalletShardsResponse describe(Long userId) {
+        ShardBalance w = walletRepo.findBalance(userId).orElseThrow(() -> new NotFoundException("WALLET"));
+        List<Long> balances = new ArrayList<>();
+        long total = w.balance();
+        for (ShardBalance s : shardRepo.findBalances(userId)) {
+            if (s.shardNo() >= w.shardNo()) continue;   // 비활성 샤드 (잔액 0)
+            balances.add(s.balance());
+            total += s.balance();
+        }
+        return new WalletShardsResponse(userId, w.shardNo(), total, w.balance(), balances);
+    }
+
+    /** 샤드 수 변경 (0이면 샤딩 해제: 전체 잔액을 지갑 행으로) */
+    public WalletShardsResponse reshard(Long userId, int count) {
+        if (count < 0 || count > maxShards) throw new BusinessException("INVALID_SHARD_COUNT");
+        Totals t = tx.execute(s -> {
+            PointWallet wallet = walletRepo.lockByUserId(userId).orElseThrow(() -> new NotFoundException("WALLET"));
+            List<PointWalletShard> rows = new ArrayList<>(shardRepo.lockAll(userId));
+            Instant now = Instant.now();
+            for (int no = rows.size(); no < count; no++) {
+                rows.add(shardRepo.save(PointWalletShard.builder()
+                        .userId(userId).shardNo(no).balance(0).version(0).updatedAt(now).build()));
+            }
+            wallet.setShardCount(count);
+            Totals moved = distribute(wallet, rows, count, now);
+            if (count == 0) {
+                walletRepo.raiseVersion(userId, moved.version());
+                lots.reconcile(userId, moved.balance());   // 샤딩 동안 추적하지 않은 lot을 잔액에 맞춤
+            }
+            return moved;
+        });
+        refresh();
+        balanceCache.evict(userId);   // 샤딩 지갑은 캐시를 거치지 않음 (WalletService.cacheCommitted와 같은 규칙)
+        log.info("[SHARD] userId={} shardCount={} balance={}", userId, count, t.balance());
+        return describe(userId);
+    }
+
+    /** 지갑 행에 쌓였거나 쏠린 잔액을 샤드에 고르게 재분배 */
+    @Scheduled(fixedDelayString = "${point.wallet.shard.rebalance-ms:5000}")
+    public void rebalanceAll() {
+        for (Long userId : sharded.keySet()) {
+            try {
+                rebalance(userId);
+            } catch (RuntimeException e) {
+                log.warn("[SHARD] rebalance userId={} failed - {}", userId, e.toString());
+            }
+        }
+    }
+
+    /** 쏠림(지갑 행 잔액 > 0, 또는 고른 몫의 skew-ratio 미만인 샤드)이 있을 때만 재분배 */
+    public boolean rebalance(Long userId) {
+        Totals t = tx.execute(s -> {
+            PointWallet wallet = walletRepo.lockByUserId(userId).orElseThrow(() -> new NotFoundException("WALLET"));
+            List<PointWalletShard> rows = shardRepo.lockAll(userId);
+            int count = wallet.getShardCount();
+            if (count == 0 || rows.size() < count) return null;
+            long total = wallet.getBalance();
+            for (PointWalletShard r : rows) total += r.getBalance();
+            long floor = (long) (total / count * skewRatio);
+            boolean skewed = wallet.getBalance() > 0;
+            for (int i = 0; i < count && !skewed; i++) skewed = rows.get(i).getBalance() < floor;
+            return skewed ? distribute(wallet, rows, count, Instant.now()) : null;
+        });
+        if (t == null) return false;
+        metrics.shardRebalance();
+        balanceCache.evict(userId);
+        return true;
+    }
+
+    /** 잠긴 지갑 행/샤드 행에 전체 잔액을 다시 나눔 (count == 0이면 지갑 행에 전부) */
+    private Totals distribute(PointWallet wallet, List<PointWalletShard> rows, int count, Instant now) {
+        long total = wallet.getBalance();
+        for (PointWalletShard r : rows) total += r.getBalance();
+        wallet.setBalance(count == 0 ? total : 0);
+        for (PointWalletShard r : rows) {
+            int no = r.getShardNo();
+            long share = no >= count ? 0 : total / count + (no < total % count ? 1 : 0);
+            r.setActive(no < count);
+            if (share == r.getBalance()) continue;
+            r.setBalance(share);
+            r.setVersion(r.getVersion() + 1);
+            r.setUpdatedAt(now);
+        }
+        walletRepo.flush();
+        long version = wallet.getVersion();
+        for (PointWalletShard r : rows) version += r.getVersion();
+        return new Totals(total, version, count);
+    }
+}
@@ -0,0 +1,197 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BalanceAtResponse;
+import com.smartcane.point.entity.WalletSnapshot;
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.repository.WalletSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 잔액 스냅샷 생성/시점 잔액 조회
+ * - 생성 대상: 사용자별 원장 every-entries건마다, 또는 period마다 그 사이 원장이 있었던 사용자
+ *   (WalletService가 커밋 후 ledgerAppended로 알림 → 노드 로컬 카운터, 요청 경로에서는 큐에 넣기만 함)
+ * - 생성: 백그라운드 drain이 주기마다 최대 max-per-drain명씩 처리 (처리량 상한)
+ *   직전 스냅샷 + (직전 asOf, 새 asOf] 원장 합 → 원장만 읽고 point_wallet/FOR UPDATE는 쓰지 않음
+ * - 시점 잔액: asOf <= T 최신 스냅샷 + (asOf, T] 원장 합 → 비용은 전체 이력이 아니라 스냅샷 이후 원장 수에 비례
+ * - 구간이 보관 horizon 이전에 걸치면 그 부분은 보관 파일에서 합산
+ */
+@Slf4j
+@Service
+public class WalletSnapshotService {
+
+    private static final String SIGNED_SUM = signedSum();
+    private static final String DELTA_JPQL =
+            "select " + SIGNED_SUM + ", max(l.id), count(l) from PointLedger l " +
+            "where l.userId = :userId and l.status = com.smartcane.point.entity.enums.LedgerStatus.SUCCESS " +
+            "and l.createdAt > :from and l.createdAt <= :to";
+    private static final String UNTIL_JPQL =
+            "select " + SIGNED_SUM + ", max(l.id), count(l) from PointLedger l " +
+            "where l.userId = :userId and l.status = com.smartcane.point.entity.enums.LedgerStatus.SUCCESS " +
+            "and l.createdAt <= :to";
+    // 보관 horizon 이후 DB 원장: 경계 시각의 행은 DB에 남아 있으므로 >=
+    private static final String SINCE_JPQL =
+            "select " + SIGNED_SUM + ", max(l.id), count(l) from PointLedger l " +
+            "where l.userId = :userId and l.status = com.smartcane.point.entity.enums.LedgerStatus.SUCCESS " +
+            "and l.createdAt >= :from and l.createdAt <= :to";
+
+    /** 원장 구간 합계 */
+    record Delta(long sum, Long lastLedgerId, long entries) {}
+
+    private final WalletSnapshotRepository snapshotRepo;
+    private final LedgerArchiveReader archive;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+    private final ReplicaReads reads;
+    private final int everyEntries;
+    private final Duration settleLag;
+    private final int maxPerDrain;
+    private final ConcurrentHashMap<Long, AtomicInteger> sinceEnqueue = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    public WalletSnapshotService(WalletSnapshotRepository snapshotRepo,
+                                 LedgerArchiveReader archive,
+                                 EntityManager em,
+                                 PlatformTransactionManager txManager,
+                                 ReplicaReads reads,
+                                 @Value("${point.snapshot.every-entries:1000}") int everyEntries,
+                                 @Value("${point.snapshot.settle-lag:PT1M}") Duration settleLag,
+                                 @Value("${point.snapshot.max-per-drain:200}") int maxPerDrain) {
+        this.snapshotRepo = snapshotRepo;
+        this.archive = archive;
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.reads = reads;
+        this.everyEntries = everyEntries;
+        this.settleLag = settleLag;
+        this.maxPerDrain = maxPerDrain;
+    }
+
+    /** 원장 1건 커밋됨 (재요청 replay 제외) */
+    public void ledgerAppended(Long userId) {
+        if (sinceEnqueue.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet() >= everyEntries) {
+            enqueue(userId);
+        }
+    }
+
+    /** 주기 스냅샷: 마지막 큐잉 이후 원장이 있었던 사용자 전부 */
+    @Scheduled(fixedDelayString = "${point.snapshot.period-ms:3600000}",
+            initialDelayString = "${point.snapshot.period-ms:3600000}")
+    public void enqueueActive() {
+        sinceEnqueue.keySet().forEach(this::enqueue);
+    }
+
+    @Scheduled(fixedDelayString = "${point.snapshot.drain-interval-ms:1000}")
+    public int drain() {
+        int done = 0;
+        Long userId;
+        while (done < maxPerDrain && (userId = queue.poll()) != null) {
+            queued.remove(userId);
+            try {
+                snapshot(userId);
+            } catch (RuntimeException e) {
+                log.warn("[SNAPSHOT] userId={} failed - {}", userId, e.toString());
+            }
+            done++;
+        }
+        return done;
+    }
+
+    /** 스냅샷 1건 생성 (이전 스냅샷 이후 원장이 없으면 만들지 않음) */
+    public Optional<WalletSnapshot> snapshot(Long userId) {
+        // 컬럼 정밀도(마이크로초)에 맞춰 잘라 두어야 저장된 asOf 기준 경계가 계산 때와 같음
+        Instant asOf = Instant.now().minus(settleLag).truncatedTo(ChronoUnit.MICROS);
+        Optional<WalletSnapshot> prev = snapshotRepo.findFirstByUserIdOrderByAsOfDesc(userId);
+        if (prev.isPresent() && !prev.get().getAsOf().isBefore(asOf)) return prev;
+
+        Delta d = delta(userId, prev.map(WalletSnapshot::getAsOf).orElse(null), asOf);
+        if (d.entries() == 0) return prev;
+        try {
+            WalletSnapshot s = snapshotRepo.save(WalletSnapshot.builder()
+                    .userId(userId)
+                    .balance(prev.map(WalletSnapshot::getBalance).orElse(0L) + d.sum())
+                    .lastLedgerId(d.lastLedgerId())
+                    .entries(d.entries())
+                    .asOf(asOf)
+                    .build());
+            log.debug("[SNAPSHOT] userId={}, asOf={}, balance={}, entries={}", userId, asOf, s.getBalance(), d.entries());
+            return Optional.of(s);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 asOf로 먼저 기록 (값은 같음)
+            return snapshotRepo.findFirstByUserIdOrderByAsOfDesc(userId);
+        }
+    }
+
+    /** 시점 잔액: at 이전 최신 스냅샷 + 이후 원장 */
+    public BalanceAtResponse balanceAt(Long userId, Instant at) {
+        return reads.read(userId, () -> readBalanceAt(userId, at));
+    }
+
+    private BalanceAtResponse readBalanceAt(Long userId, Instant at) {
+        Optional<WalletSnapshot> base = snapshotRepo.findFirstByUserIdAndAsOfLessThanEqualOrderByAsOfDesc(userId, at);
+        Instant from = base.map(WalletSnapshot::getAsOf).orElse(null);
+        Delta d = delta(userId, from, at);
+        return new BalanceAtResponse(userId, at, base.map(WalletSnapshot::getBalance).orElse(0L) + d.sum(),
+                from, d.entries());
+    }
+
+    /** (from, to] 원장 합 (from == null 이면 처음부터), idx_user_created 범위 스캔 */
+    Delta delta(Long userId, Instant from, Instant to) {
+        Instant horizon = archive.horizon();
+        if (horizon == null || (from != null && !from.isBefore(horizon))) return dbDelta(userId, from, to, DELTA_JPQL);
+
+        // (from, horizon) 보관 파일 + [horizon, to] DB
+        LedgerArchiveReader.Sum archived = archive.sum(userId, from, to.isBefore(horizon) ? to : horizon.minusNanos(1));
+        if (to.isBefore(horizon)) return new Delta(archived.amount(), archived.lastLedgerId(), archived.entries());
+        Delta db = dbDelta(userId, horizon, to, SINCE_JPQL);
+        Long lastId = archived.lastLedgerId() == null ? db.lastLedgerId()
+                : db.lastLedgerId() == null ? archived.lastLedgerId() : Math.max(archived.lastLedgerId(), db.lastLedgerId());
+        return new Delta(archived.amount() + db.sum(), lastId, archived.entries() + db.entries());
+    }
+
+    private Delta dbDelta(Long userId, Instant from, Instant to, String jpql) {
+        return readOnlyTx.execute(s -> {
+            TypedQuery<Object[]> q = em.createQuery(from == null ? UNTIL_JPQL : jpql, Object[].class)
+                    .setParameter("userId", userId)
+                    .setParameter("to", to);
+            if (from != null) q.setParameter("from", from);
+            Object[] row = q.getSingleResult();
+            return new Delta(row[0] == null ? 0 : ((Number) row[0]).longValue(),
+                    row[1] == null ? null : ((Number) row[1]).longValue(),
+                    ((Number) row[2]).longValue());
+        });
+    }
+
+    private void enqueue(Long userId) {
+        sinceEnqueue.remove(userId);
+        if (queued.add(userId)) queue.add(userId);
+    }
+
+    /** sum(case l.type when CHARGE then l.amount when DEBIT then -l.amount ...) */
+    private static String signedSum() {
+        StringBuilder sb = new StringBuilder("sum(case l.type");
+        for (LedgerType t : LedgerType.values()) {
+            sb.append(" when com.smartcane.point.entity.enums.LedgerType.").append(t.name())
+                    .append(t.sign() > 0 ? " then l.amount" : " then -l.amount");
+        }
+        return sb.append(" end)").toString();
+    }
+}
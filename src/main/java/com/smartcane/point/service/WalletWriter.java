@@ -0,0 +1,11 @@
+package com.smartcane.point.service;
+
+/**
+ * 지갑 쓰기 전략
+ * - locking: SELECT ... FOR UPDATE 로 행 잠금 후 변경 (기존 방식)
+ * - engine : 프로세스 내 스트라이프 큐에서 직렬화/병합 후 @Version 검증
+ */
+public interface WalletWriter {
+
+    WalletMutationResult apply(WalletMutation mutation);
+}
@@ -0,0 +1,127 @@
+package com.smartcane.point.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcane.point.exception.ApiError;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 동시 처리 입장 제한 (/api/** 요청)
+ * - 허가 수 = Hikari 최대 풀 크기(point.db-gate.permits=0) → 동시에 DB를 쓰는 요청이 커넥션 수를 넘지 않음
+ * - 초과 요청은 Semaphore에서 대기: 가상 스레드 모드(spring.threads.virtual.enabled)에서는 대기 비용이 거의 없고,
+ *   플랫폼 스레드 모드에서도 커넥션 풀 대기(connectionTimeout) 대신 여기서 공정하게 줄을 선다
+ * - acquire-timeout 안에 입장하지 못하면 503 DB_BUSY (Retry-After: 1)
+ * - 혼합결제(/payments/mixed)는 제외: 요청 스레드는 PG 응답만 기다리고 DB 작업은 짧은 단계별 트랜잭션이라
+ *   PG 대기 동안 허가를 묶어 두지 않음 (PG 동시성은 point.pg.max-concurrency)
+ * - 메트릭: point.db.gate.in.use / point.db.gate.queued (hikaricp.connections.* 와 함께 포화도 확인)
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "point.db-gate", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbConcurrencyGateFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int size;
+    private final long timeoutNanos;
+    private final ObjectMapper objectMapper;
+
+    public DbConcurrencyGateFilter(DataSource dataSource,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry registry,
+                                   @Value("${point.db-gate.permits:0}") int permits,
+                                   @Value("${point.db-gate.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.size = permits > 0 ? permits : poolSize(dataSource);
+        this.permits = new Semaphore(size, true);
+        this.timeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+        Gauge.builder("point.db.gate.in.use", this, DbConcurrencyGateFilter::inUse)
+                .description("Requests holding a DB gate permit").register(registry);
+        Gauge.builder("point.db.gate.queued", this, DbConcurrencyGateFilter::queued)
+                .description("Requests waiting for a DB gate permit").register(registry);
+        log.info("[DB-GATE] permits={}, acquireTimeout={}", size, acquireTimeout);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return !path.startsWith("/api/") || path.endsWith("/payments/mixed");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** 현재 입장 대기 중인 요청 수 (추정치) */
+    public int queued() {
+        return permits.getQueueLength();
+    }
+
+    public int inUse() {
+        return size - permits.availablePermits();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.warn("[DB-GATE] rejected {} {} queued={}", request.getMethod(), request.getRequestURI(), queued());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiError.of("DB_BUSY", "database concurrency limit", status.value(), request.getRequestURI(), null));
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) return hikari.getMaximumPoolSize();
+        try {
+            // 라우팅 DataSource(ReadWriteDataSourceConfig)면 트랜잭션 밖 기본 대상인 primary 풀
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ignored) {
+            // 아래 기본값
+        }
+        return 10;   // Hikari 기본값
+    }
+}
@@ -0,0 +1,102 @@
+package com.smartcane.point.web;
+
+import com.smartcane.point.service.IdempotencyService;
+import com.smartcane.point.service.IdempotencyService.StoredResponse;
+import com.smartcane.point.service.PointMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * X-Idempotency-Key 재요청 단락 처리
+ * - 대상: POST /api/points/{userId}/wallet/charge, /payments/pay, /payments/cancel,
+ *         /payments/authorize, /payments/capture, /payments/void, /payments/mixed, /payments/batch
+ * - 저장된 응답이 있으면 컨트롤러/서비스를 타지 않고 그대로 반환 (Idempotent-Replayed: true)
+ * - 없으면 처리 후 2xx 응답만 기록 (4xx/5xx는 재시도 시 다시 판단해야 하므로 저장하지 않음)
+ * - DbConcurrencyGateFilter보다 먼저 실행 → 캐시 재응답은 DB 입장 허가를 쓰지 않음
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Pattern TARGET =
+            Pattern.compile("^/api/points/(\\d+)(/wallet/charge|/payments/(?:pay|cancel|authorize|capture|void|mixed|batch))$");
+
+    private final IdempotencyService idempotencyService;
+    private final PointMetrics metrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return true;
+        String key = request.getHeader(HEADER);
+        return key == null || key.isBlank() || !TARGET.matcher(path(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher m = TARGET.matcher(path(request));
+        if (!m.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Long userId = Long.valueOf(m.group(1));
+        String endpoint = m.group(2);
+        String key = request.getHeader(HEADER);
+
+        Optional<StoredResponse> stored = idempotencyService.find(key, endpoint, userId);
+        metrics.httpReplay(stored.isPresent());
+        if (stored.isPresent()) {
+            log.info("[IDEM] replay endpoint={}, userId={}, key={}", endpoint, userId, key);
+            StoredResponse r = stored.get();
+            response.setStatus(r.httpStatus());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (r.body() != null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.getWriter().write(r.body());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapped);
+            int status = wrapped.getStatus();
+            if (status >= 200 && status < 300) {
+                String body = new String(wrapped.getContentAsByteArray(), StandardCharsets.UTF_8);
+                idempotencyService.record(key, endpoint, userId, status, body);
+            }
+        } finally {
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    // context-path(/points) 제외 경로
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+}
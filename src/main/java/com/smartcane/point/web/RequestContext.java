@@ -0,0 +1,17 @@
+package com.smartcane.point.web;
+
+import com.smartcane.point.service.RequestIds;
+
+/**
+ * 요청 단위 문맥 (RequestContextArgumentResolver가 요청당 한 번 만듦)
+ * - idempotencyKey: X-Idempotency-Key 헤더 (없으면 null)
+ * - logged: 이 요청의 [API] 로그를 남길지 (point.api-log.sample-rate로 표본 추출, 요청 안에서는 일관)
+ */
+public record RequestContext(String idempotencyKey, boolean logged) {
+
+    /** 멱등키 우선순위: body.requestId > X-Idempotency-Key > 서버 발급 */
+    public String requestId(String requested) {
+        if (requested != null && !requested.isBlank()) return requested;
+        return idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : RequestIds.next();
+    }
+}
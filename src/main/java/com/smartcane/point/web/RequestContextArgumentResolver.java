@@ -0,0 +1,41 @@
+package com.smartcane.point.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 컨트롤러 파라미터 RequestContext 해석
+ * - 헤더 조회/로그 표본 추출을 여기서 한 번만 하고, 요청 DTO를 다시 만들지 않도록 requestId는 서비스에 따로 넘김
+ * - sample-rate: 1.0이면 전부, 0이면 [API] 로그 없음 (오류 로그는 GlobalExceptionHandler에서 항상 남김)
+ */
+@Component
+public class RequestContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final double sampleRate;
+
+    public RequestContextArgumentResolver(@Value("${point.api-log.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == RequestContext.class;
+    }
+
+    @Override
+    public RequestContext resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                          NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return new RequestContext(webRequest.getHeader(IdempotencyFilter.HEADER), sampled());
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
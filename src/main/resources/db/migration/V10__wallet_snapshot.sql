@@ -0,0 +1,13 @@
+-- V10: 잔액 스냅샷 (시점 잔액/대사를 전체 원장 대신 스냅샷 + 이후 원장으로 계산)
+--   balance = created_at <= as_of 인 SUCCESS 원장의 부호 반영 합, 백그라운드에서 원장만 읽어 생성
+CREATE TABLE IF NOT EXISTS wallet_snapshot (
+  id              BIGINT       NOT NULL AUTO_INCREMENT,
+  user_id         BIGINT       NOT NULL,
+  balance         BIGINT       NOT NULL,
+  last_ledger_id  BIGINT       NULL,
+  entries         BIGINT       NOT NULL,
+  as_of           TIMESTAMP(6) NOT NULL,
+  created_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_wallet_snapshot PRIMARY KEY (id),
+  CONSTRAINT uk_snapshot_user_asof UNIQUE KEY (user_id, as_of)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,33 @@
+-- V11: point_ledger 월 단위 RANGE 파티셔닝 + 보관(아카이브) 목록
+--   - 파티션 키는 created_at: MySQL은 모든 UNIQUE/PK에 파티션 컬럼이 있어야 하므로 PK를 (id, created_at)으로 변경
+--     (id는 pooled 시퀀스로 계속 유일, 단건 조회도 PK 앞부분 id로 seek)
+--   - TIMESTAMP 컬럼은 UNIX_TIMESTAMP()로만 RANGE 파티셔닝 가능, 경계는 Asia/Seoul 월 1일 00:00의 epoch 초
+--     (세션 time_zone과 무관하도록 숫자로 지정)
+--   - p_legacy: 2026-10 이전 전체, pmax: 미래 월은 LedgerArchiveService가 REORGANIZE로 미리 분할
+--   - 닫힌 파티션은 압축 파일로 내보내고 검증 후 DROP PARTITION (ledger_archive에 기록)
+ALTER TABLE point_ledger DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE point_ledger PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+  PARTITION p_legacy VALUES LESS THAN (1790780400),  -- < 2026-10-01 KST
+  PARTITION p202610  VALUES LESS THAN (1793458800),  -- < 2026-11-01 KST
+  PARTITION p202611  VALUES LESS THAN (1796050800),  -- < 2026-12-01 KST
+  PARTITION p202612  VALUES LESS THAN (1798729200),  -- < 2027-01-01 KST
+  PARTITION pmax     VALUES LESS THAN MAXVALUE
+);
+
+--   range_start NULL: 첫 파티션(하한 없음), 파일 행은 (user_id, created_at, id) 순서의 압축 열 블록
+CREATE TABLE IF NOT EXISTS ledger_archive (
+  id            BIGINT       NOT NULL AUTO_INCREMENT,
+  range_name    VARCHAR(32)  NOT NULL,
+  range_start   TIMESTAMP(6) NULL,
+  range_end     TIMESTAMP(6) NOT NULL,
+  file_name     VARCHAR(255) NOT NULL,
+  row_count     BIGINT       NOT NULL,
+  amount_sum    BIGINT       NOT NULL,
+  bytes         BIGINT       NOT NULL,
+  sha256        CHAR(64)     NOT NULL,
+  created_at    TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_ledger_archive PRIMARY KEY (id),
+  CONSTRAINT uk_ledger_archive_range UNIQUE KEY (range_name),
+  INDEX idx_ledger_archive_end (range_end)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,18 @@
+-- V12: 핫 지갑 샤딩 (opt-in)
+--   shard_count > 0 인 지갑은 잔액을 point_wallet_shard K개 행에 나눠 보관
+--   → 차감은 잔액이 충분한 샤드 한 행만 조건부 UPDATE (같은 지갑의 동시 차감이 한 행 잠금에 줄 서지 않음)
+--   총 잔액 = point_wallet.balance + SUM(point_wallet_shard.balance)
+--   (샤딩을 아직 모르는 노드가 지갑 행에 충전해도 합계는 맞고, 리밸런서가 샤드로 옮김)
+ALTER TABLE point_wallet ADD COLUMN shard_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS point_wallet_shard (
+  id          BIGINT       NOT NULL AUTO_INCREMENT,
+  user_id     BIGINT       NOT NULL,
+  shard_no    INT          NOT NULL,
+  balance     BIGINT       NOT NULL,
+  version     BIGINT       NOT NULL DEFAULT 0,
+  updated_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_point_wallet_shard PRIMARY KEY (id),
+  CONSTRAINT uk_wallet_shard_user_no UNIQUE KEY (user_id, shard_no),
+  CONSTRAINT chk_wallet_shard_balance CHECK (balance >= 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,42 @@
+-- V13: 포인트 유효기간 - 적립 단위(lot) 추적 + 만료 엔진
+--   적립/환불/예약 해제 원장마다 point_lot 1행, 차감은 OPEN lot을 (expires_at, id) 순으로 소진
+--   만료 엔진은 (status='OPEN', expires_at <= now) 인덱스 범위만 읽고 EXPIRE 원장 + 지갑 차감
+--   expires_at은 DATETIME(6): 기존 잔액 이관 lot의 '만료 없음'(9999-12-31)을 TIMESTAMP 범위(2038년)로 표현할 수 없음
+ALTER TABLE point_ledger DROP CHECK chk_ledger_type;
+ALTER TABLE point_ledger ADD CONSTRAINT chk_ledger_type
+  CHECK (type IN ('CHARGE','DEBIT','REFUND','CANCEL','HOLD','RELEASE','EXPIRE'));
+
+CREATE TABLE IF NOT EXISTS point_lot (
+  id              BIGINT       NOT NULL,
+  user_id         BIGINT       NOT NULL,
+  ledger_id       BIGINT       NULL,
+  amount          BIGINT       NOT NULL,
+  remaining       BIGINT       NOT NULL,
+  status          VARCHAR(20)  NOT NULL,
+  expires_at      DATETIME(6)  NOT NULL,
+  created_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  updated_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_point_lot PRIMARY KEY (id),
+  CONSTRAINT chk_lot_status CHECK (status IN ('OPEN','USED','EXPIRED')),
+  CONSTRAINT chk_lot_remaining CHECK (remaining >= 0 AND remaining <= amount),
+  INDEX idx_lot_user_open (user_id, status, expires_at, id),
+  INDEX idx_lot_status_expires (status, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 기존 잔액은 만료 없는 lot 하나로 이관 (기능 도입 전 적립분은 소멸시키지 않음)
+--   샤딩 지갑(V12)의 잔액은 대부분 point_wallet_shard에 있으므로 총 잔액 = 지갑 행 + 샤드 합계로 이관
+INSERT INTO point_lot (id, user_id, ledger_id, amount, remaining, status, expires_at)
+SELECT t.id, t.user_id, NULL, t.total, t.total, 'OPEN', '9999-12-31 00:00:00'
+FROM (
+  SELECT w.id, w.user_id,
+         w.balance + COALESCE((SELECT SUM(s.balance) FROM point_wallet_shard s WHERE s.user_id = w.user_id), 0) AS total
+  FROM point_wallet w
+) t
+WHERE t.total > 0;
+
+CREATE TABLE IF NOT EXISTS point_lot_seq (
+  next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO point_lot_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM point_lot;
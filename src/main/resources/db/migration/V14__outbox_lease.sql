@@ -0,0 +1,18 @@
+-- V14: 아웃박스 릴레이 리스 + 사용자별 전달 커서
+--   outbox_lease: 릴레이는 리스를 가진 노드 하나만 전달 (만료 전 연장, 만료되면 다른 노드가 조건부 UPDATE로 가져감)
+--   outbox_cursor: 사용자별 마지막 전달 seq → 배치를 넘어서도 seq 순 전달, 빈 seq 뒤 행은 채워지거나 gap-timeout까지 보류
+CREATE TABLE IF NOT EXISTS outbox_lease (
+  name        VARCHAR(40)  NOT NULL,
+  owner       VARCHAR(100) NOT NULL,
+  expires_at  TIMESTAMP(6) NOT NULL,
+  CONSTRAINT pk_outbox_lease PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO outbox_lease (name, owner, expires_at) VALUES ('relay', '-', '1970-01-01 00:00:01');
+
+CREATE TABLE IF NOT EXISTS outbox_cursor (
+  user_id     BIGINT       NOT NULL,
+  last_seq    BIGINT       NOT NULL,
+  updated_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_outbox_cursor PRIMARY KEY (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,22 @@
+-- V15: 주문 차감이 소진한 lot 조각
+--   DEBIT/HOLD가 lot을 소진할 때 (user_id, order_id, 만료일, 금액)을 남기고,
+--   같은 주문의 REFUND/RELEASE는 새 유효기간 대신 원래 만료일로 lot을 되살림
+--   (이 마이그레이션 전 차감분의 환불/해제는 조각이 없으므로 기존처럼 새 lot)
+CREATE TABLE IF NOT EXISTS point_lot_usage (
+  id          BIGINT       NOT NULL,
+  user_id     BIGINT       NOT NULL,
+  order_id    VARCHAR(100) NOT NULL,
+  lot_id      BIGINT       NOT NULL,
+  expires_at  DATETIME(6)  NOT NULL,
+  amount      BIGINT       NOT NULL,
+  restored    BIGINT       NOT NULL DEFAULT 0,
+  CONSTRAINT pk_point_lot_usage PRIMARY KEY (id),
+  CONSTRAINT chk_lot_usage_restored CHECK (restored >= 0 AND restored <= amount),
+  INDEX idx_lot_usage_user_order (user_id, order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS point_lot_usage_seq (
+  next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO point_lot_usage_seq (next_val) VALUES (1);
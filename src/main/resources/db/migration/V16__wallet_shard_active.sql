@@ -0,0 +1,9 @@
+-- V16: 샤드 활성 표시
+--   요청 경로의 샤드 UPDATE가 point_wallet.shard_count를 서브쿼리로 읽으면 InnoDB에서는 잠금 읽기
+--   → 핫 지갑 행에 S 잠금이 걸려 분할 차감/리샤드의 FOR UPDATE와 줄을 섬 (샤딩한 의미가 없어짐)
+--   shard_count는 노드가 아는 값을 바인드로 넘기고, 줄어든 샤드는 reshard가 잠근 채 active=0으로 막음
+ALTER TABLE point_wallet_shard ADD COLUMN active BOOLEAN NOT NULL DEFAULT TRUE;
+
+UPDATE point_wallet_shard s
+JOIN point_wallet w ON w.user_id = s.user_id
+SET s.active = (s.shard_no < w.shard_count);
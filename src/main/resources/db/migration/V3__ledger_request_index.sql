@@ -0,0 +1,3 @@
+-- V3: 원장 멱등 조회 (user_id, request_id) 인덱스
+--   WalletWriter가 요청 처리 전 동일 requestId 원장 존재 여부를 확인한다.
+CREATE INDEX idx_ledger_user_request ON point_ledger (user_id, request_id);
@@ -0,0 +1,10 @@
+-- V4: point_ledger id 발급을 AUTO_INCREMENT → pooled 시퀀스로 전환
+--   MySQL은 시퀀스가 없어 Hibernate가 point_ledger_seq 테이블(next_val)로 에뮬레이션한다.
+--   allocationSize(50) 단위로 미리 받아두므로 insert 전에 id가 정해져 JDBC 배치 insert가 가능해진다.
+--   pooled 옵티마이저는 읽은 값을 상한으로 쓰므로 기존 최대 id + 51 에서 시작해 충돌을 피한다.
+CREATE TABLE IF NOT EXISTS point_ledger_seq (
+  next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO point_ledger_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM point_ledger;
@@ -0,0 +1,11 @@
+-- V5: 멱등 응답 저장소 활성화
+--   1) 비동기 배치 저장을 위해 id를 pooled 시퀀스(idempotency_seq 테이블)로 발급
+--   2) TTL 정리 작업이 created_at 범위로 지우므로 인덱스 추가
+CREATE TABLE IF NOT EXISTS idempotency_seq (
+  next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO idempotency_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM idempotency;
+
+CREATE INDEX idx_idem_created ON idempotency (created_at);
@@ -0,0 +1,21 @@
+-- V6: 트랜잭션 아웃박스 (결제 상태/원장 변경 이벤트)
+--   결제/지갑 트랜잭션에서 insert, OutboxRelay가 id 순으로 읽어 전달 후 delete
+--   id는 원장과 같이 JDBC 배치 insert 되도록 pooled 시퀀스(outbox_seq 테이블)로 발급
+CREATE TABLE IF NOT EXISTS outbox_event (
+  id              BIGINT       NOT NULL,
+  user_id         BIGINT       NOT NULL,
+  seq             BIGINT       NOT NULL,   -- 커밋된 point_wallet.version (사용자별 순서)
+  aggregate_type  VARCHAR(20)  NOT NULL,
+  aggregate_id    VARCHAR(100) NOT NULL,
+  event_type      VARCHAR(40)  NOT NULL,
+  payload         TEXT         NOT NULL,
+  created_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_outbox_event PRIMARY KEY (id),
+  INDEX idx_outbox_user_seq (user_id, seq)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS outbox_seq (
+  next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO outbox_seq (next_val) VALUES (1);
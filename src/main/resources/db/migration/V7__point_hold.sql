@@ -0,0 +1,34 @@
+-- V7: 포인트 예약(승인 → 확정/취소) + 만료 스위퍼
+--   승인 시 HOLD 원장으로 가용 잔액에서 빼고 point_hold에 보관, 확정은 point_hold/payment 상태만 변경
+--   취소/만료는 RELEASE 원장으로 되돌림
+ALTER TABLE payment DROP CHECK chk_payment_status;
+ALTER TABLE payment ADD CONSTRAINT chk_payment_status
+  CHECK (status IN ('PENDING','AUTHORIZED','CAPTURED','CANCELED','FAILED'));
+
+ALTER TABLE point_ledger DROP CHECK chk_ledger_type;
+ALTER TABLE point_ledger ADD CONSTRAINT chk_ledger_type
+  CHECK (type IN ('CHARGE','DEBIT','REFUND','CANCEL','HOLD','RELEASE'));
+
+--   status: ACTIVE/CAPTURED/RELEASED/EXPIRED
+--   expiry_bucket: expires_at epoch초 / point.reservation.bucket-seconds
+--   → 스위퍼는 (status='ACTIVE', expiry_bucket <= 현재 버킷) 범위만 읽고 payment는 스캔하지 않음
+CREATE TABLE IF NOT EXISTS point_hold (
+  id              BIGINT       NOT NULL AUTO_INCREMENT,
+  payment_id      BIGINT       NOT NULL,
+  user_id         BIGINT       NOT NULL,
+  order_id        VARCHAR(100) NOT NULL,
+  amount          BIGINT       NOT NULL,
+  status          VARCHAR(20)  NOT NULL,
+  wallet_version  BIGINT       NOT NULL,
+  expires_at      TIMESTAMP(6) NOT NULL,
+  expiry_bucket   BIGINT       NOT NULL,
+  created_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  updated_at      TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_point_hold PRIMARY KEY (id),
+  CONSTRAINT uk_hold_payment UNIQUE KEY (payment_id),
+  CONSTRAINT chk_hold_status CHECK (status IN ('ACTIVE','CAPTURED','RELEASED','EXPIRED')),
+  CONSTRAINT fk_hold_payment
+    FOREIGN KEY (payment_id) REFERENCES payment(id)
+    ON UPDATE RESTRICT ON DELETE RESTRICT,
+  INDEX idx_hold_status_bucket (status, expiry_bucket)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
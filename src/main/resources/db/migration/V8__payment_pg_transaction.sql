@@ -0,0 +1,3 @@
+-- V8: 혼합결제(POINT+CARD) 카드 승인 번호
+--   예약 확정과 같은 트랜잭션에서 기록, PG 취소/대사 시 키로 사용
+ALTER TABLE payment ADD COLUMN pg_transaction_id VARCHAR(100) NULL AFTER last_request_id;
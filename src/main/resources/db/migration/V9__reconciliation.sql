@@ -0,0 +1,35 @@
+-- V9: 지갑-원장 대사 (point_wallet.balance = 부호 반영 point_ledger 합)
+--   userId 구간 단위로 병렬 검사, 완료 구간은 reconciliation_chunk에 체크포인트 → 중단 후 재개
+CREATE TABLE IF NOT EXISTS reconciliation_run (
+  id            BIGINT       NOT NULL AUTO_INCREMENT,
+  status        VARCHAR(20)  NOT NULL,
+  min_user_id   BIGINT       NOT NULL,
+  max_user_id   BIGINT       NOT NULL,
+  chunk_users   INT          NOT NULL,
+  started_at    TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  finished_at   TIMESTAMP(6) NULL,
+  CONSTRAINT pk_reconciliation_run PRIMARY KEY (id),
+  INDEX idx_recon_run_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS reconciliation_chunk (
+  id            BIGINT       NOT NULL AUTO_INCREMENT,
+  run_id        BIGINT       NOT NULL,
+  chunk_start   BIGINT       NOT NULL,
+  wallets       BIGINT       NOT NULL,
+  mismatches    BIGINT       NOT NULL,
+  completed_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_reconciliation_chunk PRIMARY KEY (id),
+  CONSTRAINT uk_recon_chunk UNIQUE KEY (run_id, chunk_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS reconciliation_mismatch (
+  id              BIGINT       NOT NULL AUTO_INCREMENT,
+  run_id          BIGINT       NOT NULL,
+  user_id         BIGINT       NOT NULL,
+  wallet_balance  BIGINT       NOT NULL,
+  ledger_balance  BIGINT       NOT NULL,
+  detected_at     TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  CONSTRAINT pk_reconciliation_mismatch PRIMARY KEY (id),
+  INDEX idx_recon_mismatch_run (run_id, user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,71 @@
+package com.smartcane.point.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlywayStartupConfigTest {
+
+    private static final String HISTORY = "CREATE TABLE flyway_schema_history (installed_rank INT PRIMARY KEY, "
+            + "version VARCHAR(50), description VARCHAR(200), type VARCHAR(20), script VARCHAR(1000), "
+            + "checksum INT, success BOOLEAN)";
+
+    @Test
+    void cachedChecksumsMatchFlywayResolver() {
+        Map<MigrationVersion, Integer> cached = FlywayStartupConfig.cachedChecksums(getClass().getClassLoader());
+
+        Map<MigrationVersion, Integer> resolved = Arrays.stream(flyway("fs-resolve").info().all())
+                .filter(i -> i.getVersion() != null)
+                .collect(Collectors.toMap(MigrationInfo::getVersion, MigrationInfo::getChecksum));
+
+        assertThat(cached).isNotEmpty().isEqualTo(resolved);
+    }
+
+    @Test
+    void skipsOnlyWhenHistoryMatchesCache() {
+        Flyway flyway = flyway("fs-history");
+        Configuration conf = flyway.getConfiguration();
+        JdbcTemplate jdbc = new JdbcTemplate(conf.getDataSource());
+
+        // 이력 테이블 없음 → migrate
+        assertThat(FlywayStartupConfig.upToDate(conf)).isFalse();
+
+        // 운영 이력 모양: V0 baseline, 로컬에 없는 V1은 repair로 삭제 표시, 이후 전부 성공
+        jdbc.execute(HISTORY);
+        jdbc.update("INSERT INTO flyway_schema_history VALUES (1, '0', '<< Flyway Baseline >>', 'BASELINE', 'x', NULL, TRUE)");
+        jdbc.update("INSERT INTO flyway_schema_history VALUES (2, '1', 'old', 'SQL', 'V1__old.sql', 42, TRUE)");
+        jdbc.update("INSERT INTO flyway_schema_history VALUES (3, '1', 'old', 'DELETE', 'V1__old.sql', 42, TRUE)");
+        int rank = 4;
+        for (var e : FlywayStartupConfig.cachedChecksums(getClass().getClassLoader()).entrySet()) {
+            if (e.getKey().getVersion().equals("0")) continue;
+            jdbc.update("INSERT INTO flyway_schema_history VALUES (?, ?, 'm', 'SQL', 's', ?, TRUE)",
+                    rank++, e.getKey().getVersion(), e.getValue());
+        }
+        assertThat(FlywayStartupConfig.upToDate(conf)).isTrue();
+
+        // 적용 후 스크립트가 바뀜 → migrate(validate)로 넘김
+        jdbc.update("UPDATE flyway_schema_history SET checksum = checksum + 1 WHERE version = '13'");
+        assertThat(FlywayStartupConfig.upToDate(conf)).isFalse();
+        jdbc.update("UPDATE flyway_schema_history SET checksum = checksum - 1 WHERE version = '13'");
+
+        // 아직 적용 안 된 마이그레이션 → migrate
+        jdbc.update("DELETE FROM flyway_schema_history WHERE version = '13'");
+        assertThat(FlywayStartupConfig.upToDate(conf)).isFalse();
+    }
+
+    private static Flyway flyway(String db) {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + db + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        return Flyway.configure().dataSource(ds).locations("classpath:db/migration").load();
+    }
+}
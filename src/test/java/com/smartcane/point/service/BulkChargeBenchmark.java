@@ -0,0 +1,72 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BulkChargeEntry;
+import com.smartcane.point.dto.BulkChargeProgress;
+import com.smartcane.point.repository.PointLedgerRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 캠페인 지급 처리량: 사용자별 charge 반복(요청당 1트랜잭션) vs bulkCharge(청크당 1트랜잭션, 배치 쓰기)
+ * ./gradlew benchmark --tests '*BulkChargeBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkChargeBenchmark {
+
+    private static final int USERS = 5_000;
+    private static final int CHUNK = 500;
+
+    @Autowired WalletService walletService;
+    @Autowired PointLedgerRepository ledgerRepo;
+
+    @Test
+    void entriesPerSecond() {
+        double loop = perUserLoop(400_000L);
+        double bulk = bulk(500_000L);
+
+        System.out.printf("[BENCH] campaign grant entries/s loop=%.0f bulk=%.0f (%.2fx)%n", loop, bulk, bulk / loop);
+    }
+
+    private double perUserLoop(long userBase) {
+        List<BulkChargeEntry> entries = entries(userBase, "loop");
+        long began = System.nanoTime();
+        for (BulkChargeEntry e : entries) walletService.charge(e.userId(), e.amount(), e.requestId(), null);
+        return USERS * 1e9 / (System.nanoTime() - began);
+    }
+
+    private double bulk(long userBase) {
+        List<BulkChargeEntry> entries = entries(userBase, "bulk");
+        long before = ledgerRepo.count();
+
+        long began = System.nanoTime();
+        BulkChargeProgress done = walletService.bulkCharge(entries.iterator(), CHUNK, p -> {});
+        long elapsed = System.nanoTime() - began;
+
+        assertThat(done.applied()).isEqualTo(USERS);
+        assertThat(ledgerRepo.count() - before).isEqualTo(USERS);
+
+        // 같은 파일 재전송 → 전부 replayed, 원장 증가 없음
+        BulkChargeProgress again = walletService.bulkCharge(entries.iterator(), CHUNK, p -> {});
+        assertThat(again.replayed()).isEqualTo(USERS);
+        assertThat(ledgerRepo.count() - before).isEqualTo(USERS);
+        return USERS * 1e9 / elapsed;
+    }
+
+    /** 기존 회원 대상 지급: 지갑은 미리 생성 */
+    private List<BulkChargeEntry> entries(long userBase, String tag) {
+        return LongStream.range(userBase, userBase + USERS)
+                .peek(walletService::createIfAbsent)
+                .mapToObj(id -> new BulkChargeEntry(id, 100, "campaign-" + tag + "-" + id))
+                .toList();
+    }
+}
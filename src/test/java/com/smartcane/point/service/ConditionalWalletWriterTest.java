@@ -0,0 +1,44 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalWalletWriterTest {
+
+    private static final long USER_ID = 99_101L;
+
+    @Autowired ConditionalWalletWriter writer;
+
+    @Test
+    void singleStatementWritesKeepIdempotencyAndBalanceGuard() {
+        WalletMutationResult charged = writer.apply(mutation(LedgerType.CHARGE, 1_000, "cond-c1"));
+        assertThat(charged.balance()).isEqualTo(1_000);
+
+        WalletMutationResult debited = writer.apply(mutation(LedgerType.DEBIT, 700, "cond-d1"));
+        assertThat(debited.balance()).isEqualTo(300);
+        assertThat(debited.version()).isGreaterThan(charged.version());
+
+        // 잔액보다 큰 재전송이라도 이미 반영된 요청이면 replay (재차감/잔액 부족 아님)
+        WalletMutationResult replay = writer.apply(mutation(LedgerType.DEBIT, 700, "cond-d1"));
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.ledgerId()).isEqualTo(debited.ledgerId());
+        assertThat(replay.balance()).isEqualTo(300);
+
+        assertThatThrownBy(() -> writer.apply(mutation(LedgerType.DEBIT, 301, "cond-d2")))
+                .isInstanceOf(BusinessException.class).hasMessage("INSUFFICIENT_POINT");
+        assertThat(writer.apply(mutation(LedgerType.REFUND, 700, "cond-d1")).balance()).isEqualTo(1_000);
+    }
+
+    private static WalletMutation mutation(LedgerType type, long amount, String requestId) {
+        return new WalletMutation(USER_ID, type, amount, requestId, null, "test");
+    }
+}
@@ -0,0 +1,99 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.PointserviceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 조회 요청의 커넥션 점유 시간 (hikaricp.connections.usage): 단일 풀 + open-in-view vs replica 라우팅 + open-in-view 끔
+ * - replica는 같은 H2 DB를 보는 두 번째 풀 (복제 지연 0인 stand-in)
+ * - 요청: 원장 500건 페이지 조회 (응답 직렬화가 커넥션 반납 전/후 어디에 있는지가 차이)
+ * ./gradlew benchmark --tests '*ConnectionHoldBenchmark'
+ */
+@Tag("benchmark")
+class ConnectionHoldBenchmark {
+
+    private static final long USER_ID = 31_001L;
+    private static final int ENTRIES = 500;
+    private static final int REQUESTS = 2_000;
+
+    @Test
+    void ledgerPageConnectionHold() throws Exception {
+        Stats before = run("osiv+primary", "--spring.jpa.open-in-view=true");
+        Stats after = run("replica", "--spring.jpa.open-in-view=false",
+                "--point.datasource.replica.url=jdbc:h2:mem:point;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        System.out.println(before);
+        System.out.println(after);
+        System.out.printf("[BENCH] replica/osiv mean hold = %.2fx, primary borrows %d -> %d%n",
+                after.meanMicros() / before.meanMicros(), before.primaryBorrows(), after.primaryBorrows());
+        assertThat(after.replicaBorrows()).isGreaterThanOrEqualTo(REQUESTS);
+    }
+
+    // args: application.yml보다 우선하는 명령행 인자로 구성 차이를 줌
+    private Stats run(String name, String... args) throws Exception {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(PointserviceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "point.outbox.relay.enabled=false")
+                .run(args)) {
+            WalletService wallets = ctx.getBean(WalletService.class);
+            for (int i = 0; i < ENTRIES; i++) wallets.charge(USER_ID, 10, UUID.randomUUID().toString(), null);
+            Thread.sleep(6_000);   // read-your-writes 표시가 지난 뒤 측정 (replica 경로)
+
+            MockMvc mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) ctx).build();
+            for (int i = 0; i < 200; i++) page(mvc);   // warm-up
+            MeterRegistry registry = ctx.getBean(MeterRegistry.class);
+            Usage warm = usage(registry);
+
+            long began = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) page(mvc);
+            double reqPerSec = REQUESTS * 1e9 / (System.nanoTime() - began);
+
+            Usage u = usage(registry);
+            long primary = u.primary() - warm.primary(), replica = u.replica() - warm.replica();
+            double meanMicros = (u.totalMicros() - warm.totalMicros()) / Math.max(1, primary + replica);
+            return new Stats(name, reqPerSec, meanMicros, primary, replica);
+        }
+    }
+
+    // 풀별 누적 대여 수/점유 시간 (측정 구간은 전후 차이)
+    private static Usage usage(MeterRegistry registry) {
+        long primary = 0, replica = 0;
+        double totalMicros = 0;
+        for (Timer t : registry.find("hikaricp.connections.usage").timers()) {
+            if ("replica".equals(t.getId().getTag("pool"))) replica += t.count(); else primary += t.count();
+            totalMicros += t.totalTime(TimeUnit.MICROSECONDS);
+        }
+        return new Usage(primary, replica, totalMicros);
+    }
+
+    private record Usage(long primary, long replica, double totalMicros) {}
+
+    private static void page(MockMvc mvc) throws Exception {
+        mvc.perform(get("/api/points/{userId}/ledger", USER_ID).param("size", String.valueOf(ENTRIES))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    private record Stats(String name, double reqPerSec, double meanMicros, long primaryBorrows, long replicaBorrows) {
+        @Override
+        public String toString() {
+            return String.format("[BENCH] %-12s req/s=%.0f hold mean=%.0fus borrows primary=%d replica=%d",
+                    name, reqPerSec, meanMicros, primaryBorrows, replicaBorrows);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartcane.point.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단일 핫 지갑 차감: 샤딩 전(write-mode 기본) vs 샤드 K개
+ * ./gradlew benchmark --tests '*HotWalletShardingBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class HotWalletShardingBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 200;
+    private static final long OPENING = 10_000_000L;
+
+    @Autowired WalletService walletService;
+    @Autowired WalletShardService shardService;
+
+    @Test
+    void singleHotWalletDebits() throws Exception {
+        Stats base = run("unsharded", 0, 30_001L);
+        System.out.println(base);
+        long userId = 30_002L;
+        for (int k : new int[]{1, 2, 4, 8}) {
+            Stats s = run("shards=" + k, k, userId++);
+            System.out.println(s);
+            System.out.printf("[BENCH] shards=%d/unsharded throughput = %.2fx%n", k, s.opsPerSec() / base.opsPerSec());
+        }
+    }
+
+    private Stats run(String name, int shards, long userId) throws Exception {
+        walletService.charge(userId, OPENING, UUID.randomUUID().toString(), null);
+        if (shards > 0) shardService.reshard(userId, shards);
+        for (int i = 0; i < 200; i++) debit(userId);   // warm-up
+
+        long[] latencies = new long[THREADS * OPS_PER_THREAD];
+        AtomicInteger idx = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        long s = System.nanoTime();
+                        debit(userId);
+                        latencies[idx.getAndIncrement()] = System.nanoTime() - s;
+                    }
+                    return null;
+                });
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get(5, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - began;
+
+            assertThat(shardService.totals(userId).balance()).isEqualTo(OPENING - 200 - latencies.length);
+
+            Arrays.sort(latencies);
+            return new Stats(name, latencies.length * 1e9 / elapsed,
+                    latencies[latencies.length / 2] / 1e3,
+                    latencies[(int) (latencies.length * 0.99)] / 1e3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void debit(long userId) {
+        walletService.debit(userId, 1, UUID.randomUUID().toString(), null);
+    }
+
+    private record Stats(String name, double opsPerSec, double p50Micros, double p99Micros) {
+        @Override
+        public String toString() {
+            return String.format("[BENCH] %-9s threads=%d ops/s=%.0f p50=%.0fus p99=%.0fus",
+                    name, THREADS, opsPerSec, p50Micros, p99Micros);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.smartcane.point.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키 삽입 처리량: UUID.randomUUID() vs RequestIds(UUID v7)
+ * - idempotency(uk_idem: request_key, endpoint, user_id), payment(uk_payment_order: order_id)
+ * - 테이블마다 ROWS건을 BATCH 단위 JDBC 배치로 넣고 마지막 SLICE건 구간 처리량도 따로 기록 (인덱스가 커진 뒤)
+ * ./gradlew benchmark --tests '*IdKeyInsertBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class IdKeyInsertBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH = 1_000;
+    private static final int SLICE = 50_000;
+
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void insertThroughput() {
+        List<String> v7 = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) v7.add(RequestIds.next());
+        assertThat(v7).isSorted();
+        assertThat(UUID.fromString(v7.get(0)).version()).isEqualTo(7);
+
+        for (String table : List.of("idempotency", "payment")) {
+            run(table, "warmup", () -> UUID.randomUUID().toString());
+            jdbc.update("DELETE FROM " + table);
+            Stats random = run(table, "random", () -> UUID.randomUUID().toString());
+            jdbc.update("DELETE FROM " + table);
+            Stats ordered = run(table, "uuidv7", RequestIds::next);
+            jdbc.update("DELETE FROM " + table);
+            System.out.println(random);
+            System.out.println(ordered);
+            System.out.printf("[BENCH] %s uuidv7/random rows/s = %.2fx (last %d rows %.2fx)%n", table,
+                    ordered.rowsPerSec() / random.rowsPerSec(), SLICE, ordered.tailRowsPerSec() / random.tailRowsPerSec());
+        }
+    }
+
+    private Stats run(String table, String name, Supplier<String> keys) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String sql = table.equals("idempotency")
+                ? "INSERT INTO idempotency (id, request_key, endpoint, user_id, http_status, created_at) VALUES (?, ?, '/payments/pay', ?, 200, ?)"
+                : "INSERT INTO payment (user_id, order_id, method, status, total_amount, point_amount, cash_amount, created_at, updated_at) "
+                  + "VALUES (?, ?, 'POINT', 'CAPTURED', 1000, 1000, 0, ?, ?)";
+        long began = System.nanoTime(), tailBegan = 0;
+        for (int done = 0; done < ROWS; done += BATCH) {
+            if (done == ROWS - SLICE) tailBegan = System.nanoTime();
+            List<Object[]> args = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                long n = done + i;
+                args.add(table.equals("idempotency")
+                        ? new Object[]{10_000_000L + n, keys.get(), n % 10_000, now}
+                        : new Object[]{n % 10_000, keys.get(), now, now});
+            }
+            jdbc.batchUpdate(sql, args);
+        }
+        long end = System.nanoTime();
+        return new Stats(table, name, ROWS * 1e9 / (end - began), SLICE * 1e9 / (end - tailBegan));
+    }
+
+    private record Stats(String table, String name, double rowsPerSec, double tailRowsPerSec) {
+        @Override
+        public String toString() {
+            return String.format("[BENCH] %-11s %-6s rows=%d rows/s=%.0f last-%d rows/s=%.0f",
+                    table, name, ROWS, rowsPerSec, SLICE, tailRowsPerSec);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.Idempotency;
+import com.smartcane.point.repository.IdempotencyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTest {
+
+    private static final long USER_ID = 99_401L;
+
+    @Autowired IdempotencyService idempotency;
+    @Autowired IdempotencyRepository repo;
+
+    @Test
+    void duplicateInBatchDoesNotDropOtherRows() {
+        String taken = "idem-taken-" + System.nanoTime(), other = "idem-other-" + System.nanoTime();
+        // 다른 노드가 먼저 저장한 키
+        repo.save(Idempotency.builder().requestKey(taken).endpoint("/wallet/charge").userId(USER_ID)
+                .httpStatus(200).responseBody("{\"node\":\"b\"}").build());
+
+        idempotency.record(taken, "/wallet/charge", USER_ID, 200, "{\"node\":\"a\"}");
+        idempotency.record(other, "/wallet/charge", USER_ID, 200, "{}");
+        idempotency.flush();   // 배치 실패 → 행 단위 재시도 (중복만 건너뜀)
+
+        assertThat(repo.findByRequestKeyAndEndpointAndUserId(taken, "/wallet/charge", USER_ID))
+                .hasValueSatisfying(i -> assertThat(i.getResponseBody()).isEqualTo("{\"node\":\"b\"}"));
+        assertThat(repo.existsByRequestKeyAndEndpointAndUserId(other, "/wallet/charge", USER_ID)).isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.LedgerEntryResponse;
+import com.smartcane.point.dto.LedgerPageResponse;
+import com.smartcane.point.entity.LedgerArchive;
+import com.smartcane.point.repository.PointLedgerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "point.ledger.archive.retention-months=13")
+@ActiveProfiles("test")
+class LedgerArchiveServiceTest {
+
+    private static final long USER_ID = 97_001L;
+
+    @Autowired LedgerArchiveService archiveService;
+    @Autowired LedgerHistoryService historyService;
+    @Autowired WalletSnapshotService snapshotService;
+    @Autowired WalletService walletService;
+    @Autowired PointLedgerRepository ledgerRepo;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    void archivesOldMonthsAndReadsThemBackTransparently() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Asia/Seoul"));
+        walletService.charge(USER_ID, 1_000, "arch-c1", null);
+        walletService.debit(USER_ID, 300, "arch-d1", null);
+        walletService.charge(USER_ID, 50, "arch-c2", null);
+        backdate("arch-c1", now.minusMonths(24).toInstant());
+        backdate("arch-d1", now.minusMonths(23).toInstant());
+        backdate("arch-c2", now.minusMonths(20).toInstant());
+        walletService.charge(USER_ID, 500, "arch-c3", null);
+
+        assertThat(archiveService.archive())
+                .extracting(LedgerArchive::getRowCount).containsExactly(1L, 1L, 1L);
+        assertThat(ledgerRepo.findHistory(USER_ID, Limit.of(10)))
+                .extracting(LedgerEntryResponse::requestId).containsExactly("arch-c3");
+
+        // 이력: DB(최신) → 보관 파일 순으로 이어짐
+        LedgerPageResponse first = historyService.page(USER_ID, null, 2);
+        assertThat(first.items()).extracting(LedgerEntryResponse::requestId).containsExactly("arch-c3", "arch-c2");
+        LedgerPageResponse second = historyService.page(USER_ID, first.nextCursor(), 2);
+        assertThat(second.items()).extracting(LedgerEntryResponse::requestId).containsExactly("arch-d1", "arch-c1");
+        assertThat(second.nextCursor()).isNull();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(historyService.export(USER_ID, null, out)).isEqualTo(4);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(4);
+
+        // 시점 잔액: 보관 구간은 파일에서 합산
+        assertThat(snapshotService.balanceAt(USER_ID, Instant.now()).balance()).isEqualTo(1_250);
+        assertThat(snapshotService.balanceAt(USER_ID, now.minusMonths(23).plusDays(1).toInstant()).balance()).isEqualTo(700);
+
+        // 재실행은 할 일 없음
+        assertThat(archiveService.archive()).isEmpty();
+    }
+
+    private void backdate(String requestId, Instant createdAt) {
+        new TransactionTemplate(txManager).executeWithoutResult(s -> em.createQuery(
+                        "update PointLedger l set l.createdAt = :t where l.userId = :u and l.requestId = :r")
+                .setParameter("t", createdAt)
+                .setParameter("u", USER_ID)
+                .setParameter("r", requestId)
+                .executeUpdate());
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.repository.PointLedgerRepository;
+import com.smartcane.point.repository.PointWalletRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 원장 insert 처리량: 요청당 1트랜잭션/1행(locking) vs 그룹 커밋(engine, 다중 사용자 배치)
+ * ./gradlew benchmark --tests '*LedgerGroupCommitBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerGroupCommitBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 200;
+
+    @Autowired LockingWalletWriter lockingWriter;
+    @Autowired PointWalletRepository walletRepo;
+    @Autowired PointLedgerRepository ledgerRepo;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired WalletService walletService;
+    @Autowired OutboxWriter outbox;
+    @Autowired PointLotService lots;
+
+    @Test
+    void ledgerInsertRowsPerSecond() throws Exception {
+        // 스트라이프 4개: 서로 다른 사용자들이 같은 스트라이프에서 한 트랜잭션으로 묶이도록
+        WalletWriter noLinger = new WalletMutationEngine(walletRepo, ledgerRepo, txManager, PointMetrics.noop(), outbox, lots, 4, 64, 3, 0);
+        WalletWriter grouped = new WalletMutationEngine(walletRepo, ledgerRepo, txManager, PointMetrics.noop(), outbox, lots, 4, 64, 3, 200);
+
+        double locking = run(lockingWriter, 100_000L);
+        double engine0 = run(noLinger, 200_000L);
+        double engine200 = run(grouped, 300_000L);
+
+        System.out.printf("[BENCH] ledger rows/s locking=%.0f engine(linger=0)=%.0f engine(linger=200us)=%.0f (%.2fx)%n",
+                locking, engine0, engine200, engine200 / locking);
+    }
+
+    /** 스레드마다 다른 사용자에게 충전 → 초당 원장 insert 행 수 */
+    private double run(WalletWriter writer, long userBase) throws Exception {
+        for (int t = 0; t < THREADS; t++) walletService.createIfAbsent(userBase + t);
+        long before = ledgerRepo.count();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                long userId = userBase + t;
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        writer.apply(new WalletMutation(userId, LedgerType.CHARGE, 1,
+                                UUID.randomUUID().toString(), null, "bench"));
+                    }
+                    return null;
+                });
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get(5, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - began;
+
+            long rows = ledgerRepo.count() - before;
+            assertThat(rows).isEqualTo((long) THREADS * OPS_PER_THREAD);
+            return rows * 1e9 / elapsed;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.LedgerEntryResponse;
+import com.smartcane.point.dto.LedgerPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerHistoryServiceTest {
+
+    private static final long USER_ID = 91_001L;
+
+    @Autowired LedgerHistoryService ledgerHistoryService;
+    @Autowired WalletService walletService;
+
+    @Test
+    void keysetPagesAndExportResumeCoverEveryRowOnce() {
+        for (int i = 0; i < 7; i++) walletService.charge(USER_ID, 10 + i, "hist-" + i, null);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        String afterFirstPage = null;
+        do {
+            LedgerPageResponse page = ledgerHistoryService.page(USER_ID, cursor, 3);
+            page.items().stream().map(LedgerEntryResponse::id).forEach(paged::add);
+            if (afterFirstPage == null) afterFirstPage = page.nextCursor();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).hasSize(7).doesNotHaveDuplicates();
+        assertThat(paged).isSortedAccordingTo((a, b) -> Long.compare(b, a));   // 같은 스레드 순차 충전 → 최신순 = id 역순
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        assertThat(ledgerHistoryService.export(USER_ID, null, all)).isEqualTo(7);
+        assertThat(ledgerHistoryService.export(USER_ID, afterFirstPage, rest)).isEqualTo(4);
+        assertThat(all.toString(StandardCharsets.UTF_8).lines()).hasSize(7)
+                .endsWith(rest.toString(StandardCharsets.UTF_8).lines().toArray(String[]::new));
+    }
+}
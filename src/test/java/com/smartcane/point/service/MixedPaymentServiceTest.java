@@ -0,0 +1,55 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "point.pg.stub.latency=PT0.01S")
+@ActiveProfiles("test")
+class MixedPaymentServiceTest {
+
+    private static final long USER_ID = 94_001L;
+
+    @Autowired MixedPaymentService mixedPaymentService;
+    @Autowired WalletService walletService;
+    @Autowired PaymentRepository paymentRepo;
+
+    @Test
+    void approvedCardCapturesPointHold() {
+        long base = walletService.charge(USER_ID, 10_000, "mixed-seed-1", null).balance();
+
+        PaymentResponse r = mixedPaymentService.pay(USER_ID, new CreatePaymentRequest(5000, 2000, 3000, "mixed-o1", "mixed-r1"));
+
+        assertThat(r.status()).isEqualTo("CAPTURED");
+        assertThat(r.walletBalance()).isEqualTo(base - 2000);
+        Payment p = paymentRepo.findByOrderId("mixed-o1").orElseThrow();
+        assertThat(p.getMethod().name()).isEqualTo("MIXED");
+        assertThat(p.getPgTransactionId()).startsWith("stub-");
+
+        // 재요청은 PG를 다시 부르지 않고 현재 상태
+        assertThat(mixedPaymentService.pay(USER_ID, new CreatePaymentRequest(5000, 2000, 3000, "mixed-o1", "mixed-r2")).status())
+                .isEqualTo("CAPTURED");
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(base - 2000);
+    }
+
+    @Test
+    void declinedCardReleasesPointHold() {
+        long base = walletService.charge(USER_ID, 10_000, "mixed-seed-2", null).balance();
+
+        assertThatThrownBy(() -> mixedPaymentService.pay(USER_ID,
+                new CreatePaymentRequest(5000, 2000, 3000, "pg-decline-o2", "mixed-r3")))
+                .isInstanceOf(BusinessException.class).hasMessage("PG_DECLINED");
+
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(base);
+        assertThat(paymentRepo.findByOrderId("pg-decline-o2").orElseThrow().getStatus().name()).isEqualTo("CANCELED");
+    }
+}
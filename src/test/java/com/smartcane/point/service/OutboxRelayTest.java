@@ -0,0 +1,107 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.entity.OutboxEvent;
+import com.smartcane.point.repository.OutboxCursorRepository;
+import com.smartcane.point.repository.OutboxEventRepository;
+import com.smartcane.point.repository.OutboxLeaseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "point.outbox.relay.enabled=true",
+        "point.outbox.relay.gap-timeout=PT30S",
+        "point.outbox.sink=in-memory",
+        "point.outbox.relay.min-backoff-ms=1",
+        "point.outbox.relay.max-backoff-ms=20"
+})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    private static final long USER_ID = 92_001L;
+
+    @Autowired WalletService walletService;
+    @Autowired PaymentService paymentService;
+    @Autowired OutboxSink sink;
+    @Autowired OutboxEventRepository outboxRepo;
+    @Autowired OutboxLeaseRepository leaseRepo;
+    @Autowired OutboxCursorRepository cursorRepo;
+    @Autowired TransactionTemplate tx;
+    @Autowired PointMetrics metrics;
+
+    @Test
+    void paymentAndLedgerEventsAreRelayedInPerUserOrder() throws Exception {
+        walletService.charge(USER_ID, 10_000, "outbox-seed", null);
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(3000, 3000, 0, "outbox-o1", "outbox-o1"));
+        paymentService.cancel(USER_ID, new CancelPaymentRequest("outbox-o1", 1000, "outbox-c1", "USER_REQUEST", null));
+        walletService.charge(USER_ID, 10_000, "outbox-seed", null);   // 멱등 재요청 → 이벤트 없음
+
+        List<OutboxMessage> mine = List.of();
+        for (int i = 0; i < 200 && mine.size() < 5; i++) {
+            Thread.sleep(10);
+            mine = ((InMemoryOutboxSink) sink).messages().stream().filter(m -> m.userId() == USER_ID).toList();
+        }
+
+        assertThat(mine).extracting(OutboxMessage::eventType).containsExactly(
+                "LEDGER_APPENDED", "LEDGER_APPENDED", "PAYMENT_CAPTURED", "LEDGER_APPENDED", "PAYMENT_CANCELED");
+        assertThat(mine).extracting(OutboxMessage::seq).isSorted();
+        assertThat(mine.get(4).payload()).contains("\"remainPoint\":2000", "\"walletBalance\":8000");
+        for (int i = 0; i < 100 && outboxRepo.count() > 0; i++) Thread.sleep(10);
+        assertThat(outboxRepo.count()).isZero();   // 전달된 행은 삭제
+    }
+
+    @Test
+    void rowsAfterSeqGapAreHeldUntilGapIsFilled() throws Exception {
+        long userId = 92_002L;
+        outboxRepo.save(event(userId, 1));
+        assertThat(awaitSeqs(userId, 1)).containsExactly(1L);
+
+        // 다른 노드 id 블록: seq 3이 seq 2보다 작은 id로 먼저 보임
+        outboxRepo.save(event(userId, 3));
+        Thread.sleep(200);
+        assertThat(seqs(userId)).containsExactly(1L);
+
+        outboxRepo.save(event(userId, 2));
+        assertThat(awaitSeqs(userId, 3)).containsExactly(1L, 2L, 3L);
+        for (int i = 0; i < 100 && cursorRepo.findById(userId).map(c -> c.getLastSeq()).orElse(0L) < 3; i++) {
+            Thread.sleep(10);   // 커서는 전달 후 삭제와 같은 트랜잭션에서 갱신
+        }
+        assertThat(cursorRepo.findById(userId)).get().extracting(c -> c.getLastSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    void onlyLeaseHolderRelays() throws Exception {
+        for (int i = 0; i < 200 && !leaseRepo.existsById(OutboxRelay.LEASE); i++) Thread.sleep(10);
+        OutboxRelay other = new OutboxRelay(outboxRepo, leaseRepo, cursorRepo, sink, tx, metrics,
+                1, 10, 1, 20, Duration.ofSeconds(10), Duration.ofSeconds(30));
+        assertThat(other.lease()).isFalse();   // 컨텍스트의 릴레이가 리스 보유 중
+    }
+
+    private static OutboxEvent event(long userId, long seq) {
+        return OutboxEvent.builder().userId(userId).seq(seq).aggregateType("WALLET")
+                .aggregateId(String.valueOf(userId)).eventType("LEDGER_APPENDED").payload("{}").build();
+    }
+
+    private List<Long> seqs(long userId) {
+        return ((InMemoryOutboxSink) sink).messages().stream()
+                .filter(m -> m.userId() == userId).map(OutboxMessage::seq).toList();
+    }
+
+    private List<Long> awaitSeqs(long userId, int count) throws InterruptedException {
+        List<Long> seqs = seqs(userId);
+        for (int i = 0; i < 200 && seqs.size() < count; i++) {
+            Thread.sleep(10);
+            seqs = seqs(userId);
+        }
+        return seqs;
+    }
+}
@@ -0,0 +1,74 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BatchPaymentResponse;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 다건 결제 지연: 주문 N건을 단건 API로 차례로 vs 일괄 결제 한 번
+ * - 단건: 주문마다 주문 조회/지갑 트랜잭션/커밋, 일괄: 주문 조회 1회 + 지갑 트랜잭션 1회 + payment multi-row INSERT
+ * ./gradlew benchmark --tests '*PaymentBatchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "point.outbox.relay.enabled=false")
+@ActiveProfiles("test")
+class PaymentBatchBenchmark {
+
+    private static final long USER_ID = 32_001L;
+    private static final int[] SIZES = {1, 5, 10, 25, 50};
+    private static final int ROUNDS = 40;
+
+    @Autowired PaymentService paymentService;
+    @Autowired WalletService walletService;
+
+    @Test
+    void batchLatencyBySize() {
+        walletService.charge(USER_ID, 1_000_000_000L, "bench-batch-seed-" + System.nanoTime(), null);
+        for (int i = 0; i < 10; i++) {   // warm-up
+            single(orders(10));
+            batch(orders(10));
+        }
+        for (int n : SIZES) {
+            long singleNanos = 0, batchNanos = 0;
+            for (int r = 0; r < ROUNDS; r++) {
+                singleNanos += single(orders(n));
+                batchNanos += batch(orders(n));
+            }
+            double singleMs = singleNanos / 1e6 / ROUNDS, batchMs = batchNanos / 1e6 / ROUNDS;
+            System.out.printf("[BENCH] N=%-3d single x N = %7.2fms  batch = %6.2fms  (%.1fx, batch per order %.3fms)%n",
+                    n, singleMs, batchMs, singleMs / batchMs, batchMs / n);
+        }
+    }
+
+    private long single(List<CreatePaymentRequest> orders) {
+        long t0 = System.nanoTime();
+        for (CreatePaymentRequest o : orders) paymentService.payWithPoints(USER_ID, o);
+        return System.nanoTime() - t0;
+    }
+
+    private long batch(List<CreatePaymentRequest> orders) {
+        long t0 = System.nanoTime();
+        BatchPaymentResponse r = paymentService.payBatch(USER_ID, orders, null);
+        long took = System.nanoTime() - t0;
+        assertThat(r.results()).allMatch(x -> "CAPTURED".equals(x.status()));
+        return took;
+    }
+
+    private static List<CreatePaymentRequest> orders(int n) {
+        List<CreatePaymentRequest> orders = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String orderId = RequestIds.next();
+            orders.add(new CreatePaymentRequest(100, 100, 0, orderId, null));
+        }
+        return orders;
+    }
+}
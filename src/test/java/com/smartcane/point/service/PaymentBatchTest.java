@@ -0,0 +1,59 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BatchPaymentResponse;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentBatchTest {
+
+    private static final long USER_ID = 99_301L;
+
+    @Autowired PaymentService paymentService;
+    @Autowired WalletService walletService;
+    @Autowired PaymentRepository paymentRepo;
+    @Autowired PaymentStateCache states;
+
+    @Test
+    void batchPaysEachOrderOnceWithPerOrderResults() {
+        String p = "batch-" + System.nanoTime() + "-";
+        walletService.charge(USER_ID, 3_000, p + "seed", null);
+        paymentService.payWithPoints(USER_ID, order(p + "d", 500), p + "d");   // 이미 확정된 주문
+
+        List<CreatePaymentRequest> orders = List.of(
+                order(p + "a", 1_000), order(p + "b", 1_000), order(p + "a", 1_000),
+                order(p + "c", 0), order(p + "d", 500), order(p + "e", 2_000));
+        BatchPaymentResponse r = paymentService.payBatch(USER_ID, orders, p + "key");
+
+        assertThat(r.results()).extracting(BatchPaymentResponse.Result::status)
+                .containsExactly("CAPTURED", "CAPTURED", null, null, "CAPTURED", null);
+        assertThat(r.results()).extracting(BatchPaymentResponse.Result::code)
+                .containsExactly(null, null, "DUPLICATE_ORDER_IN_BATCH", "INVALID_TOTAL_AMOUNT", null, "INSUFFICIENT_POINT");
+        assertThat(r.walletBalance()).isEqualTo(500);
+
+        Payment a = paymentRepo.findByOrderId(p + "a").orElseThrow();
+        assertThat(a.getPointAmount()).isEqualTo(1_000);
+        assertThat(states.get(p + "a").id()).isEqualTo(a.getId());
+        assertThat(paymentRepo.findByOrderId(p + "e")).isEmpty();
+
+        // 같은 묶음 재요청: 새로 차감하지 않고 현재 상태로
+        BatchPaymentResponse replay = paymentService.payBatch(USER_ID, orders, p + "key");
+        assertThat(replay.results()).extracting(BatchPaymentResponse.Result::status)
+                .containsExactly("CAPTURED", "CAPTURED", null, null, "CAPTURED", null);
+        assertThat(replay.walletBalance()).isEqualTo(500);
+    }
+
+    private static CreatePaymentRequest order(String orderId, long amount) {
+        return new CreatePaymentRequest(amount, amount, 0, orderId, null);
+    }
+}
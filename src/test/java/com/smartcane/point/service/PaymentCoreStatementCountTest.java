@@ -0,0 +1,19 @@
+package com.smartcane.point.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 아웃박스/lot을 끈 결제/취소 핵심 경로 문장 수 (PAY_CORE, CANCEL_CORE)
+ * - 기능 예산과 섞이지 않게 핵심 경로 회귀만 따로 잡음
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "point.wallet.write-mode=engine",
+        "point.outbox.relay.enabled=false",
+        "point.outbox.enabled=false",
+        "point.lot.enabled=false"
+})
+@ActiveProfiles("test")
+class PaymentCoreStatementCountTest extends PaymentStatementCountTest {
+}
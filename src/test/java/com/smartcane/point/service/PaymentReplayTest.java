@@ -0,0 +1,101 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentReplayTest {
+
+    private static final long USER_ID = 99_501L;
+
+    @Autowired PaymentService paymentService;
+    @Autowired WalletService walletService;
+    @Autowired PaymentRepository paymentRepo;
+
+    @Test
+    void requestIdReusedForAnotherOrderIsRejected() {
+        walletService.charge(USER_ID, 10_000, "replay-seed-" + System.nanoTime(), null);
+        String requestId = "replay-pay-" + System.nanoTime();
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, requestId + "-o1", requestId));
+
+        String other = requestId + "-o2";
+        assertThatThrownBy(() -> paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, other, requestId)))
+                .isInstanceOf(BusinessException.class).hasMessage("REQUEST_ID_REUSED");
+        assertThat(paymentRepo.findByOrderId(other)).isEmpty();
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(9_000);
+    }
+
+    @Test
+    void retriedPartialCancelAnswersFromStoredState() {
+        walletService.charge(USER_ID, 10_000, "replay-seed-" + System.nanoTime(), null);
+        String orderId = "replay-cancel-" + System.nanoTime();
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+        long balance = walletService.get(USER_ID).balance();
+
+        CancelPaymentRequest cancel = new CancelPaymentRequest(orderId, 600, orderId + "-c1", "USER_REQUEST", null);
+        PaymentResponse first = paymentService.cancel(USER_ID, cancel);
+        PaymentResponse retried = paymentService.cancel(USER_ID, cancel);   // 남은 400 < 600 이어도 재요청
+
+        assertThat(first.pointAmount()).isEqualTo(400);
+        assertThat(retried.pointAmount()).isEqualTo(400);
+        assertThat(retried.status()).isEqualTo(first.status());
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(balance + 600);
+
+        CancelPaymentRequest small = new CancelPaymentRequest(orderId, 100, orderId + "-c2", "USER_REQUEST", null);
+        paymentService.cancel(USER_ID, small);
+        assertThat(paymentService.cancel(USER_ID, small).pointAmount()).isEqualTo(300);   // 두 번 빼지 않음
+    }
+
+    @Test
+    void payInGroupCommitThatFallsBackIsStillCaptured() throws Exception {
+        // 기본 64 스트라이프에서 같은 스트라이프 (userId mod 64 동일, 65536 미만)
+        long blocker = 60_000L, payer = 60_064L, failing = 60_128L;
+        for (long u : new long[]{blocker, payer, failing}) walletService.charge(u, 10_000, "group-seed-" + u + "-" + System.nanoTime(), null);
+
+        // 스트라이프를 잡고 있는 동안 결제와 (후속 작업이 실패할) 다른 사용자 차감을 대기열에 쌓음 → 한 그룹으로 병합
+        CountDownLatch holding = new CountDownLatch(1), go = new CountDownLatch(1);
+        CompletableFuture<WalletMutationResult> held = CompletableFuture.supplyAsync(() ->
+                walletService.debit(blocker, 1, "group-block-" + System.nanoTime(), null, r -> {
+                    holding.countDown();
+                    try {
+                        go.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        String orderId = "group-pay-" + System.nanoTime();
+        CompletableFuture<PaymentResponse> paid = CompletableFuture.supplyAsync(() ->
+                paymentService.payWithPoints(payer, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId)));
+        Thread.sleep(100);
+        CompletableFuture<WalletMutationResult> failed = CompletableFuture.supplyAsync(() ->
+                walletService.debit(failing, 1, "group-fail-" + System.nanoTime(), null, r -> {
+                    throw new IllegalStateException("follow-up failed");
+                }));
+        Thread.sleep(100);
+        go.countDown();
+        held.get(5, TimeUnit.SECONDS);
+
+        // 그룹이 롤백돼 사용자별로 다시 반영돼도 결제는 새 행으로 확정
+        assertThat(paid.get(5, TimeUnit.SECONDS).status()).isEqualTo("CAPTURED");
+        assertThat(paymentRepo.findByOrderId(orderId)).isPresent();
+        assertThat(walletService.get(payer).balance()).isEqualTo(9_000);
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("follow-up failed");
+    }
+}
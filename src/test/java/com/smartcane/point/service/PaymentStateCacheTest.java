@@ -0,0 +1,51 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import com.smartcane.point.entity.Payment;
+import com.smartcane.point.entity.enums.PaymentStatus;
+import com.smartcane.point.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentStateCacheTest {
+
+    private static final long USER_ID = 99_201L;
+
+    @Autowired PaymentService paymentService;
+    @Autowired WalletService walletService;
+    @Autowired PaymentRepository paymentRepo;
+    @Autowired PaymentStateCache states;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void staleCachedStateFallsBackToDatabase() {
+        walletService.charge(USER_ID, 10_000, "psc-seed-" + System.nanoTime(), null);
+        String orderId = "psc-" + System.nanoTime();
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+        assertThat(states.get(orderId).pointAmount()).isEqualTo(1000);
+
+        // 다른 노드가 300 취소 (이 노드 캐시는 1000 그대로)
+        Payment p = paymentRepo.findByOrderId(orderId).orElseThrow();
+        tx.executeWithoutResult(s -> paymentRepo.updateAfterCancelIf(p.getId(), 1000, 700,
+                PaymentStatus.CAPTURED, "other-node", Instant.now()));
+
+        PaymentResponse r = paymentService.cancel(USER_ID,
+                new CancelPaymentRequest(orderId, 200, orderId + "-c", "USER_REQUEST", null));
+
+        // 조건부 UPDATE 0행 → 캐시를 버리고 DB 기준 700에서 다시 취소
+        assertThat(r.pointAmount()).isEqualTo(500);
+        assertThat(paymentRepo.findByOrderId(orderId).orElseThrow().getPointAmount()).isEqualTo(500);
+        assertThat(states.get(orderId).pointAmount()).isEqualTo(500);
+    }
+}
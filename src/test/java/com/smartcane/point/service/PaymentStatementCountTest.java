@@ -0,0 +1,103 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.PaymentResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결제/취소 경로 SQL 문장 수 회귀 테스트 (engine 모드)
+ * - 기대값 = 핵심 경로 + 켜진 기능(아웃박스, lot)별 예산 → 문장이 늘어나면 실패,
+ *   의도한 변경이면 해당 항목의 내역/근거와 기대값을 함께 갱신 (다른 항목에 얹지 않음)
+ * - 핵심 경로만의 값은 기능을 끈 PaymentCoreStatementCountTest가 따로 고정
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "point.wallet.write-mode=engine",
+        "point.outbox.relay.enabled=false"   // 릴레이 폴링 쿼리가 집계에 섞이지 않도록
+})
+@ActiveProfiles("test")
+class PaymentStatementCountTest {
+
+    private static final long USER_ID = 90_001L;
+
+    // 결제 핵심: SELECT wallet, SELECT ledger(멱등), INSERT ledger, UPDATE wallet, INSERT payment
+    // (새 주문은 주문 필터가 걸러 SELECT payment 없음)
+    static final int PAY_CORE = 5;
+    // 취소 핵심: SELECT wallet, SELECT ledger(멱등), INSERT ledger, UPDATE wallet, UPDATE payment(조건부),
+    // INSERT payment_cancel (결제 상태는 캐시에서)
+    static final int CANCEL_CORE = 6;
+    // 트랜잭션 아웃박스: INSERT outbox(원장), INSERT outbox(결제)
+    // 원장 이벤트는 saveAll로 먼저 큐에 들어가지만 payment(IDENTITY) INSERT가 앞선 INSERT를 먼저 실행시켜 두 문장
+    static final int OUTBOX = 2;
+    // lot 차감: SELECT lot(OPEN 앞부분), UPDATE lot, INSERT lot_usage(소진 조각 - 환불 시 원래 만료일 복원용)
+    static final int LOT_DEBIT = 3;
+    // lot 환불: SELECT lot_usage, INSERT lot(원래 만료일), UPDATE lot_usage(restored)
+    static final int LOT_REFUND = 3;
+
+    @Autowired PaymentService paymentService;
+    @Autowired WalletService walletService;
+    @Autowired EntityManagerFactory emf;
+    @Autowired OrderIdFilter orderIds;
+    @Value("${point.outbox.enabled}") boolean outboxEnabled;
+    @Value("${point.lot.enabled}") boolean lotEnabled;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        for (int i = 0; i < 500 && !orderIds.ready(); i++) Thread.sleep(10);   // 기동 후 백그라운드 적재
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        walletService.charge(USER_ID, 1_000_000, "seed-" + System.nanoTime(), null); // 원장 시퀀스 풀도 미리 확보
+        walletService.debit(USER_ID, 1, "seed-d-" + System.nanoTime(), "seed-" + System.nanoTime()); // lot 소진 조각 시퀀스 풀
+    }
+
+    @Test
+    void payNewOrder() {
+        String orderId = "stmt-pay-" + System.nanoTime();
+
+        stats.clear();
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+
+        assertThat(stats.getPrepareStatementCount())
+                .isEqualTo(PAY_CORE + (outboxEnabled ? OUTBOX : 0) + (lotEnabled ? LOT_DEBIT : 0));
+    }
+
+    @Test
+    void payReplayOfCapturedOrder() {
+        String orderId = "stmt-replay-" + System.nanoTime();
+        paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+
+        stats.clear();
+        PaymentResponse r = paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+
+        // SELECT payment 만 (잔액은 캐시)
+        assertThat(r.status()).isEqualTo("CAPTURED");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelWithoutWalletReread() {
+        String orderId = "stmt-cancel-" + System.nanoTime();
+        PaymentResponse paid = paymentService.payWithPoints(USER_ID, new CreatePaymentRequest(1000, 1000, 0, orderId, orderId));
+
+        stats.clear();
+        PaymentResponse canceled = paymentService.cancel(USER_ID,
+                new CancelPaymentRequest(orderId, 400, orderId + "-c", "USER_REQUEST", null));
+
+        assertThat(stats.getPrepareStatementCount())
+                .isEqualTo(CANCEL_CORE + (outboxEnabled ? OUTBOX : 0) + (lotEnabled ? LOT_REFUND : 0));
+        assertThat(canceled.walletBalance()).isEqualTo(paid.walletBalance() + 400);
+        assertThat(canceled.pointAmount()).isEqualTo(600);
+    }
+}
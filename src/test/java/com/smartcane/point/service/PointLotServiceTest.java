@@ -0,0 +1,89 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.PointLot;
+import com.smartcane.point.entity.enums.LotStatus;
+import com.smartcane.point.repository.PointLotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PointLotServiceTest {
+
+    private static final long USER_ID = 99_001L;
+
+    @Autowired WalletService walletService;
+    @Autowired PointExpiryService expiryService;
+    @Autowired WalletShardService shardService;
+    @Autowired PointLotRepository lotRepo;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void debitsConsumeOldestLotsAndExpiryRemovesOnlyDueRemainder() {
+        walletService.charge(USER_ID, 1_000, "lot-c1", null);
+        walletService.charge(USER_ID, 500, "lot-c2", null);
+        walletService.debit(USER_ID, 1_200, "lot-d1", null);
+        walletService.charge(USER_ID, 200, "lot-c3", null);
+
+        // 먼저 적립된 lot부터 소진: 1000 → USED, 500 → 300 남음
+        List<PointLot> open = lotRepo.findOpenHead(USER_ID, Limit.of(10));
+        assertThat(open).extracting(PointLot::getRemaining).containsExactly(300L, 200L);
+        assertThat(lotRepo.sumOpenByUser(USER_ID)).isEqualTo(walletService.get(USER_ID).balance());
+
+        // 300 남은 lot만 유효기간을 지난 것으로
+        jdbc.update("UPDATE point_lot SET expires_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(1))), open.get(0).getId());
+
+        PointExpiryService.ExpiryRun run = expiryService.expire(Instant.now());
+        assertThat(run.lots()).isEqualTo(1);
+        assertThat(run.amount()).isEqualTo(300);
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(200);
+        assertThat(lotRepo.findById(open.get(0).getId())).get()
+                .extracting(PointLot::getStatus).isEqualTo(LotStatus.EXPIRED);
+
+        // 이미 닫힌 lot은 다시 소멸되지 않음
+        assertThat(expiryService.expire(Instant.now()).lots()).isZero();
+        assertThat(lotRepo.sumOpenByUser(USER_ID)).isEqualTo(200);
+    }
+
+    @Test
+    void refundRestoresConsumedLotsWithOriginalExpiry() {
+        long userId = 99_002L;
+        walletService.charge(userId, 1_000, "lot-r-c1", null);
+        Instant original = Instant.now().plus(Duration.ofDays(10)).truncatedTo(java.time.temporal.ChronoUnit.MILLIS);
+        jdbc.update("UPDATE point_lot SET expires_at = ? WHERE user_id = ?", Timestamp.from(original), userId);
+
+        // 결제 → 부분 환불 → 나머지 환불: 되살린 lot은 새 유효기간이 아니라 원래 만료일
+        walletService.debit(userId, 600, "lot-r-d1", "lot-r-o1");
+        walletService.refund(userId, 200, "lot-r-f1", "lot-r-o1", "cancel");
+        walletService.refund(userId, 400, "lot-r-f2", "lot-r-o1", "cancel");
+
+        List<PointLot> open = lotRepo.findOpenHead(userId, Limit.of(10));
+        assertThat(open).extracting(PointLot::getExpiresAt).containsOnly(original);
+        assertThat(lotRepo.sumOpenByUser(userId)).isEqualTo(1_000).isEqualTo(walletService.get(userId).balance());
+    }
+
+    @Test
+    void unshardingReconcilesLotsWithBalance() {
+        long userId = 99_003L;
+        walletService.charge(userId, 1_000, "lot-s-c1", null);
+        shardService.reshard(userId, 4);
+        walletService.debit(userId, 700, "lot-s-d1", null);   // 샤딩 동안은 lot 추적 없음
+        walletService.charge(userId, 50, "lot-s-c2", null);
+        assertThat(lotRepo.sumOpenByUser(userId)).isEqualTo(1_000);
+
+        shardService.reshard(userId, 0);
+        assertThat(lotRepo.sumOpenByUser(userId)).isEqualTo(350).isEqualTo(walletService.get(userId).balance());
+    }
+}
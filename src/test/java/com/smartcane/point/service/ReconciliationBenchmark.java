@@ -0,0 +1,54 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BulkChargeEntry;
+import com.smartcane.point.dto.ReconciliationReport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대사 처리량(wallets/s) vs parallelism
+ * ./gradlew benchmark --tests '*ReconciliationBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "point.reconciliation.chunk-users=500")
+@ActiveProfiles("test")
+class ReconciliationBenchmark {
+
+    private static final long USER_BASE = 600_000L;
+    private static final int USERS = 20_000;
+
+    @Autowired WalletService walletService;
+    @Autowired ReconciliationService reconciliationService;
+
+    @Test
+    void walletsPerSecondByParallelism() {
+        // 사용자당 원장 3건 (충전 2 + 차감 1)
+        List<BulkChargeEntry> entries = LongStream.range(USER_BASE, USER_BASE + USERS).boxed()
+                .flatMap(id -> Stream.of(new BulkChargeEntry(id, 1000, "recon-bench-a-" + id),
+                        new BulkChargeEntry(id, 500, "recon-bench-b-" + id)))
+                .toList();
+        walletService.bulkCharge(entries.iterator(), 1000, p -> {});
+        for (long id = USER_BASE; id < USER_BASE + USERS; id += 10) {
+            walletService.debit(id, 100, "recon-bench-d-" + id, null);
+        }
+
+        reconciliationService.run(1);   // 워밍업
+        for (int parallelism : new int[]{1, 2, 4, 8}) {
+            long began = System.nanoTime();
+            ReconciliationReport r = reconciliationService.run(parallelism);
+            double seconds = (System.nanoTime() - began) / 1e9;
+            assertThat(r.mismatchCount()).isZero();
+            System.out.printf("[BENCH] reconciliation parallelism=%d wallets=%d wallets/s=%.0f%n",
+                    parallelism, r.walletsChecked(), r.walletsChecked() / seconds);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.AuthorizePaymentRequest;
+import com.smartcane.point.dto.CancelPaymentRequest;
+import com.smartcane.point.dto.CapturePaymentRequest;
+import com.smartcane.point.dto.CreatePaymentRequest;
+import com.smartcane.point.dto.ReconciliationReport;
+import com.smartcane.point.dto.VoidPaymentRequest;
+import com.smartcane.point.entity.ReconciliationChunk;
+import com.smartcane.point.entity.ReconciliationRun;
+import com.smartcane.point.repository.ReconciliationChunkRepository;
+import com.smartcane.point.repository.ReconciliationRunRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "point.reconciliation.chunk-users=10")
+@ActiveProfiles("test")
+class ReconciliationServiceTest {
+
+    private static final long BROKEN = 95_001L;   // 구간 [95001, 95011)
+    private static final long OK_A = 95_011L;
+    private static final long OK_B = 95_021L;
+
+    @Autowired ReconciliationService reconciliationService;
+    @Autowired WalletService walletService;
+    @Autowired PaymentService paymentService;
+    @Autowired ReservationService reservationService;
+    @Autowired ReconciliationRunRepository runRepo;
+    @Autowired ReconciliationChunkRepository chunkRepo;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resumesFromCheckpointAndReportsOnlyBrokenWallet() {
+        // 모든 원장 구분을 거치는 사용자들
+        for (long userId : new long[]{BROKEN, OK_A, OK_B}) {
+            walletService.charge(userId, 10_000, "recon-seed-" + userId, null);
+            paymentService.payWithPoints(userId, new CreatePaymentRequest(3000, 3000, 0, "recon-pay-" + userId, null));
+            paymentService.cancel(userId, new CancelPaymentRequest("recon-pay-" + userId, 1000, null, "USER_REQUEST", null));
+            reservationService.authorize(userId, new AuthorizePaymentRequest(500, 500, "recon-hold-" + userId, null, null));
+            reservationService.capture(userId, new CapturePaymentRequest("recon-hold-" + userId, null));
+            reservationService.authorize(userId, new AuthorizePaymentRequest(700, 700, "recon-void-" + userId, null, null));
+            reservationService.voidHold(userId, new VoidPaymentRequest("recon-void-" + userId, null, null));
+        }
+        jdbcTemplate.update("UPDATE point_wallet SET balance = balance + 7 WHERE user_id = ?", BROKEN);
+
+        // 첫 구간까지 끝내고 중단된 실행 → 재개 시 그 구간은 다시 보지 않음
+        ReconciliationRun interrupted = runRepo.save(ReconciliationRun.builder()
+                .status(ReconciliationRun.RUNNING).minUserId(BROKEN).maxUserId(OK_B).chunkUsers(10).build());
+        chunkRepo.save(ReconciliationChunk.builder()
+                .runId(interrupted.getId()).chunkStart(BROKEN).wallets(1).mismatches(0).build());
+
+        ReconciliationReport resumed = reconciliationService.run(2);
+        assertThat(resumed.runId()).isEqualTo(interrupted.getId());
+        assertThat(resumed.status()).isEqualTo(ReconciliationRun.COMPLETED);
+        assertThat(resumed.chunksDone()).isEqualTo(resumed.chunksTotal()).isEqualTo(3);
+        assertThat(resumed.walletsChecked()).isEqualTo(3);
+        assertThat(resumed.mismatchCount()).isZero();
+
+        // 새 실행은 전체 구간 검사
+        ReconciliationReport fresh = reconciliationService.run(4);
+        assertThat(fresh.runId()).isNotEqualTo(interrupted.getId());
+        assertThat(fresh.mismatches()).extracting(ReconciliationReport.Mismatch::userId).containsExactly(BROKEN);
+        assertThat(fresh.mismatches().get(0).diff()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.AuthorizePaymentRequest;
+import com.smartcane.point.dto.CapturePaymentRequest;
+import com.smartcane.point.dto.ReservationResponse;
+import com.smartcane.point.dto.VoidPaymentRequest;
+import com.smartcane.point.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "point.reservation.bucket-seconds=1",
+        "point.reservation.sweep-interval-ms=3600000"   // 스위퍼는 테스트에서 직접 호출
+})
+@ActiveProfiles("test")
+class ReservationServiceTest {
+
+    private static final long USER_ID = 93_001L;
+
+    @Autowired ReservationService reservationService;
+    @Autowired WalletService walletService;
+
+    @Test
+    void authorizeHoldsThenCaptureDoesNotTouchWallet() {
+        long base = walletService.charge(USER_ID, 10_000, "resv-seed-1", null).balance();
+
+        ReservationResponse auth = reservationService.authorize(USER_ID,
+                new AuthorizePaymentRequest(3000, 3000, "resv-o1", "resv-a1", null));
+        assertThat(auth.status()).isEqualTo("AUTHORIZED");
+        assertThat(auth.walletBalance()).isEqualTo(base - 3000);
+
+        ReservationResponse cap = reservationService.capture(USER_ID, new CapturePaymentRequest("resv-o1", "resv-c1"));
+        assertThat(cap.status()).isEqualTo("CAPTURED");
+        assertThat(cap.holdStatus()).isEqualTo("CAPTURED");
+        assertThat(cap.walletBalance()).isEqualTo(base - 3000);
+
+        // 재요청은 현재 상태, 확정 후 void는 거절
+        assertThat(reservationService.capture(USER_ID, new CapturePaymentRequest("resv-o1", "resv-c2")).status())
+                .isEqualTo("CAPTURED");
+        assertThatThrownBy(() -> reservationService.voidHold(USER_ID, new VoidPaymentRequest("resv-o1", "resv-v1", null)))
+                .isInstanceOf(BusinessException.class).hasMessage("PAYMENT_NOT_AUTHORIZED");
+    }
+
+    @Test
+    void voidReleasesHold() {
+        long base = walletService.charge(USER_ID, 10_000, "resv-seed-2", null).balance();
+        reservationService.authorize(USER_ID, new AuthorizePaymentRequest(2000, 2000, "resv-o2", "resv-a2", null));
+
+        ReservationResponse voided = reservationService.voidHold(USER_ID, new VoidPaymentRequest("resv-o2", "resv-v2", "changed mind"));
+
+        assertThat(voided.status()).isEqualTo("CANCELED");
+        assertThat(voided.walletBalance()).isEqualTo(base);
+        assertThatThrownBy(() -> reservationService.capture(USER_ID, new CapturePaymentRequest("resv-o2", "resv-c3")))
+                .isInstanceOf(BusinessException.class).hasMessage("PAYMENT_NOT_AUTHORIZED");
+    }
+
+    @Test
+    void sweeperReleasesExpiredHoldsAndCaptureIsRejected() throws Exception {
+        long userId = USER_ID + 1;
+        long base = walletService.charge(userId, 10_000, "resv-seed-3", null).balance();
+        reservationService.authorize(userId, new AuthorizePaymentRequest(1000, 1000, "resv-o3", "resv-a3", 1L));
+        reservationService.authorize(userId, new AuthorizePaymentRequest(1000, 1000, "resv-o4", "resv-a4", 1L));
+        reservationService.authorize(userId, new AuthorizePaymentRequest(1000, 1000, "resv-o5", "resv-a5", 3600L));
+
+        Thread.sleep(1100);
+        assertThatThrownBy(() -> reservationService.capture(userId, new CapturePaymentRequest("resv-o3", "resv-c4")))
+                .isInstanceOf(BusinessException.class).hasMessage("RESERVATION_EXPIRED");
+
+        assertThat(reservationService.sweepExpired()).isEqualTo(2);
+        assertThat(walletService.get(userId).balance()).isEqualTo(base - 1000);   // 만료 안 된 홀드만 남음
+        assertThat(reservationService.sweepExpired()).isZero();
+
+        // 만료 후 void 재요청은 원장 멱등키가 같아 이중 해제되지 않음
+        assertThat(reservationService.voidHold(userId, new VoidPaymentRequest("resv-o3", "resv-v3", null)).status())
+                .isEqualTo("CANCELED");
+        assertThat(walletService.get(userId).balance()).isEqualTo(base - 1000);
+    }
+}
@@ -0,0 +1,148 @@
+package com.smartcane.point.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기동 시간: 프로세스 시작 → 첫 GET /points/api/healthz 200 까지 (별도 JVM, 모드별 중앙값)
+ * - default: test 프로필 그대로
+ * - fast-start: test,fast-start 프로필 (JMX/OpenAPI 스캔/JDBC 메타데이터 조회/Flyway repair 생략)
+ * - fast-start+cds: 학습 실행으로 만든 AppCDS 아카이브(-XX:SharedArchiveFile) 사용
+ * - fast-start+aot(+cds): -PfastStart -PaotProfiles=test,fast-start 로 실행했을 때만 (Dockerfile 구성)
+ *   (AOT 생성 빈 정의, -Dspring.aot.enabled=true / 조건 판단이 빌드 시 고정되므로 test 프로필로 AOT 처리)
+ * 자식 JVM 클래스패스는 jar만 (AppCDS 동적 아카이브는 비어 있지 않은 디렉터리를 받지 않음)
+ * 결과는 build/reports/startup/startup.json
+ * ./gradlew benchmark --tests '*StartupTimeBenchmark' [-PfastStart -PaotProfiles=test,fast-start]
+ */
+@Tag("benchmark")
+class StartupTimeBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final long TIMEOUT_MS = 120_000;
+
+    private record Mode(String name, String profiles, List<String> jvmArgs, String extraClasspath) {}
+
+    @Test
+    void timeToFirstHealthz() throws Exception {
+        Path dir = Files.createDirectories(Path.of("build", "reports", "startup"));
+
+        String fast = "test,fast-start";
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", "test", List.of(), null));
+        modes.add(new Mode("fast-start", fast, List.of(), null));
+        modes.add(new Mode("fast-start+cds", fast, cds(dir.resolve("app.jsa"), fast, List.of(), null), null));
+        String aot = System.getProperty("startup.aot-jar");
+        if (aot != null) {
+            List<String> aotArgs = List.of("-Dspring.aot.enabled=true");
+            modes.add(new Mode("fast-start+aot", fast, aotArgs, aot));
+            List<String> both = new ArrayList<>(cds(dir.resolve("app-aot.jsa"), fast, aotArgs, aot));
+            both.addAll(aotArgs);
+            modes.add(new Mode("fast-start+aot+cds", fast, both, aot));
+        }
+
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (Mode mode : modes) {
+            long[] ms = new long[ROUNDS];
+            for (int r = 0; r < ROUNDS; r++) ms[r] = run(mode.profiles(), mode.jvmArgs(), mode.extraClasspath());
+            Arrays.sort(ms);
+            medians.put(mode.name(), ms[ROUNDS / 2]);
+            System.out.printf("[BENCH] %-18s healthz after %5dms (runs %s)%n", mode.name(), ms[ROUNDS / 2], Arrays.toString(ms));
+        }
+
+        String json = medians.entrySet().stream()
+                .map(e -> "\"" + e.getKey() + "\":" + e.getValue())
+                .collect(Collectors.joining(",", "{\"timeToFirstHealthzMs\":{", "}}\n"));
+        Files.writeString(dir.resolve("startup.json"), json);
+        assertThat(medians.get("fast-start+cds")).isPositive();
+    }
+
+    /** 학습 실행: 기동 후 종료하며 로드된 클래스를 아카이브로 덤프 → 이 아카이브를 쓰는 JVM 옵션 */
+    private static List<String> cds(Path archive, String profiles, List<String> jvmArgs, String extraClasspath) throws Exception {
+        Files.deleteIfExists(archive);
+        List<String> training = new ArrayList<>(jvmArgs);
+        training.add("-XX:ArchiveClassesAtExit=" + archive);
+        run(profiles, training, extraClasspath);
+        assertThat(archive).exists();
+        return List.of("-XX:SharedArchiveFile=" + archive);
+    }
+
+    /** 자식 JVM으로 기동해 첫 200까지 걸린 ms (측정 후 종료) */
+    private static long run(String profiles, List<String> jvmArgs, String extraClasspath) throws Exception {
+        int port = freePort();
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.addAll(jvmArgs);
+        cmd.add("-cp");
+        cmd.add(classpath(extraClasspath));
+        cmd.add("com.smartcane.point.PointserviceApplication");
+        cmd.add("--server.port=" + port);
+        cmd.add("--spring.profiles.active=" + profiles);
+        cmd.add("--spring.config.additional-location=file:" + Path.of("build", "resources", "test").toAbsolutePath() + "/");
+        cmd.add("--point.outbox.relay.enabled=false");
+
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true)
+                .redirectOutput(new File("build/reports/startup/last-run.log")).start();
+        long t0 = System.nanoTime();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + port + "/points/api/healthz");
+            while (System.nanoTime() - t0 < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS)) {
+                if (!p.isAlive()) throw new IllegalStateException("exited with " + p.exitValue() + " - see last-run.log");
+                if (ok(uri)) return (System.nanoTime() - t0) / 1_000_000;
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("no healthz within " + TIMEOUT_MS + "ms");
+        } finally {
+            p.destroy();   // SIGTERM → 정상 종료 (ArchiveClassesAtExit 덤프)
+            if (!p.waitFor(60, TimeUnit.SECONDS)) p.destroyForcibly();
+        }
+    }
+
+    /** 애플리케이션 jar + 의존성 jar (테스트 클래스 디렉터리 제외, application-test.yml은 config 위치로) */
+    private static String classpath(String extra) {
+        List<String> entries = new ArrayList<>();
+        entries.add(System.getProperty("startup.jar"));
+        if (extra != null) entries.add(extra);
+        for (String e : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (e.endsWith(".jar") && new File(e).isFile()) entries.add(e);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static boolean ok(URI uri) {
+        try {
+            HttpURLConnection c = (HttpURLConnection) uri.toURL().openConnection();
+            c.setConnectTimeout(200);
+            c.setReadTimeout(1000);
+            try {
+                return c.getResponseCode() == 200;
+            } finally {
+                c.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+}
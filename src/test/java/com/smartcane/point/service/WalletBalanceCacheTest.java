@@ -0,0 +1,47 @@
+package com.smartcane.point.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletBalanceCacheTest {
+
+    private final InMemoryWalletInvalidationBus bus = new InMemoryWalletInvalidationBus();
+    private final WalletBalanceCache nodeA = new WalletBalanceCache(100, Duration.ofMinutes(1), bus);
+    private final WalletBalanceCache nodeB = new WalletBalanceCache(100, Duration.ofMinutes(1), bus);
+
+    @Test
+    void readThroughLoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            nodeA.get(1L, id -> {
+                loads.incrementAndGet();
+                return new WalletBalanceCache.Entry(500, 1);
+            });
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(nodeA.nativeCache().stats().hitCount()).isEqualTo(2);
+        assertThat(nodeA.nativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void olderCommitNeverOverwritesNewer() {
+        nodeA.committed(1L, 300, 5);
+        nodeA.committed(1L, 900, 4);   // 늦게 도착한 이전 버전
+
+        assertThat(nodeA.get(1L, id -> { throw new AssertionError("should hit"); }).balance()).isEqualTo(300);
+    }
+
+    @Test
+    void remoteCommitEvictsStaleEntryOnOtherNode() {
+        nodeA.committed(1L, 300, 5);
+        nodeB.committed(1L, 200, 6);   // 다른 노드에서 차감
+
+        WalletBalanceCache.Entry e = nodeA.get(1L, id -> new WalletBalanceCache.Entry(200, 6));
+        assertThat(e.balance()).isEqualTo(200);
+        assertThat(nodeB.get(1L, id -> { throw new AssertionError("should hit"); }).version()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,101 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.WalletShardsResponse;
+import com.smartcane.point.exception.BusinessException;
+import com.smartcane.point.repository.PointWalletShardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "point.wallet.shard.rebalance-ms=3600000")   // 리밸런스는 테스트에서 직접 호출
+@ActiveProfiles("test")
+class WalletShardServiceTest {
+
+    private static final long USER_ID = 98_001L;
+
+    @Autowired WalletShardService shardService;
+    @Autowired WalletService walletService;
+    @Autowired PointWalletShardRepository shardRepo;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void shardedWalletSpreadsWritesAndKeepsTotal() throws Exception {
+        walletService.charge(USER_ID, 10_000, "shard-c1", null);
+
+        WalletShardsResponse on = shardService.reshard(USER_ID, 4);
+        assertThat(on.shardBalances()).containsExactly(2_500L, 2_500L, 2_500L, 2_500L);
+        assertThat(on.walletRowBalance()).isZero();
+
+        // 한 샤드로는 모자란 차감 → 지갑 행/전체 샤드를 잠그고 나눠서 차감
+        WalletMutationResult spread = walletService.debit(USER_ID, 3_000, "shard-d1", null);
+        assertThat(spread.balance()).isEqualTo(7_000);
+        assertThat(walletService.get(USER_ID).balance()).isEqualTo(7_000);
+
+        // 같은 요청 재전송은 다른 샤드에 다시 반영되지 않음
+        WalletMutationResult replay = walletService.debit(USER_ID, 3_000, "shard-d1", null);
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.ledgerId()).isEqualTo(spread.ledgerId());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String requestId = "shard-small-" + i;
+                futures.add(pool.submit(() -> walletService.debit(USER_ID, 10, requestId, null)));
+            }
+            for (Future<?> f : futures) f.get(1, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(shardService.describe(USER_ID).balance()).isEqualTo(5_000);
+
+        // 쏠린 샤드(고른 몫의 절반 미만)가 없도록 재분배
+        shardService.rebalance(USER_ID);
+        WalletShardsResponse balanced = shardService.describe(USER_ID);
+        assertThat(balanced.balance()).isEqualTo(5_000);
+        assertThat(balanced.shardBalances()).allSatisfy(b -> assertThat(b).isGreaterThanOrEqualTo(625L));
+
+        assertThatThrownBy(() -> walletService.debit(USER_ID, 6_000, "shard-d2", null))
+                .isInstanceOf(BusinessException.class).hasMessage("INSUFFICIENT_POINT");
+
+        long before = walletService.get(USER_ID).balance();
+        WalletShardsResponse off = shardService.reshard(USER_ID, 0);
+        assertThat(off.shardCount()).isZero();
+        assertThat(off.walletRowBalance()).isEqualTo(before);
+        assertThat(walletService.charge(USER_ID, 1, "shard-c2", null).balance()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void staleShardCountCannotWriteToRetiredShard() {
+        long userId = 98_002L;
+        walletService.charge(userId, 4_000, "shard-stale-c1", null);
+        shardService.reshard(userId, 4);
+        shardService.reshard(userId, 2);
+
+        // 샤드 수 4를 아직 기억하는 노드: 바인드한 count로는 통과하지만 비활성 샤드라 0행
+        assertThat(add(userId, 3, 4, 100)).isZero();
+        assertThat(add(userId, 1, 4, 100)).isEqualTo(1);
+        assertThat(shardService.describe(userId).shardBalances()).containsExactly(2_000L, 2_100L);
+
+        shardService.reshard(userId, 4);   // 다시 늘리면 되살아남
+        assertThat(add(userId, 3, 4, 0)).isEqualTo(1);
+    }
+
+    private int add(long userId, int shardNo, int count, long delta) {
+        Integer updated = tx.execute(s -> shardRepo.add(userId, shardNo, count, delta, Instant.now()));
+        return updated == null ? 0 : updated;
+    }
+}
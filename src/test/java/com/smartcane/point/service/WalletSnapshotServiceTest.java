@@ -0,0 +1,62 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.dto.BalanceAtResponse;
+import com.smartcane.point.entity.WalletSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "point.snapshot.settle-lag=PT0S",
+        "point.snapshot.drain-interval-ms=3600000"   // drain은 테스트에서 직접 호출
+})
+@ActiveProfiles("test")
+class WalletSnapshotServiceTest {
+
+    private static final long USER_ID = 96_001L;
+
+    @Autowired WalletSnapshotService snapshotService;
+    @Autowired WalletService walletService;
+
+    @Test
+    void balanceAtUsesLatestSnapshotPlusDelta() throws InterruptedException {
+        walletService.charge(USER_ID, 10_000, "snap-c1", null);
+        walletService.debit(USER_ID, 3_000, "snap-d1", null);
+        Thread.sleep(5);
+
+        WalletSnapshot first = snapshotService.snapshot(USER_ID).orElseThrow();
+        assertThat(first.getBalance()).isEqualTo(7_000);
+        assertThat(first.getEntries()).isEqualTo(2);
+        Thread.sleep(5);
+
+        walletService.charge(USER_ID, 500, "snap-c2", null);
+        Thread.sleep(5);
+        Instant between = Instant.now();
+        Thread.sleep(5);
+        walletService.debit(USER_ID, 200, "snap-d2", null);
+
+        // 스냅샷 이전 시점: 스냅샷 없이 처음부터
+        BalanceAtResponse before = snapshotService.balanceAt(USER_ID, first.getAsOf().minusNanos(1_000));
+        assertThat(before.snapshotAsOf()).isNull();
+
+        // 스냅샷 이후: 스냅샷 + 그 뒤 원장만 읽음
+        BalanceAtResponse mid = snapshotService.balanceAt(USER_ID, between);
+        assertThat(mid.balance()).isEqualTo(7_500);
+        assertThat(mid.snapshotAsOf()).isEqualTo(first.getAsOf());
+        assertThat(mid.deltaEntries()).isEqualTo(1);
+
+        Thread.sleep(5);
+        BalanceAtResponse now = snapshotService.balanceAt(USER_ID, Instant.now());
+        assertThat(now.balance()).isEqualTo(7_300);
+
+        // 두 번째 스냅샷은 직전 스냅샷 이후 원장만 합산
+        WalletSnapshot second = snapshotService.snapshot(USER_ID).orElseThrow();
+        assertThat(second.getBalance()).isEqualTo(7_300);
+        assertThat(second.getEntries()).isEqualTo(2);
+    }
+}
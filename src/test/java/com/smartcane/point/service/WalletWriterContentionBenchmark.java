@@ -0,0 +1,112 @@
+package com.smartcane.point.service;
+
+import com.smartcane.point.entity.enums.LedgerType;
+import com.smartcane.point.repository.PointWalletRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단일 지갑 경합 벤치마크: locking(FOR UPDATE) vs engine(스트라이프 병합) vs conditional(조건부 단일 UPDATE)
+ * - 적립: 세 방식 모두, 차감: locking vs conditional (잔액 조건을 UPDATE 한 문장에서 확인)
+ * ./gradlew benchmark --tests '*WalletWriterContentionBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class WalletWriterContentionBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 200;
+
+    @Autowired LockingWalletWriter lockingWriter;
+    @Autowired WalletMutationEngine engine;
+    @Autowired ConditionalWalletWriter conditionalWriter;
+    @Autowired WalletService walletService;
+    @Autowired PointWalletRepository walletRepo;
+
+    @Test
+    void singleWalletContention() throws Exception {
+        Stats locking = run("locking", lockingWriter, 10_001L, LedgerType.CHARGE);
+        Stats combined = run("engine", engine, 10_002L, LedgerType.CHARGE);
+        Stats conditional = run("conditional", conditionalWriter, 10_003L, LedgerType.CHARGE);
+
+        System.out.println(locking);
+        System.out.println(combined);
+        System.out.println(conditional);
+        System.out.printf("[BENCH] engine/locking throughput = %.2fx%n", combined.opsPerSec() / locking.opsPerSec());
+        System.out.printf("[BENCH] conditional/locking throughput = %.2fx%n", conditional.opsPerSec() / locking.opsPerSec());
+
+        Stats lockingDebit = run("locking", lockingWriter, 10_004L, LedgerType.DEBIT);
+        Stats conditionalDebit = run("conditional", conditionalWriter, 10_005L, LedgerType.DEBIT);
+        System.out.println(lockingDebit);
+        System.out.println(conditionalDebit);
+        System.out.printf("[BENCH] debit conditional/locking throughput = %.2fx%n",
+                conditionalDebit.opsPerSec() / lockingDebit.opsPerSec());
+    }
+
+    private Stats run(String name, WalletWriter writer, long userId, LedgerType type) throws Exception {
+        walletService.createIfAbsent(userId);
+        long opening = type == LedgerType.DEBIT ? 1_000_000L : 0;
+        if (opening > 0) walletService.charge(userId, opening, UUID.randomUUID().toString(), null);
+        for (int i = 0; i < 200; i++) apply(writer, userId, type);   // warm-up
+
+        long[] latencies = new long[THREADS * OPS_PER_THREAD];
+        AtomicInteger idx = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        long s = System.nanoTime();
+                        apply(writer, userId, type);
+                        latencies[idx.getAndIncrement()] = System.nanoTime() - s;
+                    }
+                    return null;
+                });
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get(5, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - began;
+
+            long moved = type.signed(200L + latencies.length);
+            assertThat(walletRepo.findByUserId(userId).orElseThrow().getBalance()).isEqualTo(opening + moved);
+
+            Arrays.sort(latencies);
+            return new Stats(name + " " + type.name().toLowerCase(), latencies.length * 1e9 / elapsed,
+                    latencies[latencies.length / 2] / 1e3,
+                    latencies[(int) (latencies.length * 0.99)] / 1e3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void apply(WalletWriter writer, long userId, LedgerType type) {
+        writer.apply(new WalletMutation(userId, type, 1, UUID.randomUUID().toString(), null, "bench"));
+    }
+
+    private record Stats(String name, double opsPerSec, double p50Micros, double p99Micros) {
+        @Override
+        public String toString() {
+            return String.format("[BENCH] %-18s threads=%d ops/s=%.0f p50=%.0fus p99=%.0fus",
+                    name, THREADS, opsPerSec, p50Micros, p99Micros);
+        }
+    }
+}
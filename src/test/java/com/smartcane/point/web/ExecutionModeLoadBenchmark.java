@@ -0,0 +1,129 @@
+package com.smartcane.point.web;
+
+import com.smartcane.point.PointserviceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 실행 모드 부하 테스트: 플랫폼 스레드(Tomcat 200) vs 가상 스레드 + DB 입장 제한
+ * - 실제 Tomcat(임의 포트)에 동시 클라이언트 CLIENTS개가 충전/결제를 번갈아 호출
+ * - 처리량, p50/p99, 비 2xx 응답 수 출력
+ * - benchmark 태스크는 -Djdk.tracePinnedThreads=short 로 실행 → 가상 스레드 pinning 발생 시 스택이 출력됨
+ * ./gradlew benchmark --tests '*ExecutionModeLoadBenchmark'
+ */
+@Tag("benchmark")
+class ExecutionModeLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        run("jit-warmup", false, true);   // 같은 JVM에서 연속 실행하므로 첫 측정이 JIT 비용을 떠안지 않도록
+        Result platform = run("platform", false, true);
+        Result virtual = run("virtual", true, true);
+        Result ungated = run("virtual-nogate", true, false);
+
+        System.out.printf("[BENCH] %s%n[BENCH] %s%n[BENCH] %s%n[BENCH] virtual/platform throughput=%.2fx, p99=%.2fx%n",
+                platform, virtual, ungated, virtual.rps / platform.rps, virtual.p99Ms / platform.p99Ms);
+    }
+
+    private Result run(String mode, boolean virtualThreads, boolean gate) throws Exception {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(PointserviceApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--point.db-gate.enabled=" + gate,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN")) {
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port")
+                    + "/points/api/points/";
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            drive(http, base, mode, WARMUP, null);
+            List<long[]> samples = new ArrayList<>();
+            long errors = drive(http, base, mode, MEASURE, samples);
+
+            long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double rps = all.length / (double) MEASURE.toSeconds();
+            return new Result(mode, rps, pct(all, 0.50), pct(all, 0.99), errors);
+        }
+    }
+
+    /** 클라이언트마다 자기 사용자에게 충전 → 결제 반복, 지연(ns) 기록 */
+    private long drive(HttpClient http, String base, String mode, Duration duration, List<long[]> samples)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                long userId = 700_000L + c;
+                futures.add(clients.submit(() -> {
+                    long[] lat = new long[256];
+                    int n = 0;
+                    for (long i = 0; System.nanoTime() < deadline; i++) {
+                        String id = mode + "-" + userId + "-" + System.nanoTime();
+                        HttpRequest req = i % 2 == 0
+                                ? post(base + userId + "/wallet/charge",
+                                        "{\"amount\":10,\"requestId\":\"" + id + "\"}")
+                                : post(base + userId + "/payments/pay",
+                                        "{\"totalAmount\":5,\"pointAmount\":5,\"cashAmount\":0,\"orderId\":\"" + id
+                                                + "\",\"requestId\":\"" + id + "\"}");
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+                        if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                        lat[n++] = System.nanoTime() - t0;
+                        if (res.statusCode() / 100 != 2) errors.incrementAndGet();
+                    }
+                    return Arrays.copyOf(lat, n);
+                }));
+            }
+            for (Future<long[]> f : futures) {
+                long[] lat = f.get();
+                if (samples != null) samples.add(lat);
+            }
+        }
+        return errors.get();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static double pct(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private record Result(String mode, double rps, double p50Ms, double p99Ms, long errors) {
+        @Override
+        public String toString() {
+            return String.format("mode=%s clients=%d req/s=%.0f p50=%.1fms p99=%.1fms errors=%d",
+                    mode, CLIENTS, rps, p50Ms, p99Ms, errors);
+        }
+    }
+}